@@ -0,0 +1,82 @@
+package io.github.long76.androidxcolorpicker;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * Averaging the square around a touch point of a 1080p screenshot, with the summed-area table
+ * against adding up the pixels of every query, and building the table.
+ */
+@State(Scope.Benchmark)
+public class AreaSamplerBenchmark {
+
+    private static final int WIDTH = 1920;
+    private static final int HEIGHT = 1080;
+    private static final int POINTS = 1024;
+
+    @Param({"2", "8", "32"})
+    public int radius;
+
+    private int[] pixels;
+    private AXColorPickerAreaSampler sampler;
+    private final int[] xs = new int[POINTS];
+    private final int[] ys = new int[POINTS];
+    private int point;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42);
+        pixels = new int[WIDTH * HEIGHT];
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = random.nextInt();
+        }
+        sampler = new AXColorPickerAreaSampler(pixels, WIDTH, HEIGHT);
+        for (int i = 0; i < POINTS; i++) {
+            xs[i] = random.nextInt(WIDTH);
+            ys[i] = random.nextInt(HEIGHT);
+        }
+    }
+
+    @Benchmark
+    public int average() {
+        point = (point + 1) & (POINTS - 1);
+        return sampler.average(xs[point], ys[point], radius);
+    }
+
+    @Benchmark
+    public int average_naive() {
+        point = (point + 1) & (POINTS - 1);
+        final int left = Math.max(xs[point] - radius, 0);
+        final int top = Math.max(ys[point] - radius, 0);
+        final int right = Math.min(xs[point] + radius + 1, WIDTH);
+        final int bottom = Math.min(ys[point] + radius + 1, HEIGHT);
+        long alpha = 0;
+        long red = 0;
+        long green = 0;
+        long blue = 0;
+        for (int y = top; y < bottom; y++) {
+            for (int i = y * WIDTH + left, end = y * WIDTH + right; i < end; i++) {
+                final int pixel = pixels[i];
+                alpha += pixel >>> 24;
+                red += pixel >> 16 & 0xFF;
+                green += pixel >> 8 & 0xFF;
+                blue += pixel & 0xFF;
+            }
+        }
+        final long area = (long) (right - left) * (bottom - top);
+        return (int) ((alpha + area / 2) / area) << 24
+                | (int) ((red + area / 2) / area) << 16
+                | (int) ((green + area / 2) / area) << 8
+                | (int) ((blue + area / 2) / area);
+    }
+
+    @Benchmark
+    public AXColorPickerAreaSampler build() {
+        return new AXColorPickerAreaSampler(pixels, WIDTH, HEIGHT);
+    }
+}
@@ -0,0 +1,127 @@
+package io.github.long76.androidxcolorpicker;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+
+/**
+ * Batch operations on palettes of 1k to 10M colors, sequential and parallel, against calling
+ * the single color helpers in a loop.
+ */
+@State(Scope.Benchmark)
+public class ColorBatchBenchmark {
+
+    @Param({"1000", "100000", "10000000"})
+    public int size;
+
+    private int[] colors;
+    private int[] otherColors;
+    private int[] channelValues;
+    private int[] out;
+    private char[] chars;
+    private byte[] bytes;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42);
+        colors = new int[size];
+        otherColors = new int[size];
+        channelValues = new int[size];
+        for (int i = 0; i < size; i++) {
+            colors[i] = random.nextInt();
+            otherColors[i] = random.nextInt();
+            channelValues[i] = random.nextInt(320) - 32;
+        }
+        out = new int[size];
+        chars = new char[size * AXColorPickerFormatHelper.ARGB_LENGTH];
+        bytes = new byte[size * AXColorPickerFormatHelper.ARGB_LENGTH];
+        AXColorPickerColorBatch.formatColors(colors, 0, size, true, chars, 0);
+        AXColorPickerColorBatch.formatColors(colors, 0, size, true, bytes, 0);
+    }
+
+    @Benchmark
+    public void formatColorValues_loop(Blackhole blackhole) {
+        for (int color : colors) {
+            blackhole.consume(AXColorPickerFormatHelper.formatColorValues(color >>> 24,
+                    (color >> 16) & 0xFF, (color >> 8) & 0xFF, color & 0xFF));
+        }
+    }
+
+    @Benchmark
+    public char[] formatColors_chars() {
+        AXColorPickerColorBatch.formatColors(colors, 0, size, true, chars, 0);
+        return chars;
+    }
+
+    @Benchmark
+    public char[] formatColors_charsParallel() {
+        AXColorPickerColorBatch.formatColorsParallel(colors, 0, size, true, chars, 0);
+        return chars;
+    }
+
+    @Benchmark
+    public byte[] formatColors_bytes() {
+        AXColorPickerColorBatch.formatColors(colors, 0, size, true, bytes, 0);
+        return bytes;
+    }
+
+    @Benchmark
+    public byte[] formatColors_bytesParallel() {
+        AXColorPickerColorBatch.formatColorsParallel(colors, 0, size, true, bytes, 0);
+        return bytes;
+    }
+
+    @Benchmark
+    public int parseColors_chars() {
+        return AXColorPickerColorBatch.parseColors(chars, 0, size, true, out, 0);
+    }
+
+    @Benchmark
+    public int parseColors_charsParallel() {
+        return AXColorPickerColorBatch.parseColorsParallel(chars, 0, size, true, out, 0);
+    }
+
+    @Benchmark
+    public int parseColors_bytes() {
+        return AXColorPickerColorBatch.parseColors(bytes, 0, size, true, out, 0);
+    }
+
+    @Benchmark
+    public int[] assertColorValueInRange_loop() {
+        for (int i = 0; i < size; i++) {
+            out[i] = AXColorPickerFormatHelper.assertColorValueInRange(channelValues[i]);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public int[] clamp() {
+        System.arraycopy(channelValues, 0, out, 0, size);
+        AXColorPickerColorBatch.clamp(out, 0, size);
+        return out;
+    }
+
+    @Benchmark
+    public int[] clampParallel() {
+        System.arraycopy(channelValues, 0, out, 0, size);
+        AXColorPickerColorBatch.clampParallel(out, 0, size);
+        return out;
+    }
+
+    @Benchmark
+    public int[] lerp() {
+        AXColorPickerColorBatch.lerp(colors, otherColors, 77, out, 0, size);
+        return out;
+    }
+
+    @Benchmark
+    public int[] lerpParallel() {
+        AXColorPickerColorBatch.lerpParallel(colors, otherColors, 77, out, 0, size);
+        return out;
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.long76.androidxcolorpicker;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * Nearest named color lookup, run on every color change, against scanning the whole palette.
+ */
+@State(Scope.Thread)
+public class ColorIndexBenchmark {
+
+    private static final int QUERIES = 1024;
+    private static final int MASK = QUERIES - 1;
+
+    @Param({"148", "10000"})
+    public int size;
+
+    private final int[] queries = new int[QUERIES];
+    private int[] colors;
+    private AXColorPickerColorIndex index;
+    private int query;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42);
+        colors = new int[size];
+        final String[] names = new String[size];
+        for (int i = 0; i < size; i++) {
+            colors[i] = random.nextInt();
+            names[i] = Integer.toString(i);
+        }
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = random.nextInt();
+        }
+        index = new AXColorPickerColorIndex(new AXColorPickerColorNames(colors, names));
+    }
+
+    private int next() {
+        return queries[query = (query + 1) & MASK];
+    }
+
+    @Benchmark
+    public int kdTree() {
+        return index.nearestIndex(next());
+    }
+
+    @Benchmark
+    public int linearScan() {
+        final int color = next();
+        int nearest = -1;
+        int nearestDistance = Integer.MAX_VALUE;
+        for (int i = 0; i < colors.length; i++) {
+            final int distance = AXColorPickerColorIndex.distanceSquared(colors[i], color);
+            if (distance < nearestDistance) {
+                nearest = i;
+                nearestDistance = distance;
+            }
+        }
+        return nearest;
+    }
+
+    @Benchmark
+    public AXColorPickerColorIndex build() {
+        return new AXColorPickerColorIndex(index.getPalette());
+    }
+}
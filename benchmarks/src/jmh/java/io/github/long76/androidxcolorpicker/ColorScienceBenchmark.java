@@ -0,0 +1,70 @@
+package io.github.long76.androidxcolorpicker;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * Contrast and color difference measures, run on every color change for the contrast badge,
+ * against linearizing the channels with {@code Math.pow} on each call.
+ */
+@State(Scope.Thread)
+public class ColorScienceBenchmark {
+
+    private static final int QUERIES = 1024;
+    private static final int MASK = QUERIES - 1;
+
+    private final int[] queries = new int[QUERIES];
+    private final double[] lab = new double[3];
+    private int query;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42);
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = random.nextInt();
+        }
+    }
+
+    private int next() {
+        return queries[query = (query + 1) & MASK];
+    }
+
+    @Benchmark
+    public double relativeLuminance() {
+        return AXColorPickerColorScience.relativeLuminance(next());
+    }
+
+    @Benchmark
+    public double relativeLuminancePow() {
+        final int color = next();
+        return 0.2126 * linear((color >> 16) & 0xFF)
+                + 0.7152 * linear((color >> 8) & 0xFF)
+                + 0.0722 * linear(color & 0xFF);
+    }
+
+    @Benchmark
+    public double contrastRatio() {
+        return AXColorPickerColorScience.contrastRatio(next(), next());
+    }
+
+    @Benchmark
+    public double[] colorToLab() {
+        return AXColorPickerColorScience.colorToLab(next(), lab);
+    }
+
+    @Benchmark
+    public double deltaE2000() {
+        return AXColorPickerColorScience.deltaE2000(next(), next());
+    }
+
+    private static double linear(int value) {
+        final double channel = value / 255.0;
+        return channel <= 0.04045
+                ? channel / 12.92
+                : Math.pow((channel + 0.055) / 1.055, 2.4);
+    }
+}
@@ -0,0 +1,73 @@
+package io.github.long76.androidxcolorpicker;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * HSV and HSL conversions of the HSV/HSL modes, run on every seek bar change.
+ */
+@State(Scope.Thread)
+public class ColorSpaceBenchmark {
+
+    private static final int SIZE = 1024;
+    private static final int MASK = SIZE - 1;
+
+    private final int[] colors = new int[SIZE];
+    private final int[] hsb = new int[SIZE];
+    private int index;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42);
+        for (int i = 0; i < SIZE; i++) {
+            colors[i] = random.nextInt();
+            hsb[i] = AXColorPickerColorSpace.pack(random.nextInt(360),
+                    random.nextInt(101), random.nextInt(101));
+        }
+    }
+
+    private int next() {
+        return index = (index + 1) & MASK;
+    }
+
+    @Benchmark
+    public int colorToHsv() {
+        return AXColorPickerColorSpace.colorToHsv(colors[next()]);
+    }
+
+    @Benchmark
+    public int colorToHsl() {
+        return AXColorPickerColorSpace.colorToHsl(colors[next()]);
+    }
+
+    @Benchmark
+    public int hsvToColor() {
+        final int packed = hsb[next()];
+        return AXColorPickerColorSpace.hsvToColor(255, AXColorPickerColorSpace.hue(packed),
+                AXColorPickerColorSpace.saturation(packed),
+                AXColorPickerColorSpace.brightness(packed));
+    }
+
+    @Benchmark
+    public int hslToColor() {
+        final int packed = hsb[next()];
+        return AXColorPickerColorSpace.hslToColor(255, AXColorPickerColorSpace.hue(packed),
+                AXColorPickerColorSpace.saturation(packed),
+                AXColorPickerColorSpace.brightness(packed));
+    }
+
+    /**
+     * What Color.RGBToHSV does, with java.awt.Color: the same one-way conversion as
+     * {@link #colorToHsv()}, to a float array, for comparison
+     */
+    @Benchmark
+    public float[] rgbToHsb_awt() {
+        final int color = colors[next()];
+        return java.awt.Color.RGBtoHSB((color >> 16) & 0xFF, (color >> 8) & 0xFF, color & 0xFF,
+                null);
+    }
+}
@@ -0,0 +1,152 @@
+package io.github.long76.androidxcolorpicker;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * HEX formatting and parsing, as done on every seek bar change and HEX code edit.
+ */
+@State(Scope.Thread)
+public class FormatHelperBenchmark {
+
+    private static final int SIZE = 1024;
+    private static final int MASK = SIZE - 1;
+
+    private final int[] colors = new int[SIZE];
+    private final int[] channelValues = new int[SIZE];
+    private final String[] rgbCodes = new String[SIZE];
+    private final String[] argbCodes = new String[SIZE];
+    private final String[] shortCodes = new String[SIZE];
+    private final String[] editedCodes = new String[SIZE];
+    private final char[] buffer = new char[AXColorPickerFormatHelper.ARGB_LENGTH];
+    private final StringBuilder builder = new StringBuilder(AXColorPickerFormatHelper.ARGB_LENGTH);
+    private int index;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42);
+        for (int i = 0; i < SIZE; i++) {
+            colors[i] = random.nextInt();
+            // Mostly in range, like seek bar values, with some out of range setter input
+            channelValues[i] = random.nextInt(320) - 32;
+            rgbCodes[i] = String.format("%06X", colors[i] & 0xFFFFFF);
+            argbCodes[i] = String.format("%08x", colors[i]);
+            shortCodes[i] = String.format("%03X", colors[i] & 0xFFF);
+            // One in eight codes is invalid, as while the user types
+            editedCodes[i] = (i & 7) == 0 ? argbCodes[i].substring(0, 7) + 'X' : argbCodes[i];
+        }
+    }
+
+    private int next() {
+        return index = (index + 1) & MASK;
+    }
+
+    @Benchmark
+    public int assertColorValueInRange() {
+        return AXColorPickerFormatHelper.assertColorValueInRange(channelValues[next()]);
+    }
+
+    @Benchmark
+    public String formatColorValues_rgb() {
+        final int color = colors[next()];
+        return AXColorPickerFormatHelper.formatColorValues(
+                (color >> 16) & 0xFF, (color >> 8) & 0xFF, color & 0xFF);
+    }
+
+    @Benchmark
+    public String formatColorValues_argb() {
+        final int color = colors[next()];
+        return AXColorPickerFormatHelper.formatColorValues(
+                color >>> 24, (color >> 16) & 0xFF, (color >> 8) & 0xFF, color & 0xFF);
+    }
+
+    @Benchmark
+    public char[] writeColor() {
+        AXColorPickerFormatHelper.writeColor(buffer, 0, colors[next()], true);
+        return buffer;
+    }
+
+    @Benchmark
+    public StringBuilder appendColor() {
+        builder.setLength(0);
+        return AXColorPickerFormatHelper.appendColor(builder, colors[next()], true);
+    }
+
+    /**
+     * What the platform offers, for comparison
+     */
+    @Benchmark
+    public String stringFormat() {
+        return String.format("%08X", colors[next()]);
+    }
+
+    @Benchmark
+    public long parseColor_rgb() {
+        return AXColorPickerFormatHelper.parseColor(rgbCodes[next()]);
+    }
+
+    @Benchmark
+    public long parseColor_argb() {
+        return AXColorPickerFormatHelper.parseColor(argbCodes[next()]);
+    }
+
+    @Benchmark
+    public long parseColor_short() {
+        return AXColorPickerFormatHelper.parseColor(shortCodes[next()]);
+    }
+
+    @Benchmark
+    public long parseColor_edited() {
+        return AXColorPickerFormatHelper.parseColor(editedCodes[next()]);
+    }
+
+    /**
+     * The previous parsing path, for comparison
+     */
+    @Benchmark
+    public long parseColorWithExceptions_edited() {
+        return parseColorWithExceptions(editedCodes[next()]);
+    }
+
+    /**
+     * What the platform offers, for comparison
+     */
+    @Benchmark
+    public long parseUnsignedInt() {
+        return Integer.parseUnsignedInt(argbCodes[next()], 16);
+    }
+
+    @Benchmark
+    public String progressLabel() {
+        return AXColorPickerFormatHelper.progressLabel(channelValues[next()] & 0xFF);
+    }
+
+    @Benchmark
+    public boolean contentEquals() {
+        final int i = next();
+        AXColorPickerFormatHelper.writeColor(buffer, 0, colors[i], false);
+        return AXColorPickerFormatHelper.contentEquals(rgbCodes[i], buffer, 6);
+    }
+
+    /**
+     * What Color.parseColor does for '#' + input, without the Android dependency.
+     */
+    private static long parseColorWithExceptions(String input) {
+        try {
+            final String hex = '#' + input;
+            long color = Long.parseLong(hex.substring(1), 16);
+            if (hex.length() == 7) {
+                color |= 0x00000000ff000000L;
+            } else if (hex.length() != 9) {
+                throw new IllegalArgumentException("Unknown color");
+            }
+            return color;
+        } catch (IllegalArgumentException ignored) {
+            return AXColorPickerFormatHelper.INVALID_COLOR;
+        }
+    }
+}
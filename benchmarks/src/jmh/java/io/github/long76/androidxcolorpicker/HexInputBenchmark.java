@@ -0,0 +1,42 @@
+package io.github.long76.androidxcolorpicker;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Typing a HEX code one char at a time: the incremental parser against parsing the whole text
+ * on every keystroke.
+ */
+@State(Scope.Thread)
+public class HexInputBenchmark {
+
+    private static final String CODE = "80FF7F3C";
+
+    private final AXColorPickerHexInput input = new AXColorPickerHexInput();
+    private final StringBuilder text = new StringBuilder(CODE.length());
+
+    @Benchmark
+    public long typeCode_incremental() {
+        text.setLength(0);
+        input.reset();
+        long color = 0;
+        for (int i = 0; i < CODE.length(); i++) {
+            text.append(CODE.charAt(i));
+            input.onTextChanged(text, i, 0, 1);
+            color += input.getColor();
+        }
+        return color;
+    }
+
+    @Benchmark
+    public long typeCode_fullParse() {
+        text.setLength(0);
+        long color = 0;
+        for (int i = 0; i < CODE.length(); i++) {
+            text.append(CODE.charAt(i));
+            color += AXColorPickerFormatHelper.parseColor(text);
+        }
+        return color;
+    }
+}
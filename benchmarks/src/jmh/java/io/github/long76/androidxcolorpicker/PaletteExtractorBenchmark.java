@@ -0,0 +1,94 @@
+package io.github.long76.androidxcolorpicker;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Extracting a palette from synthetic 1 to 50 megapixel images: sampled against every pixel,
+ * and the histogram on one core against the common ForkJoinPool.
+ */
+@State(Scope.Benchmark)
+public class PaletteExtractorBenchmark {
+
+    @Param({"1", "12", "50"})
+    public int megapixels;
+
+    private int[] pixels;
+    private int width;
+    private int height;
+    private int step;
+    private int[] histogram;
+    private int[] counts;
+
+    @Setup
+    public void setUp() {
+        // 4:3 photo-like image: smooth gradients with a little noise
+        width = (int) Math.sqrt(megapixels * 1_000_000 * 4 / 3.0);
+        height = megapixels * 1_000_000 / width;
+        pixels = new int[width * height];
+        final Random random = new Random(42);
+        for (int y = 0, i = 0; y < height; y++) {
+            for (int x = 0; x < width; x++, i++) {
+                final int noise = random.nextInt(24);
+                pixels[i] = AXColorPickerColorHelper.argb(255,
+                        x * 200 / width + noise,
+                        y * 200 / height + noise,
+                        (x + y) * 100 / (width + height) + noise);
+            }
+        }
+        step = AXColorPickerPaletteExtractor.sampleStep(width, height,
+                AXColorPickerPaletteExtractor.DEFAULT_MAX_SAMPLES);
+        histogram = new int[AXColorPickerPaletteExtractor.HISTOGRAM_SIZE];
+        AXColorPickerPaletteExtractor.histogram(pixels, width, height, 1, histogram);
+        counts = new int[AXColorPickerPaletteExtractor.HISTOGRAM_SIZE];
+    }
+
+    @Benchmark
+    public int[] extract() {
+        return AXColorPickerPaletteExtractor.extract(pixels, width, height, 16);
+    }
+
+    @Benchmark
+    public int[] extract_everyPixel() {
+        return AXColorPickerPaletteExtractor.extract(pixels, width, height, 16, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public int histogram_sampled() {
+        Arrays.fill(counts, 0);
+        return AXColorPickerPaletteExtractor.histogram(pixels, width, height, step, counts);
+    }
+
+    @Benchmark
+    public int histogram_everyPixel() {
+        Arrays.fill(counts, 0);
+        return AXColorPickerPaletteExtractor.histogram(pixels, width, height, 1, counts);
+    }
+
+    /**
+     * The histogram of {@link #extract()}
+     */
+    @Benchmark
+    public int histogramParallel_sampled() {
+        Arrays.fill(counts, 0);
+        return AXColorPickerPaletteExtractor.histogramParallel(pixels, width, height, step, counts);
+    }
+
+    @Benchmark
+    public int histogramParallel_everyPixel() {
+        Arrays.fill(counts, 0);
+        return AXColorPickerPaletteExtractor.histogramParallel(pixels, width, height, 1, counts);
+    }
+
+    @Benchmark
+    public int[] medianCut() {
+        // Only the splitting, of the histogram of every pixel
+        return AXColorPickerPaletteExtractor.medianCut(histogram, 16);
+    }
+}
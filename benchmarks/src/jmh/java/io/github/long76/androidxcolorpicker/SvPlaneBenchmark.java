@@ -0,0 +1,46 @@
+package io.github.long76.androidxcolorpicker;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Rendering a saturation/value plane, once per hue change while the hue is dragged, against
+ * converting every pixel from HSV.
+ */
+@State(Scope.Thread)
+public class SvPlaneBenchmark {
+
+    @Param({"256", "1024"})
+    public int size;
+
+    private int[] pixels;
+    private int hue;
+
+    @Setup
+    public void setUp() {
+        pixels = new int[size * size];
+    }
+
+    @Benchmark
+    public int[] render() {
+        hue = (hue + 1) % (AXColorPickerColorSpace.MAX_HUE + 1);
+        AXColorPickerSvPlane.render(hue, pixels, size, size);
+        return pixels;
+    }
+
+    @Benchmark
+    public int[] hsvPerPixel() {
+        hue = (hue + 1) % (AXColorPickerColorSpace.MAX_HUE + 1);
+        for (int y = 0, i = 0; y < size; y++) {
+            final int value = AXColorPickerSvPlane.valueAt(y, size);
+            for (int x = 0; x < size; x++, i++) {
+                pixels[i] = AXColorPickerColorSpace.hsvToColor(255, hue,
+                        AXColorPickerSvPlane.saturationAt(x, size), value);
+            }
+        }
+        return pixels;
+    }
+}
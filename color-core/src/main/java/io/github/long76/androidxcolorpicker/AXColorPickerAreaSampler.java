@@ -0,0 +1,155 @@
+package io.github.long76.androidxcolorpicker;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.IntRange;
+
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.ALPHA_SHIFT;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.BLUE_SHIFT;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.GREEN_SHIFT;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.RED_SHIFT;
+
+/**
+ * Average colors of the areas of an image, e.g. for an eyedropper sampling a screenshot around
+ * the finger.
+ * <p>
+ * The image is summed once into a summed-area table: at each corner the sums of alpha, red,
+ * green and blue of every pixel above and left of it, the four side by side. The sum of any
+ * rectangle is then the difference of the table at its four corners, so an average costs the
+ * same for any radius and allocates nothing. The sums are ints left to wrap around: the
+ * difference is still exact as long as the rectangle holds at most {@link #MAX_AREA} pixels.
+ * The table takes 16 bytes per pixel. Safe to use from any thread once built.
+ *
+ * @since v3.2
+ */
+public final class AXColorPickerAreaSampler {
+
+    /**
+     * Largest number of pixels averaged at once, their sums of a channel fitting in 32 bits
+     */
+    public static final int MAX_AREA = (int) (0xFFFFFFFFL / 255);
+
+    private static final int CHANNELS = 4;
+
+    private final int width;
+    private final int height;
+
+    /**
+     * Sums of alpha, red, green and blue at each corner, row after row of width + 1 corners
+     */
+    private final int[] table;
+
+    /**
+     * Sums the pixels of an image. Later changes to the pixels are not seen.
+     *
+     * @param pixels Packed ARGB pixels, row after row
+     * @param width  Width of the image
+     * @param height Height of the image
+     */
+    public AXColorPickerAreaSampler(int[] pixels, @IntRange(from = 1) int width,
+                                    @IntRange(from = 1) int height) {
+        if (width < 1 || height < 1 || (long) width * height > pixels.length) {
+            throw new IllegalArgumentException(
+                    width + "x" + height + " pixels don't fit in " + pixels.length);
+        }
+        if ((long) (width + 1) * (height + 1) * CHANNELS > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(width + "x" + height + " image too large");
+        }
+        this.width = width;
+        this.height = height;
+        final int stride = (width + 1) * CHANNELS;
+        table = new int[stride * (height + 1)];
+        for (int y = 0; y < height; y++) {
+            int alpha = 0;
+            int red = 0;
+            int green = 0;
+            int blue = 0;
+            int above = y * stride + CHANNELS;
+            for (int i = y * width, end = i + width; i < end; i++, above += CHANNELS) {
+                final int pixel = pixels[i];
+                alpha += pixel >>> ALPHA_SHIFT;
+                red += pixel >> RED_SHIFT & 0xFF;
+                green += pixel >> GREEN_SHIFT & 0xFF;
+                blue += pixel >> BLUE_SHIFT & 0xFF;
+                final int corner = above + stride;
+                table[corner] = table[above] + alpha;
+                table[corner + 1] = table[above + 1] + red;
+                table[corner + 2] = table[above + 2] + green;
+                table[corner + 3] = table[above + 3] + blue;
+            }
+        }
+    }
+
+    /**
+     * @return Width of the image
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return Height of the image
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Average color of the square of (2 * radius + 1) pixels a side around a pixel, the part of
+     * it inside the image.
+     *
+     * @param x      Column of the center, clamped to the image
+     * @param y      Row of the center, clamped to the image
+     * @param radius Pixels on each side of the center, 0 for the pixel itself
+     * @return Average of each channel, rounded
+     */
+    @ColorInt
+    public int average(int x, int y, @IntRange(from = 0) int radius) {
+        if (radius < 0) {
+            throw new IllegalArgumentException("Radius " + radius);
+        }
+        x = clamp(x, 0, width - 1);
+        y = clamp(y, 0, height - 1);
+        return average(Math.max(x - radius, 0), Math.max(y - radius, 0),
+                (int) Math.min((long) x + radius + 1, width),
+                (int) Math.min((long) y + radius + 1, height));
+    }
+
+    /**
+     * Average color of a rectangle of the image.
+     *
+     * @param left   First column
+     * @param top    First row
+     * @param right  Column after the last one
+     * @param bottom Row after the last one
+     * @return Average of each channel, rounded
+     */
+    @ColorInt
+    public int average(int left, int top, int right, int bottom) {
+        if (left < 0 || top < 0 || right > width || bottom > height
+                || left >= right || top >= bottom) {
+            throw new IllegalArgumentException("Rectangle " + left + "," + top + " - "
+                    + right + "," + bottom + " not in " + width + "x" + height);
+        }
+        final long area = (long) (right - left) * (bottom - top);
+        if (area > MAX_AREA) {
+            throw new IllegalArgumentException("Area of " + area + " pixels too large");
+        }
+        final int stride = (width + 1) * CHANNELS;
+        final int topLeft = top * stride + left * CHANNELS;
+        final int topRight = top * stride + right * CHANNELS;
+        final int bottomLeft = bottom * stride + left * CHANNELS;
+        final int bottomRight = bottom * stride + right * CHANNELS;
+        int color = 0;
+        for (int channel = 0; channel < CHANNELS; channel++) {
+            // Exact modulo 2^32, and the sum is below it
+            final long sum = (table[bottomRight + channel] - table[topRight + channel]
+                    - table[bottomLeft + channel] + table[topLeft + channel]) & 0xFFFFFFFFL;
+            color = color << 8 | (int) ((sum + area / 2) / area);
+        }
+        return color;
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
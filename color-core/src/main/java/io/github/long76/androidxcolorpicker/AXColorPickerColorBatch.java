@@ -0,0 +1,379 @@
+package io.github.long76.androidxcolorpicker;
+
+import androidx.annotation.FloatRange;
+import androidx.annotation.IntRange;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import static io.github.long76.androidxcolorpicker.AXColorPickerFormatHelper.ARGB_LENGTH;
+import static io.github.long76.androidxcolorpicker.AXColorPickerFormatHelper.RGB_LENGTH;
+import static io.github.long76.androidxcolorpicker.AXColorPickerFormatHelper.hexValue;
+
+/**
+ * The operations of {@link AXColorPickerFormatHelper} and {@link AXColorPickerColorHelper} on
+ * whole arrays of packed colors, e.g. to generate or validate theme palettes.
+ * <p>
+ * HEX codes are stored back to back with a fixed width, 6 or 8 digits per color and no
+ * separator. Every loop is a plain indexed loop over primitive arrays with no branch depending
+ * on the data, so the JIT can unroll it and vectorize the arithmetic ones. Nothing is
+ * allocated, except the fork-join tasks of the *Parallel variants which split large arrays
+ * across the common ForkJoinPool.
+ *
+ * @since v3.2
+ */
+public final class AXColorPickerColorBatch {
+
+    /**
+     * Smallest number of colors a parallel task works on, below it splitting costs more than it
+     * saves
+     */
+    public static final int MIN_PARALLEL_CHUNK = 1 << 13;
+
+    /**
+     * Upper case HEX digits of every byte value as ASCII, two per value
+     */
+    private static final byte[] HEX_PAIR_BYTES = new byte[512];
+
+    private AXColorPickerColorBatch() {
+    }
+
+    static {
+        final String digits = "0123456789ABCDEF";
+        for (int value = 0; value < 256; value++) {
+            HEX_PAIR_BYTES[value << 1] = (byte) digits.charAt(value >>> 4);
+            HEX_PAIR_BYTES[(value << 1) + 1] = (byte) digits.charAt(value & 0xF);
+        }
+    }
+
+    /**
+     * Writes colors as upper case HEX digits, one fixed width code after the other.
+     *
+     * @param colors    Packed ARGB colors
+     * @param offset    Index of the first color
+     * @param count     Number of colors
+     * @param withAlpha Write AARRGGBB if true, RRGGBB otherwise
+     * @param out       Destination, must have room for count * 8 (or 6) chars from outOffset
+     * @param outOffset Index of the first char to write
+     */
+    public static void formatColors(int[] colors, int offset, int count, boolean withAlpha,
+                                    char[] out, int outOffset) {
+        final int end = offset + count;
+        int index = outOffset;
+        if (withAlpha) {
+            for (int i = offset; i < end; i++) {
+                index += AXColorPickerFormatHelper.writeColor(out, index, colors[i], true);
+            }
+        } else {
+            for (int i = offset; i < end; i++) {
+                index += AXColorPickerFormatHelper.writeColor(out, index, colors[i], false);
+            }
+        }
+    }
+
+    /**
+     * Writes colors as upper case ASCII HEX digits, one fixed width code after the other, e.g.
+     * straight into a file or network buffer.
+     *
+     * @param colors    Packed ARGB colors
+     * @param offset    Index of the first color
+     * @param count     Number of colors
+     * @param withAlpha Write AARRGGBB if true, RRGGBB otherwise
+     * @param out       Destination, must have room for count * 8 (or 6) bytes from outOffset
+     * @param outOffset Index of the first byte to write
+     */
+    public static void formatColors(int[] colors, int offset, int count, boolean withAlpha,
+                                    byte[] out, int outOffset) {
+        final int end = offset + count;
+        int index = outOffset;
+        for (int i = offset; i < end; i++) {
+            final int color = colors[i];
+            if (withAlpha) {
+                index = writeByte(out, index, color >>> 24);
+            }
+            index = writeByte(out, index, (color >> 16) & 0xFF);
+            index = writeByte(out, index, (color >> 8) & 0xFF);
+            index = writeByte(out, index, color & 0xFF);
+        }
+    }
+
+    /**
+     * Parses fixed width HEX codes, both cases, as written by
+     * {@link #formatColors(int[], int, int, boolean, char[], int)}. Codes without alpha are
+     * opaque.
+     *
+     * @param in        HEX codes, back to back
+     * @param inOffset  Index of the first char
+     * @param count     Number of codes
+     * @param withAlpha Codes are AARRGGBB if true, RRGGBB otherwise
+     * @param colors    Destination of the packed colors
+     * @param offset    Index of the first color to write
+     * @return Number of codes parsed, which is count unless a code has a char that isn't a HEX
+     * digit: parsing stops before it, so it is also the index of the invalid code
+     */
+    public static int parseColors(char[] in, int inOffset, int count, boolean withAlpha,
+                                  int[] colors, int offset) {
+        final int length = withAlpha ? ARGB_LENGTH : RGB_LENGTH;
+        final int opaque = withAlpha ? 0 : 0xFF000000;
+        for (int i = 0; i < count; i++) {
+            final int start = inOffset + i * length;
+            int value = 0;
+            int invalid = 0;
+            for (int j = start; j < start + length; j++) {
+                final int digit = hexValue(in[j]);
+                invalid |= digit;
+                value = (value << 4) | (digit & 0xF);
+            }
+            if (invalid < 0) {
+                return i;
+            }
+            colors[offset + i] = opaque | value;
+        }
+        return count;
+    }
+
+    /**
+     * Parses fixed width ASCII HEX codes, see
+     * {@link #parseColors(char[], int, int, boolean, int[], int)}.
+     *
+     * @param in        ASCII HEX codes, back to back
+     * @param inOffset  Index of the first byte
+     * @param count     Number of codes
+     * @param withAlpha Codes are AARRGGBB if true, RRGGBB otherwise
+     * @param colors    Destination of the packed colors
+     * @param offset    Index of the first color to write
+     * @return Number of codes parsed, count unless one is invalid
+     */
+    public static int parseColors(byte[] in, int inOffset, int count, boolean withAlpha,
+                                  int[] colors, int offset) {
+        final int length = withAlpha ? ARGB_LENGTH : RGB_LENGTH;
+        final int opaque = withAlpha ? 0 : 0xFF000000;
+        for (int i = 0; i < count; i++) {
+            final int start = inOffset + i * length;
+            int value = 0;
+            int invalid = 0;
+            for (int j = start; j < start + length; j++) {
+                // Bytes above 0x7F map to chars above 0x7F, never HEX digits
+                final int digit = hexValue((char) (in[j] & 0xFF));
+                invalid |= digit;
+                value = (value << 4) | (digit & 0xF);
+            }
+            if (invalid < 0) {
+                return i;
+            }
+            colors[offset + i] = opaque | value;
+        }
+        return count;
+    }
+
+    /**
+     * Clamps channel values to 0 - 255 in place. Unlike
+     * {@link AXColorPickerFormatHelper#assertColorValueInRange(int)}, out of range values go to
+     * the nearest bound rather than 0.
+     *
+     * @param values Channel values
+     * @param offset Index of the first value
+     * @param count  Number of values
+     */
+    public static void clamp(int[] values, int offset, int count) {
+        final int end = offset + count;
+        for (int i = offset; i < end; i++) {
+            values[i] = Math.min(Math.max(values[i], 0), 255);
+        }
+    }
+
+    /**
+     * Packs separate channel arrays into colors, clamping every value to 0 - 255.
+     *
+     * @param alpha  Alpha values, null for opaque colors
+     * @param red    Red values
+     * @param green  Green values
+     * @param blue   Blue values
+     * @param colors Destination of the packed colors, same indices as the channels
+     * @param offset Index of the first color
+     * @param count  Number of colors
+     */
+    public static void pack(int[] alpha, int[] red, int[] green, int[] blue,
+                            int[] colors, int offset, int count) {
+        final int end = offset + count;
+        for (int i = offset; i < end; i++) {
+            final int a = alpha != null ? Math.min(Math.max(alpha[i], 0), 255) : 255;
+            colors[i] = a << 24
+                    | Math.min(Math.max(red[i], 0), 255) << 16
+                    | Math.min(Math.max(green[i], 0), 255) << 8
+                    | Math.min(Math.max(blue[i], 0), 255);
+        }
+    }
+
+    /**
+     * Interpolates every channel between two arrays of colors, e.g. to blend a palette into
+     * another or fade it to a color.
+     *
+     * @param from   Colors at weight 0
+     * @param to     Colors at weight 256
+     * @param weight Weight of {@code to}, in 1/256: 0 gives from, 256 gives to
+     * @param out    Destination, may be from or to
+     * @param offset Index of the first color, the same in all arrays
+     * @param count  Number of colors
+     */
+    public static void lerp(int[] from, int[] to, @IntRange(from = 0, to = 256) int weight,
+                            int[] out, int offset, int count) {
+        final int w = Math.min(Math.max(weight, 0), 256);
+        final int inverse = 256 - w;
+        final int end = offset + count;
+        for (int i = offset; i < end; i++) {
+            final int a = from[i];
+            final int b = to[i];
+            // Two channels per multiplication, 16 bits apart: 255 * 256 can't overflow a lane
+            final int rb = (a & 0xFF00FF) * inverse + (b & 0xFF00FF) * w;
+            final int ag = ((a >>> 8) & 0xFF00FF) * inverse + ((b >>> 8) & 0xFF00FF) * w;
+            out[i] = ((rb >>> 8) & 0xFF00FF) | (ag & 0xFF00FF00);
+        }
+    }
+
+    /**
+     * Interpolates every channel between two arrays of colors.
+     *
+     * @param from     Colors at fraction 0
+     * @param to       Colors at fraction 1
+     * @param fraction Position between from and to, rounded to 1/256
+     * @param out      Destination, may be from or to
+     * @param offset   Index of the first color, the same in all arrays
+     * @param count    Number of colors
+     * @see #lerp(int[], int[], int, int[], int, int)
+     */
+    public static void lerp(int[] from, int[] to, @FloatRange(from = 0, to = 1) float fraction,
+                            int[] out, int offset, int count) {
+        lerp(from, to, Math.round(fraction * 256f), out, offset, count);
+    }
+
+    /**
+     * {@link #formatColors(int[], int, int, boolean, char[], int)} split across the common
+     * ForkJoinPool.
+     */
+    public static void formatColorsParallel(int[] colors, int offset, int count,
+                                            boolean withAlpha, char[] out, int outOffset) {
+        final int length = withAlpha ? ARGB_LENGTH : RGB_LENGTH;
+        invoke(count, (start, end) -> {
+            formatColors(colors, offset + start, end - start, withAlpha,
+                    out, outOffset + start * length);
+            return end;
+        });
+    }
+
+    /**
+     * {@link #formatColors(int[], int, int, boolean, byte[], int)} split across the common
+     * ForkJoinPool.
+     */
+    public static void formatColorsParallel(int[] colors, int offset, int count,
+                                            boolean withAlpha, byte[] out, int outOffset) {
+        final int length = withAlpha ? ARGB_LENGTH : RGB_LENGTH;
+        invoke(count, (start, end) -> {
+            formatColors(colors, offset + start, end - start, withAlpha,
+                    out, outOffset + start * length);
+            return end;
+        });
+    }
+
+    /**
+     * {@link #parseColors(char[], int, int, boolean, int[], int)} split across the common
+     * ForkJoinPool. Codes after an invalid one may be parsed as well, the result is the same.
+     */
+    public static int parseColorsParallel(char[] in, int inOffset, int count, boolean withAlpha,
+                                          int[] colors, int offset) {
+        final int length = withAlpha ? ARGB_LENGTH : RGB_LENGTH;
+        return invoke(count, (start, end) -> start + parseColors(in, inOffset + start * length,
+                end - start, withAlpha, colors, offset + start));
+    }
+
+    /**
+     * {@link #parseColors(byte[], int, int, boolean, int[], int)} split across the common
+     * ForkJoinPool. Codes after an invalid one may be parsed as well, the result is the same.
+     */
+    public static int parseColorsParallel(byte[] in, int inOffset, int count, boolean withAlpha,
+                                          int[] colors, int offset) {
+        final int length = withAlpha ? ARGB_LENGTH : RGB_LENGTH;
+        return invoke(count, (start, end) -> start + parseColors(in, inOffset + start * length,
+                end - start, withAlpha, colors, offset + start));
+    }
+
+    /**
+     * {@link #clamp(int[], int, int)} split across the common ForkJoinPool.
+     */
+    public static void clampParallel(int[] values, int offset, int count) {
+        invoke(count, (start, end) -> {
+            clamp(values, offset + start, end - start);
+            return end;
+        });
+    }
+
+    /**
+     * {@link #lerp(int[], int[], int, int[], int, int)} split across the common ForkJoinPool.
+     */
+    public static void lerpParallel(int[] from, int[] to, @IntRange(from = 0, to = 256) int weight,
+                                    int[] out, int offset, int count) {
+        invoke(count, (start, end) -> {
+            lerp(from, to, weight, out, offset + start, end - start);
+            return end;
+        });
+    }
+
+    private static int writeByte(byte[] out, int index, int value) {
+        out[index] = HEX_PAIR_BYTES[value << 1];
+        out[index + 1] = HEX_PAIR_BYTES[(value << 1) + 1];
+        return index + 2;
+    }
+
+    /**
+     * Runs an operation over [0, count), on the calling thread if the range is small.
+     *
+     * @return The lowest index where a chunk stopped early, count if none did
+     */
+    private static int invoke(int count, RangeOperation operation) {
+        final ForkJoinPool pool = ForkJoinPool.commonPool();
+        // A few chunks per worker, so a slow worker doesn't hold the others up
+        final int chunk = Math.max(MIN_PARALLEL_CHUNK, count / (pool.getParallelism() * 4));
+        if (count <= chunk) {
+            return operation.run(0, count);
+        }
+        final RangeTask task = new RangeTask(operation, 0, count, chunk);
+        pool.invoke(task);
+        return task.result;
+    }
+
+    private interface RangeOperation {
+        /**
+         * @return end, or the index where the operation stopped early
+         */
+        int run(int start, int end);
+    }
+
+    private static final class RangeTask extends RecursiveAction {
+
+        private final RangeOperation operation;
+        private final int start;
+        private final int end;
+        private final int chunk;
+        private int result;
+
+        RangeTask(RangeOperation operation, int start, int end, int chunk) {
+            this.operation = operation;
+            this.start = start;
+            this.end = end;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= chunk) {
+                result = operation.run(start, end);
+                return;
+            }
+            final int middle = (start + end) >>> 1;
+            final RangeTask left = new RangeTask(operation, start, middle, chunk);
+            final RangeTask right = new RangeTask(operation, middle, end, chunk);
+            invokeAll(left, right);
+            result = left.result < middle ? left.result : right.result;
+        }
+    }
+}
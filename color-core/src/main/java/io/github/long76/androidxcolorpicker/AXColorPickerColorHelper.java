@@ -0,0 +1,154 @@
+package io.github.long76.androidxcolorpicker;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.IntRange;
+
+/**
+ * Math on packed ARGB colors, the same layout as android.graphics.Color, without depending on
+ * the Android SDK.
+ *
+ * @since v3.2
+ */
+public final class AXColorPickerColorHelper {
+
+    public static final int ALPHA_SHIFT = 24;
+    public static final int RED_SHIFT = 16;
+    public static final int GREEN_SHIFT = 8;
+    public static final int BLUE_SHIFT = 0;
+
+    private AXColorPickerColorHelper() {
+    }
+
+    /**
+     * Packs ARGB values into a color. Only the lower 8 bits of each value are used.
+     *
+     * @param alpha Alpha value (0 - 255)
+     * @param red   Red value (0 - 255)
+     * @param green Green value (0 - 255)
+     * @param blue  Blue value (0 - 255)
+     * @return Packed ARGB color
+     */
+    @ColorInt
+    public static int argb(@IntRange(from = 0, to = 255) int alpha,
+                           @IntRange(from = 0, to = 255) int red,
+                           @IntRange(from = 0, to = 255) int green,
+                           @IntRange(from = 0, to = 255) int blue) {
+        return (alpha & 0xFF) << ALPHA_SHIFT
+                | (red & 0xFF) << RED_SHIFT
+                | (green & 0xFF) << GREEN_SHIFT
+                | (blue & 0xFF);
+    }
+
+    /**
+     * Packs RGB values into an opaque color. Only the lower 8 bits of each value are used.
+     *
+     * @param red   Red value (0 - 255)
+     * @param green Green value (0 - 255)
+     * @param blue  Blue value (0 - 255)
+     * @return Packed ARGB color with alpha 255
+     */
+    @ColorInt
+    public static int rgb(@IntRange(from = 0, to = 255) int red,
+                          @IntRange(from = 0, to = 255) int green,
+                          @IntRange(from = 0, to = 255) int blue) {
+        return argb(255, red, green, blue);
+    }
+
+    /**
+     * @param color Packed ARGB color
+     * @return Alpha value (0 - 255)
+     */
+    public static int alpha(@ColorInt int color) {
+        return color >>> ALPHA_SHIFT;
+    }
+
+    /**
+     * @param color Packed ARGB color
+     * @return Red value (0 - 255)
+     */
+    public static int red(@ColorInt int color) {
+        return (color >> RED_SHIFT) & 0xFF;
+    }
+
+    /**
+     * @param color Packed ARGB color
+     * @return Green value (0 - 255)
+     */
+    public static int green(@ColorInt int color) {
+        return (color >> GREEN_SHIFT) & 0xFF;
+    }
+
+    /**
+     * @param color Packed ARGB color
+     * @return Blue value (0 - 255)
+     */
+    public static int blue(@ColorInt int color) {
+        return color & 0xFF;
+    }
+
+    /**
+     * Clamps a value to the range of a channel, unlike
+     * {@link AXColorPickerFormatHelper#assertColorValueInRange(int)} which resets it to 0.
+     *
+     * @param value Any value
+     * @return The value, 0 if lower or 255 if higher
+     */
+    @IntRange(from = 0, to = 255)
+    public static int clamp(int value) {
+        return value < 0 ? 0 : (value > 255 ? 255 : value);
+    }
+
+    /**
+     * Get one channel of a packed color.
+     *
+     * @param color Packed ARGB color
+     * @param shift Position of the channel, one of the *_SHIFT constants
+     * @return Channel value (0 - 255)
+     */
+    public static int channel(@ColorInt int color, int shift) {
+        return (color >>> shift) & 0xFF;
+    }
+
+    /**
+     * Replaces one channel of a packed color.
+     *
+     * @param color Packed ARGB color
+     * @param shift Position of the channel, one of the *_SHIFT constants
+     * @param value New channel value (0 - 255)
+     * @return The color with the channel replaced
+     */
+    @ColorInt
+    public static int withChannel(@ColorInt int color, int shift,
+                           @IntRange(from = 0, to = 255) int value) {
+        return (color & ~(0xFF << shift)) | ((value & 0xFF) << shift);
+    }
+
+    /**
+     * Color at the start (value 0) of the track of a channel, i.e. the color the picker would
+     * show with only that channel moved to 0.
+     * <p>
+     * The tracks of the color channels are opaque, so they stay readable whatever the alpha;
+     * the alpha track fades the opaque color out.
+     *
+     * @param color Packed ARGB color currently picked
+     * @param shift Channel of the track, one of the *_SHIFT constants
+     * @return Packed ARGB color
+     */
+    @ColorInt
+    public static int gradientStart(@ColorInt int color, int shift) {
+        return withChannel(color | 0xFF000000, shift, 0);
+    }
+
+    /**
+     * Color at the end (value 255) of the track of a channel.
+     *
+     * @param color Packed ARGB color currently picked
+     * @param shift Channel of the track, one of the *_SHIFT constants
+     * @return Packed ARGB color
+     * @see #gradientStart(int, int)
+     */
+    @ColorInt
+    public static int gradientEnd(@ColorInt int color, int shift) {
+        return withChannel(color | 0xFF000000, shift, 255);
+    }
+}
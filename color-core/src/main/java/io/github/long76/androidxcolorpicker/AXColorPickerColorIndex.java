@@ -0,0 +1,232 @@
+package io.github.long76.androidxcolorpicker;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.BLUE_SHIFT;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.GREEN_SHIFT;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.RED_SHIFT;
+
+/**
+ * Finds the color of a palette nearest to any color, e.g. to name the color picked. The
+ * distance is the euclidean one between the red, green and blue values, alpha is ignored.
+ * <p>
+ * The palette colors are indexed once, in a k-d tree stored in flat arrays: each range of the
+ * arrays is split at its median on the channel with the widest spread, the median sitting in
+ * the middle of the range. A lookup walks down the tree and skips every half that can't hold a
+ * nearer color, a few dozen distances for thousands of colors instead of all of them, and
+ * allocates nothing. Safe to use from any thread once built.
+ *
+ * @since v3.2
+ */
+public final class AXColorPickerColorIndex {
+
+    /**
+     * Ranges this small are not split but scanned
+     */
+    private static final int LEAF_SIZE = 8;
+
+    private static final int RGB_MASK = 0xFFFFFF;
+
+    private static AXColorPickerColorIndex css;
+
+    private final AXColorPickerNamedPalette palette;
+
+    /**
+     * RGB of the colors in tree order
+     */
+    private final int[] colors;
+
+    /**
+     * Index in the palette of each color of {@link #colors}
+     */
+    private final int[] indices;
+
+    /**
+     * Shift of the channel a range is split on, stored at the index of its median
+     */
+    private final byte[] shifts;
+
+    /**
+     * Indexes the colors of a palette. Later changes to the palette are not seen.
+     *
+     * @param palette Colors to index
+     */
+    public AXColorPickerColorIndex(@NonNull AXColorPickerNamedPalette palette) {
+        this.palette = palette;
+        final int size = palette.size();
+        colors = new int[size];
+        indices = new int[size];
+        shifts = new byte[size];
+        for (int i = 0; i < size; i++) {
+            colors[i] = palette.getColor(i) & RGB_MASK;
+            indices[i] = i;
+        }
+        build(0, size);
+    }
+
+    /**
+     * @return The index of the CSS named colors of {@link AXColorPickerColorNames#css()}, shared
+     */
+    @NonNull
+    public static synchronized AXColorPickerColorIndex css() {
+        if (css == null) {
+            css = new AXColorPickerColorIndex(AXColorPickerColorNames.css());
+        }
+        return css;
+    }
+
+    /**
+     * @return The palette indexed
+     */
+    @NonNull
+    public AXColorPickerNamedPalette getPalette() {
+        return palette;
+    }
+
+    /**
+     * @param color Packed color, the alpha is ignored
+     * @return Index in the palette of the nearest color, the lowest one if several are as near,
+     * -1 if the palette is empty
+     */
+    public int nearestIndex(@ColorInt int color) {
+        if (colors.length == 0) {
+            return -1;
+        }
+        return (int) nearest(0, colors.length, color & RGB_MASK, Long.MAX_VALUE);
+    }
+
+    /**
+     * @param color Packed color, the alpha is ignored
+     * @return Name of the nearest color, null if the palette is empty
+     */
+    public String nearestName(@ColorInt int color) {
+        final int index = nearestIndex(color);
+        return index >= 0 ? palette.getName(index) : null;
+    }
+
+    /**
+     * Squared distance between two colors.
+     *
+     * @param color1 Packed color, the alpha is ignored
+     * @param color2 Packed color, the alpha is ignored
+     * @return Sum of the squared differences of red, green and blue, from 0 to 3 * 255 * 255
+     */
+    public static int distanceSquared(@ColorInt int color1, @ColorInt int color2) {
+        final int red = ((color1 >> RED_SHIFT) & 0xFF) - ((color2 >> RED_SHIFT) & 0xFF);
+        final int green = ((color1 >> GREEN_SHIFT) & 0xFF) - ((color2 >> GREEN_SHIFT) & 0xFF);
+        final int blue = (color1 & 0xFF) - (color2 & 0xFF);
+        return red * red + green * green + blue * blue;
+    }
+
+    /**
+     * @param best Best candidate so far: the squared distance in the upper 32 bits, the palette
+     *             index in the lower ones, so the lowest value is the nearest color and the
+     *             lowest index among equally near ones
+     * @return The best candidate after this range
+     */
+    private long nearest(int from, int to, int color, long best) {
+        if (to - from <= LEAF_SIZE) {
+            for (int i = from; i < to; i++) {
+                best = Math.min(best, candidate(i, color));
+            }
+            return best;
+        }
+
+        final int middle = (from + to) >>> 1;
+        best = Math.min(best, candidate(middle, color));
+        final int shift = shifts[middle];
+        final int delta = ((color >> shift) & 0xFF) - ((colors[middle] >> shift) & 0xFF);
+        // Nearer half first, the other one only if the split plane is within the best distance
+        if (delta <= 0) {
+            best = nearest(from, middle, color, best);
+            if ((long) delta * delta <= best >>> 32) {
+                best = nearest(middle + 1, to, color, best);
+            }
+        } else {
+            best = nearest(middle + 1, to, color, best);
+            if ((long) delta * delta <= best >>> 32) {
+                best = nearest(from, middle, color, best);
+            }
+        }
+        return best;
+    }
+
+    private long candidate(int i, int color) {
+        return (long) distanceSquared(colors[i], color) << 32 | indices[i];
+    }
+
+    private void build(int from, int to) {
+        if (to - from <= LEAF_SIZE) {
+            return;
+        }
+        final int shift = widestChannel(from, to);
+        final int middle = (from + to) >>> 1;
+        select(from, to, middle, shift);
+        shifts[middle] = (byte) shift;
+        build(from, middle);
+        build(middle + 1, to);
+    }
+
+    private int widestChannel(int from, int to) {
+        int minRed = 0xFF, maxRed = 0, minGreen = 0xFF, maxGreen = 0, minBlue = 0xFF, maxBlue = 0;
+        for (int i = from; i < to; i++) {
+            final int red = (colors[i] >> RED_SHIFT) & 0xFF;
+            final int green = (colors[i] >> GREEN_SHIFT) & 0xFF;
+            final int blue = (colors[i] >> BLUE_SHIFT) & 0xFF;
+            minRed = Math.min(minRed, red);
+            maxRed = Math.max(maxRed, red);
+            minGreen = Math.min(minGreen, green);
+            maxGreen = Math.max(maxGreen, green);
+            minBlue = Math.min(minBlue, blue);
+            maxBlue = Math.max(maxBlue, blue);
+        }
+        final int red = maxRed - minRed;
+        final int green = maxGreen - minGreen;
+        final int blue = maxBlue - minBlue;
+        if (red >= green && red >= blue) {
+            return RED_SHIFT;
+        }
+        return green >= blue ? GREEN_SHIFT : BLUE_SHIFT;
+    }
+
+    /**
+     * Moves the k-th smallest color on a channel to index k, the ones before it are not greater
+     * and the ones after it not smaller. Three-way partitions, so runs of equal values (grays,
+     * duplicates) don't make it quadratic.
+     */
+    private void select(int from, int to, int k, int shift) {
+        while (to - from > 1) {
+            final int pivot = (colors[(from + to) >>> 1] >> shift) & 0xFF;
+            int less = from;
+            int i = from;
+            int greater = to;
+            while (i < greater) {
+                final int value = (colors[i] >> shift) & 0xFF;
+                if (value < pivot) {
+                    swap(less++, i++);
+                } else if (value > pivot) {
+                    swap(i, --greater);
+                } else {
+                    i++;
+                }
+            }
+            if (k < less) {
+                to = less;
+            } else if (k >= greater) {
+                from = greater;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void swap(int i, int j) {
+        final int color = colors[i];
+        colors[i] = colors[j];
+        colors[j] = color;
+        final int index = indices[i];
+        indices[i] = indices[j];
+        indices[j] = index;
+    }
+}
@@ -0,0 +1,260 @@
+package io.github.long76.androidxcolorpicker;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+import androidx.annotation.Size;
+
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.BLUE_SHIFT;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.GREEN_SHIFT;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.RED_SHIFT;
+
+/**
+ * Perceptual measures of packed sRGB colors: WCAG relative luminance and contrast ratio, CIELAB
+ * and the CIEDE2000 color difference. Alpha is ignored, colors are taken as opaque.
+ * <p>
+ * Every channel goes through a table of the 256 linear values computed once, instead of a
+ * {@code Math.pow} per channel and call. Nothing is allocated.
+ *
+ * @since v3.2
+ */
+public final class AXColorPickerColorScience {
+
+    /**
+     * Lowest contrast ratio of WCAG level AA for normal text, and level AAA for large text
+     */
+    public static final double WCAG_AA = 4.5;
+
+    /**
+     * Lowest contrast ratio of WCAG level AA for large text (18pt, or 14pt bold)
+     */
+    public static final double WCAG_AA_LARGE = 3;
+
+    /**
+     * Lowest contrast ratio of WCAG level AAA for normal text
+     */
+    public static final double WCAG_AAA = 7;
+
+    /**
+     * Linear value of each 8 bit sRGB channel value
+     */
+    private static final double[] SRGB_TO_LINEAR = new double[256];
+
+    /**
+     * D65 reference white of sRGB
+     */
+    private static final double WHITE_X = 0.95047;
+    private static final double WHITE_Z = 1.08883;
+
+    /**
+     * (6/29)^3, where the CIELAB function turns from a cube root to a line
+     */
+    private static final double LAB_EPSILON = 216.0 / 24389.0;
+    private static final double LAB_KAPPA = 24389.0 / 27.0;
+
+    private static final double POW25_7 = 6103515625.0;
+
+    static {
+        for (int i = 0; i < SRGB_TO_LINEAR.length; i++) {
+            final double value = i / 255.0;
+            SRGB_TO_LINEAR[i] = value <= 0.04045
+                    ? value / 12.92
+                    : Math.pow((value + 0.055) / 1.055, 2.4);
+        }
+    }
+
+    private AXColorPickerColorScience() {
+    }
+
+    /**
+     * Linear value of a sRGB channel.
+     *
+     * @param value Channel value (0 - 255)
+     * @return Linear value (0 - 1)
+     */
+    public static double toLinear(int value) {
+        return SRGB_TO_LINEAR[value & 0xFF];
+    }
+
+    /**
+     * WCAG relative luminance.
+     *
+     * @param color Packed color
+     * @return From 0 for black to 1 for white
+     */
+    public static double relativeLuminance(@ColorInt int color) {
+        return 0.2126 * SRGB_TO_LINEAR[(color >> RED_SHIFT) & 0xFF]
+                + 0.7152 * SRGB_TO_LINEAR[(color >> GREEN_SHIFT) & 0xFF]
+                + 0.0722 * SRGB_TO_LINEAR[(color >> BLUE_SHIFT) & 0xFF];
+    }
+
+    /**
+     * WCAG contrast ratio, the same whichever color is the text.
+     *
+     * @param color1 Packed color
+     * @param color2 Packed color
+     * @return From 1 for the same luminance to 21 for black and white
+     */
+    public static double contrastRatio(@ColorInt int color1, @ColorInt int color2) {
+        final double luminance1 = relativeLuminance(color1);
+        final double luminance2 = relativeLuminance(color2);
+        return luminance1 > luminance2
+                ? (luminance1 + 0.05) / (luminance2 + 0.05)
+                : (luminance2 + 0.05) / (luminance1 + 0.05);
+    }
+
+    /**
+     * CIELAB coordinates of a color, D65 white.
+     *
+     * @param color Packed color
+     * @param lab   Receives L* (0 - 100), a* and b*
+     * @return lab
+     */
+    @NonNull
+    public static double[] colorToLab(@ColorInt int color, @NonNull @Size(min = 3) double[] lab) {
+        final double red = SRGB_TO_LINEAR[(color >> RED_SHIFT) & 0xFF];
+        final double green = SRGB_TO_LINEAR[(color >> GREEN_SHIFT) & 0xFF];
+        final double blue = SRGB_TO_LINEAR[(color >> BLUE_SHIFT) & 0xFF];
+        final double fx = labX(red, green, blue);
+        final double fy = labY(red, green, blue);
+        final double fz = labZ(red, green, blue);
+        lab[0] = 116 * fy - 16;
+        lab[1] = 500 * (fx - fy);
+        lab[2] = 200 * (fy - fz);
+        return lab;
+    }
+
+    /**
+     * CIELAB function of the X, Y and Z coordinates of linear RGB, relative to the white
+     */
+    private static double labX(double red, double green, double blue) {
+        return labF((0.4124564 * red + 0.3575761 * green + 0.1804375 * blue) / WHITE_X);
+    }
+
+    private static double labY(double red, double green, double blue) {
+        return labF(0.2126729 * red + 0.7151522 * green + 0.0721750 * blue);
+    }
+
+    private static double labZ(double red, double green, double blue) {
+        return labF((0.0193339 * red + 0.1191920 * green + 0.9503041 * blue) / WHITE_Z);
+    }
+
+    private static double labF(double t) {
+        return t > LAB_EPSILON ? Math.cbrt(t) : (LAB_KAPPA * t + 16) / 116;
+    }
+
+    /**
+     * CIEDE2000 difference between two colors, converted to CIELAB on the fly.
+     *
+     * @param color1 Packed color
+     * @param color2 Packed color
+     * @return delta E00: 0 for the same color, about 1 for a just noticeable difference
+     */
+    public static double deltaE2000(@ColorInt int color1, @ColorInt int color2) {
+        final double red1 = SRGB_TO_LINEAR[(color1 >> RED_SHIFT) & 0xFF];
+        final double green1 = SRGB_TO_LINEAR[(color1 >> GREEN_SHIFT) & 0xFF];
+        final double blue1 = SRGB_TO_LINEAR[(color1 >> BLUE_SHIFT) & 0xFF];
+        final double fx1 = labX(red1, green1, blue1);
+        final double fy1 = labY(red1, green1, blue1);
+        final double fz1 = labZ(red1, green1, blue1);
+
+        final double red2 = SRGB_TO_LINEAR[(color2 >> RED_SHIFT) & 0xFF];
+        final double green2 = SRGB_TO_LINEAR[(color2 >> GREEN_SHIFT) & 0xFF];
+        final double blue2 = SRGB_TO_LINEAR[(color2 >> BLUE_SHIFT) & 0xFF];
+        final double fx2 = labX(red2, green2, blue2);
+        final double fy2 = labY(red2, green2, blue2);
+        final double fz2 = labZ(red2, green2, blue2);
+
+        return deltaE2000(116 * fy1 - 16, 500 * (fx1 - fy1), 200 * (fy1 - fz1),
+                116 * fy2 - 16, 500 * (fx2 - fy2), 200 * (fy2 - fz2));
+    }
+
+    /**
+     * CIEDE2000 difference between two CIELAB colors, with the parametric factors kL, kC and kH
+     * at 1, after Sharma, Wu and Dalal, "The CIEDE2000 Color-Difference Formula: Implementation
+     * Notes, Supplementary Test Data, and Mathematical Observations" (2005).
+     *
+     * @return delta E00
+     */
+    public static double deltaE2000(double l1, double a1, double b1,
+                                    double l2, double a2, double b2) {
+        final double chroma1 = Math.sqrt(a1 * a1 + b1 * b1);
+        final double chroma2 = Math.sqrt(a2 * a2 + b2 * b2);
+        final double meanChroma = (chroma1 + chroma2) / 2;
+        final double meanChroma7 = pow7(meanChroma);
+        final double g = 0.5 * (1 - Math.sqrt(meanChroma7 / (meanChroma7 + POW25_7)));
+
+        final double a1Prime = (1 + g) * a1;
+        final double a2Prime = (1 + g) * a2;
+        final double c1Prime = Math.sqrt(a1Prime * a1Prime + b1 * b1);
+        final double c2Prime = Math.sqrt(a2Prime * a2Prime + b2 * b2);
+        final double h1Prime = hueAngle(b1, a1Prime);
+        final double h2Prime = hueAngle(b2, a2Prime);
+
+        final double deltaL = l2 - l1;
+        final double deltaC = c2Prime - c1Prime;
+        final double chromaProduct = c1Prime * c2Prime;
+        double deltaHue = 0;
+        if (chromaProduct != 0) {
+            deltaHue = h2Prime - h1Prime;
+            if (deltaHue > 180) {
+                deltaHue -= 360;
+            } else if (deltaHue < -180) {
+                deltaHue += 360;
+            }
+        }
+        final double deltaH =
+                2 * Math.sqrt(chromaProduct) * Math.sin(Math.toRadians(deltaHue / 2));
+
+        final double meanL = (l1 + l2) / 2;
+        final double meanCPrime = (c1Prime + c2Prime) / 2;
+        double meanHue = h1Prime + h2Prime;
+        if (chromaProduct != 0) {
+            if (Math.abs(h1Prime - h2Prime) <= 180) {
+                meanHue /= 2;
+            } else if (meanHue < 360) {
+                meanHue = (meanHue + 360) / 2;
+            } else {
+                meanHue = (meanHue - 360) / 2;
+            }
+        }
+
+        final double t = 1
+                - 0.17 * Math.cos(Math.toRadians(meanHue - 30))
+                + 0.24 * Math.cos(Math.toRadians(2 * meanHue))
+                + 0.32 * Math.cos(Math.toRadians(3 * meanHue + 6))
+                - 0.20 * Math.cos(Math.toRadians(4 * meanHue - 63));
+        final double deltaTheta = 30 * Math.exp(-square((meanHue - 275) / 25));
+        final double meanCPrime7 = pow7(meanCPrime);
+        final double rC = 2 * Math.sqrt(meanCPrime7 / (meanCPrime7 + POW25_7));
+        final double meanL50 = square(meanL - 50);
+        final double sL = 1 + 0.015 * meanL50 / Math.sqrt(20 + meanL50);
+        final double sC = 1 + 0.045 * meanCPrime;
+        final double sH = 1 + 0.015 * meanCPrime * t;
+        final double rT = -Math.sin(Math.toRadians(2 * deltaTheta)) * rC;
+
+        final double termL = deltaL / sL;
+        final double termC = deltaC / sC;
+        final double termH = deltaH / sH;
+        return Math.sqrt(termL * termL + termC * termC + termH * termH + rT * termC * termH);
+    }
+
+    /**
+     * @return Hue angle in degrees (0 - 360), 0 for a gray
+     */
+    private static double hueAngle(double b, double aPrime) {
+        if (b == 0 && aPrime == 0) {
+            return 0;
+        }
+        final double hue = Math.toDegrees(Math.atan2(b, aPrime));
+        return hue < 0 ? hue + 360 : hue;
+    }
+
+    private static double square(double value) {
+        return value * value;
+    }
+
+    private static double pow7(double value) {
+        final double cube = value * value * value;
+        return cube * cube * value;
+    }
+}
@@ -0,0 +1,226 @@
+package io.github.long76.androidxcolorpicker;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.IntRange;
+
+/**
+ * Conversions between packed ARGB colors and HSV/HSL, on primitives only: no float arrays as
+ * with Color.RGBToHSV, nothing allocated, so they can run on every seek bar change.
+ * <p>
+ * HSV and HSL values are packed in an int as well: hue (0 - 359 degrees) in bits 16-24,
+ * saturation (0 - 100 %) in bits 8-15 and value or lightness (0 - 100 %) in bits 0-7.
+ *
+ * @since v3.2
+ */
+public final class AXColorPickerColorSpace {
+
+    public static final int MAX_HUE = 359;
+    public static final int MAX_PERCENT = 100;
+
+    /**
+     * Percent to fraction
+     */
+    private static final float[] PERCENT = new float[MAX_PERCENT + 1];
+
+    /**
+     * Hue to the factor of the second largest RGB component, 1 - |(h / 60) mod 2 - 1|
+     */
+    private static final float[] HUE_FACTOR = new float[MAX_HUE + 1];
+
+    private AXColorPickerColorSpace() {
+    }
+
+    static {
+        for (int percent = 0; percent <= MAX_PERCENT; percent++) {
+            PERCENT[percent] = percent / 100f;
+        }
+        for (int hue = 0; hue <= MAX_HUE; hue++) {
+            HUE_FACTOR[hue] = 1f - Math.abs((hue / 60f) % 2f - 1f);
+        }
+    }
+
+    /**
+     * Packs HSV or HSL components, clamping them to their range.
+     *
+     * @param hue        Hue (0 - 359), wrapped around
+     * @param saturation Saturation (0 - 100)
+     * @param brightness Value or lightness (0 - 100)
+     * @return Packed components
+     */
+    public static int pack(int hue, int saturation, int brightness) {
+        return wrapHue(hue) << 16 | clampPercent(saturation) << 8 | clampPercent(brightness);
+    }
+
+    /**
+     * @param packed Packed HSV or HSL
+     * @return Hue (0 - 359)
+     */
+    public static int hue(int packed) {
+        return packed >>> 16;
+    }
+
+    /**
+     * @param packed Packed HSV or HSL
+     * @return Saturation (0 - 100)
+     */
+    public static int saturation(int packed) {
+        return (packed >> 8) & 0xFF;
+    }
+
+    /**
+     * @param packed Packed HSV or HSL
+     * @return Value (HSV) or lightness (HSL), 0 - 100
+     */
+    public static int brightness(int packed) {
+        return packed & 0xFF;
+    }
+
+    /**
+     * Converts HSV to a packed color.
+     *
+     * @param alpha      Alpha of the result (0 - 255)
+     * @param hue        Hue (0 - 359), wrapped around
+     * @param saturation Saturation (0 - 100)
+     * @param value      Value (0 - 100)
+     * @return Packed ARGB color
+     */
+    @ColorInt
+    public static int hsvToColor(@IntRange(from = 0, to = 255) int alpha, int hue,
+                                 int saturation, int value) {
+        final float v = PERCENT[clampPercent(value)];
+        final float chroma = v * PERCENT[clampPercent(saturation)];
+        return chromaToColor(alpha, wrapHue(hue), chroma, v - chroma);
+    }
+
+    /**
+     * Converts HSL to a packed color.
+     *
+     * @param alpha      Alpha of the result (0 - 255)
+     * @param hue        Hue (0 - 359), wrapped around
+     * @param saturation Saturation (0 - 100)
+     * @param lightness  Lightness (0 - 100)
+     * @return Packed ARGB color
+     */
+    @ColorInt
+    public static int hslToColor(@IntRange(from = 0, to = 255) int alpha, int hue,
+                                 int saturation, int lightness) {
+        final float l = PERCENT[clampPercent(lightness)];
+        final float chroma = (1f - Math.abs(2f * l - 1f)) * PERCENT[clampPercent(saturation)];
+        return chromaToColor(alpha, wrapHue(hue), chroma, l - chroma / 2f);
+    }
+
+    /**
+     * Converts a color to HSV. Alpha is ignored.
+     *
+     * @param color Packed ARGB color
+     * @return Packed HSV
+     */
+    public static int colorToHsv(@ColorInt int color) {
+        final int r = (color >> 16) & 0xFF;
+        final int g = (color >> 8) & 0xFF;
+        final int b = color & 0xFF;
+        final int max = Math.max(r, Math.max(g, b));
+        final int min = Math.min(r, Math.min(g, b));
+        final int delta = max - min;
+
+        final int saturation = max == 0 ? 0 : Math.round(delta * 100f / max);
+        final int value = Math.round(max * 100f / 255f);
+        return hueOf(r, g, b, max, delta) << 16 | saturation << 8 | value;
+    }
+
+    /**
+     * Converts a color to HSL. Alpha is ignored.
+     *
+     * @param color Packed ARGB color
+     * @return Packed HSL
+     */
+    public static int colorToHsl(@ColorInt int color) {
+        final int r = (color >> 16) & 0xFF;
+        final int g = (color >> 8) & 0xFF;
+        final int b = color & 0xFF;
+        final int max = Math.max(r, Math.max(g, b));
+        final int min = Math.min(r, Math.min(g, b));
+        final int delta = max - min;
+        final int sum = max + min;
+
+        // s = delta / (1 - |2l - 1|), with l = sum / 510
+        final int divisor = sum <= 255 ? sum : 510 - sum;
+        final int saturation = divisor == 0 ? 0 : Math.round(delta * 100f / divisor);
+        final int lightness = Math.round(sum * 100f / 510f);
+        return hueOf(r, g, b, max, delta) << 16 | saturation << 8 | lightness;
+    }
+
+    private static int hueOf(int r, int g, int b, int max, int delta) {
+        if (delta == 0) {
+            return 0;
+        }
+        final float hue;
+        if (max == r) {
+            hue = 60f * (g - b) / delta;
+        } else if (max == g) {
+            hue = 60f * (b - r) / delta + 120f;
+        } else {
+            hue = 60f * (r - g) / delta + 240f;
+        }
+        return wrapHue(Math.round(hue));
+    }
+
+    /**
+     * Common end of the HSV and HSL conversions, from chroma and the amount added to every
+     * component.
+     */
+    private static int chromaToColor(int alpha, int hue, float chroma, float offset) {
+        final float x = chroma * HUE_FACTOR[hue];
+        final float r, g, b;
+        switch (hue / 60) {
+            case 0:
+                r = chroma;
+                g = x;
+                b = 0;
+                break;
+            case 1:
+                r = x;
+                g = chroma;
+                b = 0;
+                break;
+            case 2:
+                r = 0;
+                g = chroma;
+                b = x;
+                break;
+            case 3:
+                r = 0;
+                g = x;
+                b = chroma;
+                break;
+            case 4:
+                r = x;
+                g = 0;
+                b = chroma;
+                break;
+            default:
+                r = chroma;
+                g = 0;
+                b = x;
+                break;
+        }
+        return (alpha & 0xFF) << 24
+                | toByte(r + offset) << 16
+                | toByte(g + offset) << 8
+                | toByte(b + offset);
+    }
+
+    private static int toByte(float fraction) {
+        final int value = (int) (fraction * 255f + 0.5f);
+        return value < 0 ? 0 : (value > 255 ? 255 : value);
+    }
+
+    private static int wrapHue(int hue) {
+        final int wrapped = hue % (MAX_HUE + 1);
+        return wrapped < 0 ? wrapped + MAX_HUE + 1 : wrapped;
+    }
+
+    private static int clampPercent(int percent) {
+        return percent < 0 ? 0 : (percent > MAX_PERCENT ? MAX_PERCENT : percent);
+    }
+}
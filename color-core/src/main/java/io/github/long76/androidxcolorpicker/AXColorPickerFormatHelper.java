@@ -0,0 +1,320 @@
+package io.github.long76.androidxcolorpicker;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.IntRange;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * HEX formatting and parsing of packed ARGB colors. The per-frame paths (writing into a buffer,
+ * parsing a CharSequence range, the seek bar labels) allocate nothing.
+ *
+ * @since v3.2
+ */
+public final class AXColorPickerFormatHelper {
+
+    /**
+     * Length of a HEX string without alpha (RRGGBB)
+     */
+    public static final int RGB_LENGTH = 6;
+
+    /**
+     * Length of a HEX string with alpha (AARRGGBB)
+     */
+    public static final int ARGB_LENGTH = 8;
+
+    /**
+     * Returned by the parse methods when the input isn't a valid HEX color
+     */
+    public static final long INVALID_COLOR = -1L;
+
+    /**
+     * Upper case HEX digits of every byte value, two chars per value: the digits of {@code v}
+     * are stored at {@code 2 * v} and {@code 2 * v + 1}.
+     */
+    private static final char[] HEX_PAIRS = new char[512];
+
+    /**
+     * Decimal labels of the seek bar values, so drawing them allocates nothing. Covers the hue
+     * degrees of the HSV and HSL modes too.
+     */
+    private static final String[] PROGRESS_LABELS = new String[361];
+
+    /**
+     * Value of every ASCII HEX digit (both cases), -1 for any other char.
+     */
+    private static final byte[] HEX_VALUES = new byte[128];
+
+    private AXColorPickerFormatHelper() {
+    }
+
+    static {
+        final char[] digits = "0123456789ABCDEF".toCharArray();
+        for (int value = 0; value < 256; value++) {
+            HEX_PAIRS[value << 1] = digits[value >>> 4];
+            HEX_PAIRS[(value << 1) + 1] = digits[value & 0xF];
+        }
+
+        for (int value = 0; value < PROGRESS_LABELS.length; value++) {
+            PROGRESS_LABELS[value] = Integer.toString(value);
+        }
+
+        Arrays.fill(HEX_VALUES, (byte) -1);
+        for (int value = 0; value < 16; value++) {
+            HEX_VALUES[digits[value]] = (byte) value;
+            HEX_VALUES[Character.toLowerCase(digits[value])] = (byte) value;
+        }
+    }
+
+    /**
+     * Checks whether the specified value is between (including bounds) 0 and 255
+     *
+     * @param colorValue Color value
+     * @return Specified input value if between 0 and 255, otherwise 0
+     */
+    public static int assertColorValueInRange(@IntRange(from = 0, to = 255) int colorValue) {
+        return ((0 <= colorValue) && (colorValue <= 255)) ? colorValue : 0;
+    }
+
+    /**
+     * Decimal label of a seek bar value. Labels of channel values and hues (0 - 360) are
+     * precomputed and returned without allocating.
+     *
+     * @param value Seek bar progress
+     * @return The value as a decimal string
+     */
+    public static String progressLabel(int value) {
+        return value >= 0 && value < PROGRESS_LABELS.length
+                ? PROGRESS_LABELS[value]
+                : Integer.toString(value);
+    }
+
+    /**
+     * Formats individual RGB values to be output as a HEX string.
+     * <p>
+     * Beware: If color value is lower than 0 or higher than 255, it's reset to 0.
+     *
+     * @param red   Red color value
+     * @param green Green color value
+     * @param blue  Blue color value
+     * @return HEX String containing the three values
+     */
+    public static String formatColorValues(
+            @IntRange(from = 0, to = 255) int red,
+            @IntRange(from = 0, to = 255) int green,
+            @IntRange(from = 0, to = 255) int blue) {
+
+        final char[] buffer = new char[RGB_LENGTH];
+        writeColor(buffer, 0, pack(0, red, green, blue), false);
+        return new String(buffer);
+    }
+
+    /**
+     * Formats individual ARGB values to be output as an 8 character HEX string.
+     * <p>
+     * Beware: If any value is lower than 0 or higher than 255, it's reset to 0.
+     *
+     * @param alpha Alpha value
+     * @param red   Red color value
+     * @param green Green color value
+     * @param blue  Blue color value
+     * @return HEX String containing the three values
+     * @since v1.1.0
+     */
+    public static String formatColorValues(
+            @IntRange(from = 0, to = 255) int alpha,
+            @IntRange(from = 0, to = 255) int red,
+            @IntRange(from = 0, to = 255) int green,
+            @IntRange(from = 0, to = 255) int blue) {
+
+        final char[] buffer = new char[ARGB_LENGTH];
+        writeColor(buffer, 0, pack(alpha, red, green, blue), true);
+        return new String(buffer);
+    }
+
+    /**
+     * Writes a packed color as upper case HEX digits into the given buffer. Nothing is allocated,
+     * so this is the path to use from callbacks that fire on every frame.
+     *
+     * @param buffer    Destination buffer, must have room for 6 (or 8 with alpha) chars
+     * @param offset    Index of the first char to write
+     * @param color     Packed ARGB color
+     * @param withAlpha Write AARRGGBB if true, RRGGBB otherwise
+     * @return Number of chars written
+     */
+    public static int writeColor(char[] buffer, int offset, @ColorInt int color,
+                                 boolean withAlpha) {
+        int index = offset;
+        if (withAlpha) {
+            index = writeByte(buffer, index, color >>> 24);
+        }
+        index = writeByte(buffer, index, (color >> 16) & 0xFF);
+        index = writeByte(buffer, index, (color >> 8) & 0xFF);
+        index = writeByte(buffer, index, color & 0xFF);
+        return index - offset;
+    }
+
+    /**
+     * Appends a packed color as upper case HEX digits to the given builder.
+     *
+     * @param builder   Destination builder
+     * @param color     Packed ARGB color
+     * @param withAlpha Append AARRGGBB if true, RRGGBB otherwise
+     * @return The builder passed in
+     */
+    public static StringBuilder appendColor(StringBuilder builder, @ColorInt int color,
+                                            boolean withAlpha) {
+        if (withAlpha) {
+            appendByte(builder, color >>> 24);
+        }
+        appendByte(builder, (color >> 16) & 0xFF);
+        appendByte(builder, (color >> 8) & 0xFF);
+        appendByte(builder, color & 0xFF);
+        return builder;
+    }
+
+    /**
+     * Appends a packed color as upper case HEX digits to the given appendable.
+     *
+     * @param appendable Destination
+     * @param color      Packed ARGB color
+     * @param withAlpha  Append AARRGGBB if true, RRGGBB otherwise
+     * @return The appendable passed in
+     * @throws IOException If the appendable does
+     */
+    public static Appendable appendColor(Appendable appendable, @ColorInt int color,
+                                         boolean withAlpha) throws IOException {
+        if (withAlpha) {
+            appendByte(appendable, color >>> 24);
+        }
+        appendByte(appendable, (color >> 16) & 0xFF);
+        appendByte(appendable, (color >> 8) & 0xFF);
+        appendByte(appendable, color & 0xFF);
+        return appendable;
+    }
+
+    /**
+     * Compares a text with the start of a char buffer, without allocating.
+     *
+     * @param text   Text to compare, e.g. the contents of an EditText
+     * @param buffer Buffer to compare with
+     * @param length Number of chars of the buffer to compare
+     * @return True if the text is exactly the first {@code length} chars of the buffer
+     */
+    public static boolean contentEquals(CharSequence text, char[] buffer, int length) {
+        if (text.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (text.charAt(i) != buffer[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int pack(int alpha, int red, int green, int blue) {
+        return assertColorValueInRange(alpha) << 24
+                | assertColorValueInRange(red) << 16
+                | assertColorValueInRange(green) << 8
+                | assertColorValueInRange(blue);
+    }
+
+    private static int writeByte(char[] buffer, int index, int value) {
+        buffer[index] = HEX_PAIRS[value << 1];
+        buffer[index + 1] = HEX_PAIRS[(value << 1) + 1];
+        return index + 2;
+    }
+
+    private static void appendByte(StringBuilder builder, int value) {
+        builder.append(HEX_PAIRS[value << 1]).append(HEX_PAIRS[(value << 1) + 1]);
+    }
+
+    private static void appendByte(Appendable appendable, int value) throws IOException {
+        appendable.append(HEX_PAIRS[value << 1]).append(HEX_PAIRS[(value << 1) + 1]);
+    }
+
+    /**
+     * Parses a HEX color (RGB, ARGB, RRGGBB or AARRGGBB, without the leading '#').
+     *
+     * @param input HEX code
+     * @return The packed color in the lower 32 bits, or {@link #INVALID_COLOR}
+     */
+    public static long parseColor(CharSequence input) {
+        return parseColor(input, 0, input.length());
+    }
+
+    /**
+     * Parses a HEX color (RGB, ARGB, RRGGBB or AARRGGBB, without the leading '#') from a range
+     * of the input. Invalid input is reported through the return value, nothing is allocated
+     * and nothing is thrown.
+     * <p>
+     * Colors without alpha are returned opaque, short forms are expanded the CSS way
+     * ("F0C" is "FF00CC").
+     *
+     * @param input HEX code
+     * @param start Index of the first char to parse
+     * @param end   Index after the last char to parse
+     * @return The packed color in the lower 32 bits, or {@link #INVALID_COLOR}
+     */
+    public static long parseColor(CharSequence input, int start, int end) {
+        final int digits = end - start;
+        if (digits > ARGB_LENGTH) {
+            return INVALID_COLOR;
+        }
+
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            final int digit = hexValue(input.charAt(i));
+            if (digit < 0) {
+                return INVALID_COLOR;
+            }
+            value = (value << 4) | digit;
+        }
+        return expandColor(value, digits);
+    }
+
+    /**
+     * Value of a single HEX digit.
+     *
+     * @param c Char to convert
+     * @return Digit value (0 - 15), or -1 if the char isn't a HEX digit
+     */
+    public static int hexValue(char c) {
+        return c < 128 ? HEX_VALUES[c] : -1;
+    }
+
+    /**
+     * Turns the digits read from a HEX code into a packed color.
+     *
+     * @param value  The digits, one per nibble, last digit in the lowest nibble
+     * @param digits Number of digits read
+     * @return The packed color in the lower 32 bits, or {@link #INVALID_COLOR} if the number of
+     * digits isn't 3, 4, 6 or 8
+     */
+    public static long expandColor(int value, int digits) {
+        switch (digits) {
+            case 3:
+                return 0xFF000000L | expandShort(value);
+            case 4:
+                return ((long) expandShort(value >>> 12) << 24 | expandShort(value)) & 0xFFFFFFFFL;
+            case RGB_LENGTH:
+                return 0xFF000000L | value;
+            case ARGB_LENGTH:
+                return value & 0xFFFFFFFFL;
+            default:
+                return INVALID_COLOR;
+        }
+    }
+
+    /**
+     * Expands the lowest three nibbles (RGB) to RRGGBB.
+     */
+    private static int expandShort(int value) {
+        final int r = (value >> 8) & 0xF;
+        final int g = (value >> 4) & 0xF;
+        final int b = value & 0xF;
+        return (r << 20 | r << 16 | g << 12 | g << 8 | b << 4 | b) & 0xFFFFFF;
+    }
+}
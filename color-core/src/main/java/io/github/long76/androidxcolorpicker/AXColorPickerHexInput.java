@@ -0,0 +1,117 @@
+package io.github.long76.androidxcolorpicker;
+
+import static io.github.long76.androidxcolorpicker.AXColorPickerFormatHelper.ARGB_LENGTH;
+import static io.github.long76.androidxcolorpicker.AXColorPickerFormatHelper.INVALID_COLOR;
+import static io.github.long76.androidxcolorpicker.AXColorPickerFormatHelper.expandColor;
+import static io.github.long76.androidxcolorpicker.AXColorPickerFormatHelper.hexValue;
+
+/**
+ * Incremental HEX color parser for text that is edited in place, such as the Editable of the
+ * HEX code field. The digits read so far are kept packed in an int, so an edit only re-reads the
+ * chars from the edited position onwards: typing at the end costs one char per keystroke.
+ * <p>
+ * Accepts the same formats as {@link AXColorPickerFormatHelper#parseColor(CharSequence)}.
+ *
+ * @since v3.2
+ */
+public final class AXColorPickerHexInput {
+
+    /**
+     * Digits of the valid prefix, one per nibble
+     */
+    private int value;
+
+    /**
+     * Length of the valid prefix
+     */
+    private int digits;
+
+    /**
+     * Length of the whole text
+     */
+    private int length;
+
+    /**
+     * Forgets the text read so far.
+     */
+    public void reset() {
+        value = 0;
+        digits = 0;
+        length = 0;
+    }
+
+    /**
+     * Reads the whole text again.
+     *
+     * @param text Current text
+     */
+    public void set(CharSequence text) {
+        reset();
+        update(text, 0);
+    }
+
+    /**
+     * Reads an edit of the text. Takes the same arguments as
+     * {@code TextWatcher.onTextChanged}, so it can be called straight from there.
+     *
+     * @param text   Text after the edit
+     * @param start  Index where the edit starts
+     * @param before Number of chars that were replaced
+     * @param count  Number of chars that replaced them
+     */
+    public void onTextChanged(CharSequence text, int start, int before, int count) {
+        update(text, start);
+    }
+
+    /**
+     * @return The packed color in the lower 32 bits, or
+     * {@link AXColorPickerFormatHelper#INVALID_COLOR}
+     */
+    public long getColor() {
+        return digits == length ? expandColor(value, digits) : INVALID_COLOR;
+    }
+
+    /**
+     * @return True if the whole text is a valid HEX color
+     */
+    public boolean isValid() {
+        return getColor() != INVALID_COLOR;
+    }
+
+    /**
+     * @return Number of leading chars of the text that are HEX digits (at most 8)
+     */
+    public int getDigits() {
+        return digits;
+    }
+
+    /**
+     * @return Length of the text
+     */
+    public int getLength() {
+        return length;
+    }
+
+    private void update(CharSequence text, int start) {
+        length = text.length();
+
+        if (digits < start) {
+            // Reading stopped before the edit, at an invalid char or after 8 digits
+            return;
+        }
+
+        // Drop the digits from the edited position onwards
+        value = start == 0 ? 0 : value >>> ((digits - start) << 2);
+        digits = start;
+
+        final int end = Math.min(length, ARGB_LENGTH);
+        while (digits < end) {
+            final int digit = hexValue(text.charAt(digits));
+            if (digit < 0) {
+                break;
+            }
+            value = (value << 4) | digit;
+            digits++;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package io.github.long76.androidxcolorpicker;
+
+import static io.github.long76.androidxcolorpicker.AXColorPickerFormatHelper.ARGB_LENGTH;
+import static io.github.long76.androidxcolorpicker.AXColorPickerFormatHelper.INVALID_COLOR;
+import static io.github.long76.androidxcolorpicker.AXColorPickerFormatHelper.RGB_LENGTH;
+
+/**
+ * State of a HEX code field while it is typed in, checked on every keystroke from the edited
+ * char onwards through {@link AXColorPickerHexInput}: no regex, no exception, nothing allocated.
+ * <ul>
+ * <li>{@link #STATE_EMPTY}: nothing typed</li>
+ * <li>{@link #STATE_PARTIAL}: only HEX digits, fewer than the full length. The short forms
+ * (RGB, ARGB) are partial too, they're only applied when the user confirms them.</li>
+ * <li>{@link #STATE_COMPLETE}: exactly the full length of HEX digits, {@link #getColor()} is
+ * the color</li>
+ * <li>{@link #STATE_INVALID}: a char that isn't a HEX digit, or too many digits</li>
+ * </ul>
+ *
+ * @since v3.2
+ */
+public final class AXColorPickerHexValidator {
+
+    public static final int STATE_EMPTY = 0;
+    public static final int STATE_PARTIAL = 1;
+    public static final int STATE_COMPLETE = 2;
+    public static final int STATE_INVALID = 3;
+
+    private final AXColorPickerHexInput input = new AXColorPickerHexInput();
+
+    private int fullLength = RGB_LENGTH;
+    private int state = STATE_EMPTY;
+
+    /**
+     * Set whether complete codes have alpha (AARRGGBB) or not (RRGGBB). The state is updated
+     * for the text read so far.
+     *
+     * @param withAlpha 8 digits if true, 6 otherwise
+     * @return The new state
+     */
+    public int setAlpha(boolean withAlpha) {
+        fullLength = withAlpha ? ARGB_LENGTH : RGB_LENGTH;
+        return updateState();
+    }
+
+    /**
+     * Reads the whole text again.
+     *
+     * @param text Current text
+     * @return The new state
+     */
+    public int set(CharSequence text) {
+        input.set(text);
+        return updateState();
+    }
+
+    /**
+     * Reads an edit of the text, with the arguments of {@code TextWatcher.onTextChanged}.
+     *
+     * @param text   Text after the edit
+     * @param start  Index where the edit starts
+     * @param before Number of chars that were replaced
+     * @param count  Number of chars that replaced them
+     * @return The new state
+     */
+    public int onTextChanged(CharSequence text, int start, int before, int count) {
+        input.onTextChanged(text, start, before, count);
+        return updateState();
+    }
+
+    /**
+     * @return One of the STATE_* constants
+     */
+    public int getState() {
+        return state;
+    }
+
+    /**
+     * @return The packed color in the lower 32 bits if the state is {@link #STATE_COMPLETE},
+     * {@link AXColorPickerFormatHelper#INVALID_COLOR} otherwise
+     */
+    public long getColor() {
+        return state == STATE_COMPLETE ? input.getColor() : INVALID_COLOR;
+    }
+
+    private int updateState() {
+        final int length = input.getLength();
+        if (length == 0) {
+            state = STATE_EMPTY;
+        } else if (input.getDigits() < length || length > fullLength) {
+            state = STATE_INVALID;
+        } else if (length < fullLength) {
+            state = STATE_PARTIAL;
+        } else {
+            state = STATE_COMPLETE;
+        }
+        return state;
+    }
+}
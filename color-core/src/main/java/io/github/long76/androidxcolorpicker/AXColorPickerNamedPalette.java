@@ -0,0 +1,32 @@
+package io.github.long76.androidxcolorpicker;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+
+/**
+ * Colors with a name, e.g. the CSS colors or the colors of a brand, that
+ * {@link AXColorPickerColorIndex} finds the nearest one of.
+ *
+ * @since v3.2
+ */
+public interface AXColorPickerNamedPalette {
+
+    /**
+     * @return Number of colors
+     */
+    int size();
+
+    /**
+     * @param index From 0 to {@link #size()} - 1
+     * @return Packed color, the alpha is ignored
+     */
+    @ColorInt
+    int getColor(int index);
+
+    /**
+     * @param index From 0 to {@link #size()} - 1
+     * @return Name of the color
+     */
+    @NonNull
+    String getName(int index);
+}
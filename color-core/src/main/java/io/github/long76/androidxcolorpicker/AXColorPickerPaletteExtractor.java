@@ -0,0 +1,430 @@
+package io.github.long76.androidxcolorpicker;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.BLUE_SHIFT;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.GREEN_SHIFT;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.RED_SHIFT;
+
+/**
+ * Extracts the main colors of an image, e.g. to offer them as the palette of the picker.
+ * <p>
+ * The pixels are sampled on a regular grid, a few tens of thousands of them whatever the size
+ * of the image, and counted in a histogram of 5 bits per channel: a plain int array of 32768
+ * bins, filled in parallel on the common ForkJoinPool, the default sample included: tasks of
+ * about {@link #MIN_PARALLEL_SAMPLES} samples or more, each with its own histogram summed at the
+ * end. Median cut then splits the colors of the histogram into boxes, the average color of each
+ * box being one color of the palette.
+ *
+ * @since v3.2
+ */
+public final class AXColorPickerPaletteExtractor {
+
+    /**
+     * Number of bins of a histogram: 5 bits of red, green and blue
+     */
+    public static final int HISTOGRAM_SIZE = 1 << 15;
+
+    /**
+     * Pixels sampled by default, enough to find the main colors of any image
+     */
+    public static final int DEFAULT_MAX_SAMPLES = 1 << 16;
+
+    /**
+     * Largest number of colors extracted
+     */
+    public static final int MAX_COLORS = 256;
+
+    /**
+     * Smallest number of samples a parallel task counts: each task sums its own histogram of
+     * {@link #HISTOGRAM_SIZE} bins into the result, which costs about as much as counting this
+     * many samples
+     */
+    public static final int MIN_PARALLEL_SAMPLES = 1 << 14;
+
+    /**
+     * Pixels less opaque than this are not counted
+     */
+    private static final int MIN_ALPHA = 0x80;
+
+    private static final int BIN_BITS = 5;
+    private static final int BIN_MASK = (1 << BIN_BITS) - 1;
+    private static final int RED_BIN_SHIFT = 2 * BIN_BITS;
+    private static final int GREEN_BIN_SHIFT = BIN_BITS;
+    private static final int BLUE_BIN_SHIFT = 0;
+
+    private AXColorPickerPaletteExtractor() {
+    }
+
+    /**
+     * Extracts up to maxColors colors, sampling up to {@link #DEFAULT_MAX_SAMPLES} pixels.
+     *
+     * @see #extract(int[], int, int, int, int)
+     */
+    @NonNull
+    public static int[] extract(int[] pixels, int width, int height,
+                                @IntRange(from = 1, to = MAX_COLORS) int maxColors) {
+        return extract(pixels, width, height, maxColors, DEFAULT_MAX_SAMPLES);
+    }
+
+    /**
+     * Extracts the main colors of an image.
+     *
+     * @param pixels     Packed ARGB pixels, row after row
+     * @param width      Width of the image
+     * @param height     Height of the image
+     * @param maxColors  Largest number of colors returned (1 - 256)
+     * @param maxSamples Largest number of pixels counted, the image is sampled every few pixels
+     *                   in both directions above it
+     * @return Opaque colors, the most frequent first; fewer than maxColors if the image has
+     * fewer distinct colors, none if every pixel is transparent
+     */
+    @NonNull
+    public static int[] extract(int[] pixels, int width, int height,
+                                @IntRange(from = 1, to = MAX_COLORS) int maxColors,
+                                int maxSamples) {
+        final int[] histogram = new int[HISTOGRAM_SIZE];
+        histogramParallel(pixels, width, height, sampleStep(width, height, maxSamples), histogram);
+        return medianCut(histogram, maxColors);
+    }
+
+    /**
+     * @param maxSamples Largest number of pixels to sample
+     * @return Distance between the pixels sampled, the same in both directions
+     */
+    public static int sampleStep(int width, int height, int maxSamples) {
+        int step = 1;
+        if ((long) width * height > maxSamples) {
+            step = (int) Math.ceil(Math.sqrt((double) width * height / Math.max(maxSamples, 1)));
+            // Rounding may leave a few too many samples
+            while (samples(width, step) * samples(height, step) > maxSamples) {
+                step++;
+            }
+        }
+        return step;
+    }
+
+    /**
+     * Counts the pixels of an image in a histogram of 5 bits per channel. Transparent pixels are
+     * not counted.
+     *
+     * @param pixels    Packed ARGB pixels, row after row
+     * @param width     Width of the image
+     * @param height    Height of the image
+     * @param step      Counts every step-th pixel of every step-th row
+     * @param histogram Counts added to, {@link #HISTOGRAM_SIZE} bins
+     * @return Number of pixels counted
+     */
+    public static int histogram(int[] pixels, int width, int height, int step, int[] histogram) {
+        checkImage(pixels, width, height, step);
+        return histogramRows(pixels, width, step, 0, samples(height, step), histogram);
+    }
+
+    /**
+     * {@link #histogram(int[], int, int, int, int[])} split across the common ForkJoinPool.
+     */
+    public static int histogramParallel(int[] pixels, int width, int height, int step,
+                                        int[] histogram) {
+        checkImage(pixels, width, height, step);
+        final ForkJoinPool pool = ForkJoinPool.commonPool();
+        final int columns = samples(width, step);
+        final int rows = samples(height, step);
+        // A few tasks per worker, each at least MIN_PARALLEL_SAMPLES pixels
+        final long perTask = Math.max(MIN_PARALLEL_SAMPLES,
+                (long) columns * rows / (pool.getParallelism() * 4L));
+        final int rowsPerTask = (int) Math.max(1, perTask / Math.max(columns, 1));
+        if (rows <= rowsPerTask) {
+            return histogramRows(pixels, width, step, 0, rows, histogram);
+        }
+        final int[] counts = pool.invoke(
+                new HistogramTask(pixels, width, step, 0, rows, rowsPerTask));
+        int counted = 0;
+        for (int i = 0; i < HISTOGRAM_SIZE; i++) {
+            histogram[i] += counts[i];
+            counted += counts[i];
+        }
+        return counted;
+    }
+
+    private static int histogramRows(int[] pixels, int width, int step, int fromRow, int toRow,
+                                     int[] histogram) {
+        int counted = 0;
+        for (int row = fromRow; row < toRow; row++) {
+            for (int i = row * step * width, end = i + width; i < end; i += step) {
+                final int pixel = pixels[i];
+                if (pixel >>> 24 >= MIN_ALPHA) {
+                    histogram[bin(pixel)]++;
+                    counted++;
+                }
+            }
+        }
+        return counted;
+    }
+
+    /**
+     * @param color Packed color
+     * @return Bin of the color in a histogram
+     */
+    public static int bin(@ColorInt int color) {
+        return (color >> (RED_SHIFT + 3) & BIN_MASK) << RED_BIN_SHIFT
+                | (color >> (GREEN_SHIFT + 3) & BIN_MASK) << GREEN_BIN_SHIFT
+                | (color >> (BLUE_SHIFT + 3) & BIN_MASK);
+    }
+
+    /**
+     * Splits the colors of a histogram into boxes of similar colors, each time cutting the box
+     * with the most pixels times volume across its widest channel, at the median pixel.
+     *
+     * @param histogram Pixel count of each bin, {@link #HISTOGRAM_SIZE} of them
+     * @param maxColors Largest number of colors returned (1 - 256)
+     * @return Average color of each box, opaque, the box with the most pixels first
+     */
+    @NonNull
+    public static int[] medianCut(int[] histogram,
+                                  @IntRange(from = 1, to = MAX_COLORS) int maxColors) {
+        if (histogram.length != HISTOGRAM_SIZE) {
+            throw new IllegalArgumentException("Histogram of " + histogram.length + " bins");
+        }
+        if (maxColors < 1 || maxColors > MAX_COLORS) {
+            throw new IllegalArgumentException("maxColors " + maxColors + " not in 1 - 256");
+        }
+        int binCount = 0;
+        for (int count : histogram) {
+            if (count > 0) {
+                binCount++;
+            }
+        }
+        final int[] bins = new int[binCount];
+        final int[] counts = new int[binCount];
+        for (int bin = 0, i = 0; bin < HISTOGRAM_SIZE; bin++) {
+            if (histogram[bin] > 0) {
+                bins[i] = bin;
+                counts[i++] = histogram[bin];
+            }
+        }
+        if (binCount == 0) {
+            return new int[0];
+        }
+
+        // Boxes are ranges of the bins, the bins of a box are moved together when it is split
+        final int[] boxStart = new int[maxColors];
+        final int[] boxEnd = new int[maxColors];
+        boxEnd[0] = binCount;
+        int boxes = 1;
+        final int[] tempBins = new int[binCount];
+        final int[] tempCounts = new int[binCount];
+        while (boxes < maxColors) {
+            int box = -1;
+            long bestPriority = 0;
+            for (int i = 0; i < boxes; i++) {
+                if (boxEnd[i] - boxStart[i] > 1) {
+                    final long priority = population(counts, boxStart[i], boxEnd[i])
+                            * volume(bins, boxStart[i], boxEnd[i]);
+                    if (priority > bestPriority) {
+                        bestPriority = priority;
+                        box = i;
+                    }
+                }
+            }
+            if (box < 0) {
+                break;
+            }
+            final int split = split(bins, counts, boxStart[box], boxEnd[box], tempBins, tempCounts);
+            boxStart[boxes] = split;
+            boxEnd[boxes] = boxEnd[box];
+            boxEnd[box] = split;
+            boxes++;
+        }
+
+        final long[] sorted = new long[boxes];
+        for (int i = 0; i < boxes; i++) {
+            // Most pixels first, then the lowest box: population above, box index below
+            sorted[i] = -population(counts, boxStart[i], boxEnd[i]) << 16 | i;
+        }
+        Arrays.sort(sorted);
+        final int[] colors = new int[boxes];
+        for (int i = 0; i < boxes; i++) {
+            final int box = (int) (sorted[i] & 0xFFFF);
+            colors[i] = average(bins, counts, boxStart[box], boxEnd[box]);
+        }
+        return colors;
+    }
+
+    /**
+     * Sorts the bins of a box on its widest channel and cuts it where half of its pixels are
+     * on each side, with at least one bin on each side.
+     *
+     * @return Index of the first bin of the second box
+     */
+    private static int split(int[] bins, int[] counts, int start, int end,
+                             int[] tempBins, int[] tempCounts) {
+        final int shift = widestChannel(bins, start, end);
+
+        // Counting sort on the channel, pixels per channel value on the way
+        final int[] offsets = new int[BIN_MASK + 2];
+        final long[] population = new long[BIN_MASK + 1];
+        for (int i = start; i < end; i++) {
+            final int value = bins[i] >> shift & BIN_MASK;
+            offsets[value + 1]++;
+            population[value] += counts[i];
+        }
+        for (int value = 0; value <= BIN_MASK; value++) {
+            offsets[value + 1] += offsets[value];
+        }
+        final int[] next = offsets.clone();
+        for (int i = start; i < end; i++) {
+            final int value = bins[i] >> shift & BIN_MASK;
+            final int to = next[value]++;
+            tempBins[to] = bins[i];
+            tempCounts[to] = counts[i];
+        }
+        System.arraycopy(tempBins, 0, bins, start, end - start);
+        System.arraycopy(tempCounts, 0, counts, start, end - start);
+
+        int min = 0;
+        while (offsets[min + 1] == 0) {
+            min++;
+        }
+        int max = BIN_MASK;
+        while (offsets[max] == end - start) {
+            max--;
+        }
+        final long half = population(counts, start, end) / 2;
+        long below = 0;
+        int value = min;
+        for (; value < max; value++) {
+            below += population[value];
+            if (below >= half) {
+                break;
+            }
+        }
+        return start + offsets[Math.min(value, max - 1) + 1];
+    }
+
+    /**
+     * @return Bin shift of the channel with the widest range in the box
+     */
+    private static int widestChannel(int[] bins, int start, int end) {
+        final int red = range(bins, start, end, RED_BIN_SHIFT);
+        final int green = range(bins, start, end, GREEN_BIN_SHIFT);
+        final int blue = range(bins, start, end, BLUE_BIN_SHIFT);
+        if (red >= green && red >= blue) {
+            return RED_BIN_SHIFT;
+        }
+        return green >= blue ? GREEN_BIN_SHIFT : BLUE_BIN_SHIFT;
+    }
+
+    private static int range(int[] bins, int start, int end, int shift) {
+        int min = BIN_MASK;
+        int max = 0;
+        for (int i = start; i < end; i++) {
+            final int value = bins[i] >> shift & BIN_MASK;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        return max - min;
+    }
+
+    private static long volume(int[] bins, int start, int end) {
+        return (range(bins, start, end, RED_BIN_SHIFT) + 1L)
+                * (range(bins, start, end, GREEN_BIN_SHIFT) + 1)
+                * (range(bins, start, end, BLUE_BIN_SHIFT) + 1);
+    }
+
+    private static long population(int[] counts, int start, int end) {
+        long population = 0;
+        for (int i = start; i < end; i++) {
+            population += counts[i];
+        }
+        return population;
+    }
+
+    /**
+     * @return Average of the bin centers weighted by their counts, opaque
+     */
+    @ColorInt
+    private static int average(int[] bins, int[] counts, int start, int end) {
+        long red = 0;
+        long green = 0;
+        long blue = 0;
+        long population = 0;
+        for (int i = start; i < end; i++) {
+            final long count = counts[i];
+            red += count * expand(bins[i] >> RED_BIN_SHIFT & BIN_MASK);
+            green += count * expand(bins[i] >> GREEN_BIN_SHIFT & BIN_MASK);
+            blue += count * expand(bins[i] >> BLUE_BIN_SHIFT & BIN_MASK);
+            population += count;
+        }
+        return 0xFF000000
+                | (int) ((red + population / 2) / population) << RED_SHIFT
+                | (int) ((green + population / 2) / population) << GREEN_SHIFT
+                | (int) ((blue + population / 2) / population) << BLUE_SHIFT;
+    }
+
+    /**
+     * @return 8 bit value of a 5 bit one, 31 to 255
+     */
+    private static int expand(int value) {
+        return value << 3 | value >> 2;
+    }
+
+    private static int samples(int length, int step) {
+        return (length + step - 1) / step;
+    }
+
+    private static void checkImage(int[] pixels, int width, int height, int step) {
+        if (width < 0 || height < 0 || (long) width * height > pixels.length) {
+            throw new IllegalArgumentException(
+                    width + "x" + height + " pixels don't fit in " + pixels.length);
+        }
+        if (step < 1) {
+            throw new IllegalArgumentException("Step " + step);
+        }
+    }
+
+    private static final class HistogramTask extends RecursiveTask<int[]> {
+
+        private final int[] pixels;
+        private final int width;
+        private final int step;
+        private final int fromRow;
+        private final int toRow;
+        private final int rowsPerTask;
+
+        HistogramTask(int[] pixels, int width, int step, int fromRow, int toRow,
+                      int rowsPerTask) {
+            this.pixels = pixels;
+            this.width = width;
+            this.step = step;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+            this.rowsPerTask = rowsPerTask;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (toRow - fromRow <= rowsPerTask) {
+                final int[] histogram = new int[HISTOGRAM_SIZE];
+                histogramRows(pixels, width, step, fromRow, toRow, histogram);
+                return histogram;
+            }
+            final int middle = (fromRow + toRow) >>> 1;
+            final HistogramTask right =
+                    new HistogramTask(pixels, width, step, middle, toRow, rowsPerTask);
+            right.fork();
+            final int[] histogram =
+                    new HistogramTask(pixels, width, step, fromRow, middle, rowsPerTask).compute();
+            final int[] rightHistogram = right.join();
+            for (int i = 0; i < HISTOGRAM_SIZE; i++) {
+                histogram[i] += rightHistogram[i];
+            }
+            return histogram;
+        }
+    }
+}
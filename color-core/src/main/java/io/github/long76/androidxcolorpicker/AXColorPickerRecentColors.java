@@ -0,0 +1,172 @@
+package io.github.long76.androidxcolorpicker;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.IntRange;
+
+import static io.github.long76.androidxcolorpicker.AXColorPickerFormatHelper.ARGB_LENGTH;
+
+/**
+ * The last colors chosen, most recent first, in a fixed size ring of packed ints. Adding a color
+ * that is already there moves it to the front instead of storing it twice; once full, adding a
+ * new color drops the oldest one. Nothing is allocated after construction, except by
+ * {@link #encode()}.
+ * <p>
+ * {@link #encode()} packs the whole history in one string of 8 digit ARGB HEX codes back to
+ * back, most recent first, which {@link #decode(CharSequence)} reads back.
+ *
+ * @since v3.2
+ */
+public final class AXColorPickerRecentColors {
+
+    private final int[] colors;
+    private final char[] buffer;
+
+    /**
+     * Index of the most recent color in {@link #colors}
+     */
+    private int head;
+    private int size;
+
+    /**
+     * @param capacity Number of colors kept
+     */
+    public AXColorPickerRecentColors(@IntRange(from = 1) int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1: " + capacity);
+        }
+        colors = new int[capacity];
+        buffer = new char[capacity * ARGB_LENGTH];
+    }
+
+    /**
+     * @return Number of colors kept at most
+     */
+    public int getCapacity() {
+        return colors.length;
+    }
+
+    /**
+     * @return Number of colors kept
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param index 0 for the most recent color, up to {@link #size()} - 1 for the oldest one
+     * @return Packed ARGB color
+     */
+    @ColorInt
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+        return colors[(head + index) % colors.length];
+    }
+
+    /**
+     * Makes a color the most recent one.
+     *
+     * @param color Packed ARGB color
+     * @return False if it already was the most recent color, so nothing changed
+     */
+    public boolean add(@ColorInt int color) {
+        final int capacity = colors.length;
+        int index = 0;
+        while (index < size && colors[(head + index) % capacity] != color) {
+            index++;
+        }
+        if (index == 0 && size > 0) {
+            return false;
+        }
+        if (index == size) {
+            // Not there: the slot before the head becomes the head, over the oldest when full
+            head = (head + capacity - 1) % capacity;
+            if (size < capacity) {
+                size++;
+            }
+        } else {
+            // Shift the more recent colors back over it
+            for (int i = index; i > 0; i--) {
+                colors[(head + i) % capacity] = colors[(head + i - 1) % capacity];
+            }
+        }
+        colors[head] = color;
+        return true;
+    }
+
+    /**
+     * Removes every color.
+     */
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Copies the colors, most recent first.
+     *
+     * @param out    Destination array, with room for {@link #size()} colors from offset
+     * @param offset Index of the most recent color in out
+     * @return Number of colors copied
+     */
+    public int copyTo(int[] out, int offset) {
+        final int capacity = colors.length;
+        final int first = Math.min(size, capacity - head);
+        System.arraycopy(colors, head, out, offset, first);
+        System.arraycopy(colors, 0, out, offset + first, size - first);
+        return size;
+    }
+
+    /**
+     * @return The colors, most recent first
+     */
+    public int[] toArray() {
+        final int[] out = new int[size];
+        copyTo(out, 0);
+        return out;
+    }
+
+    /**
+     * @return Every color as 8 HEX digits (AARRGGBB), most recent first, with no separator
+     */
+    public String encode() {
+        final int capacity = colors.length;
+        for (int i = 0; i < size; i++) {
+            AXColorPickerFormatHelper.writeColor(buffer, i * ARGB_LENGTH,
+                    colors[(head + i) % capacity], true);
+        }
+        return new String(buffer, 0, size * ARGB_LENGTH);
+    }
+
+    /**
+     * Replaces the colors with the ones of a string made by {@link #encode()}. Reading stops at
+     * the first code that isn't 8 HEX digits, colors past the capacity are dropped.
+     *
+     * @param encoded Encoded colors, null for none
+     * @return Number of colors read
+     */
+    public int decode(CharSequence encoded) {
+        clear();
+        if (encoded == null) {
+            return 0;
+        }
+        final int count = Math.min(encoded.length() / ARGB_LENGTH, colors.length);
+        for (int i = 0; i < count * ARGB_LENGTH; i++) {
+            buffer[i] = encoded.charAt(i);
+        }
+        final int read = AXColorPickerColorBatch.parseColors(buffer, 0, count, true, colors, 0);
+        // Most recent first from index 0 is already the ring layout, only drop duplicates
+        for (int i = 0; i < read; i++) {
+            final int color = colors[i];
+            int j = 0;
+            while (j < size && colors[j] != color) {
+                j++;
+            }
+            if (j == size) {
+                colors[size++] = color;
+            }
+        }
+        return read;
+    }
+}
@@ -0,0 +1,130 @@
+package io.github.long76.androidxcolorpicker;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.IntRange;
+
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.BLUE_SHIFT;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.GREEN_SHIFT;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.RED_SHIFT;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorSpace.MAX_PERCENT;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorSpace.hsvToColor;
+
+/**
+ * Saturation/value plane of a hue, the square of a 2D color picker: saturation from 0 on the
+ * left edge to 100 % on the right one, value from 100 % on the top edge to 0 on the bottom one.
+ * <p>
+ * Along a row every channel goes linearly from the gray of the row value to the hue color at
+ * that value, so a row is filled with fixed point increments, three additions per pixel and
+ * no conversion. Nothing is allocated: the pixels go to an int array of the caller, e.g. to
+ * be copied to a Bitmap with setPixels.
+ *
+ * @since v3.2
+ */
+public final class AXColorPickerSvPlane {
+
+    /**
+     * One half in 16.16 fixed point, to round to the nearest channel value
+     */
+    private static final int HALF = 1 << 15;
+
+    private AXColorPickerSvPlane() {
+    }
+
+    /**
+     * Renders the plane of a hue, opaque.
+     *
+     * @param hue    Hue (0 - 359), wrapped around
+     * @param pixels Receives the pixels row after row, must hold width * height of them
+     * @param width  Width in pixels
+     * @param height Height in pixels
+     */
+    public static void render(int hue, int[] pixels, int width, int height) {
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        if ((long) width * height > pixels.length) {
+            throw new IllegalArgumentException(
+                    width + "x" + height + " pixels don't fit in " + pixels.length);
+        }
+        final int hueColor = hsvToColor(255, hue, MAX_PERCENT, MAX_PERCENT);
+        final int hueRed = (hueColor >> RED_SHIFT) & 0xFF;
+        final int hueGreen = (hueColor >> GREEN_SHIFT) & 0xFF;
+        final int hueBlue = (hueColor >> BLUE_SHIFT) & 0xFF;
+        final int lastX = Math.max(width - 1, 1);
+        final int lastY = Math.max(height - 1, 1);
+
+        for (int y = 0, row = 0; y < height; y++, row += width) {
+            // Channels of the row ends in 16.16 fixed point: gray on the left, hue on the right
+            final long value = lastY - y;
+            final int gray = (int) ((value * 255 << 16) / lastY);
+            final int redStep = ((int) ((value * hueRed << 16) / lastY) - gray) / lastX;
+            final int greenStep = ((int) ((value * hueGreen << 16) / lastY) - gray) / lastX;
+            final int blueStep = ((int) ((value * hueBlue << 16) / lastY) - gray) / lastX;
+            int red = gray + HALF;
+            int green = gray + HALF;
+            int blue = gray + HALF;
+            for (int i = row, end = row + width; i < end; i++) {
+                pixels[i] = 0xFF000000
+                        | (red >> 16) << RED_SHIFT
+                        | (green >> 16) << GREEN_SHIFT
+                        | (blue >> 16) << BLUE_SHIFT;
+                red += redStep;
+                green += greenStep;
+                blue += blueStep;
+            }
+        }
+    }
+
+    /**
+     * @param hue        Hue (0 - 359), wrapped around
+     * @param saturation Saturation (0 - 100)
+     * @param value      Value (0 - 100)
+     * @return The color at a point of the plane, opaque
+     */
+    @ColorInt
+    public static int colorAt(int hue, int saturation, int value) {
+        return hsvToColor(255, hue, saturation, value);
+    }
+
+    /**
+     * @param x     Horizontal position in pixels, clamped to the plane
+     * @param width Width of the plane in pixels
+     * @return Saturation at that position (0 - 100)
+     */
+    @IntRange(from = 0, to = MAX_PERCENT)
+    public static int saturationAt(float x, int width) {
+        return clampPercent(Math.round(x * MAX_PERCENT / Math.max(width - 1, 1)));
+    }
+
+    /**
+     * @param y      Vertical position in pixels, clamped to the plane
+     * @param height Height of the plane in pixels
+     * @return Value at that position (0 - 100)
+     */
+    @IntRange(from = 0, to = MAX_PERCENT)
+    public static int valueAt(float y, int height) {
+        return clampPercent(MAX_PERCENT - Math.round(y * MAX_PERCENT / Math.max(height - 1, 1)));
+    }
+
+    /**
+     * @param saturation Saturation (0 - 100)
+     * @param width      Width of the plane in pixels
+     * @return Horizontal position of the saturation in pixels
+     */
+    public static float saturationX(int saturation, int width) {
+        return (float) clampPercent(saturation) * Math.max(width - 1, 0) / MAX_PERCENT;
+    }
+
+    /**
+     * @param value  Value (0 - 100)
+     * @param height Height of the plane in pixels
+     * @return Vertical position of the value in pixels
+     */
+    public static float valueY(int value, int height) {
+        return (float) (MAX_PERCENT - clampPercent(value)) * Math.max(height - 1, 0) / MAX_PERCENT;
+    }
+
+    private static int clampPercent(int percent) {
+        return Math.max(0, Math.min(MAX_PERCENT, percent));
+    }
+}
@@ -0,0 +1,112 @@
+package io.github.long76.androidxcolorpicker;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class AXColorPickerAreaSamplerTest {
+
+    @Test
+    public void testSinglePixels() throws Exception {
+        final int[] pixels = randomPixels(37 * 23, new Random(1));
+        final AXColorPickerAreaSampler sampler = new AXColorPickerAreaSampler(pixels, 37, 23);
+        for (int y = 0; y < 23; y++) {
+            for (int x = 0; x < 37; x++) {
+                assertEquals(pixels[y * 37 + x], sampler.average(x, y, 0));
+            }
+        }
+    }
+
+    @Test
+    public void testSameAsNaiveAverage() throws Exception {
+        final Random random = new Random(2);
+        final int width = 64;
+        final int height = 48;
+        final int[] pixels = randomPixels(width * height, random);
+        final AXColorPickerAreaSampler sampler =
+                new AXColorPickerAreaSampler(pixels, width, height);
+        for (int i = 0; i < 1000; i++) {
+            final int left = random.nextInt(width);
+            final int top = random.nextInt(height);
+            final int right = left + 1 + random.nextInt(width - left);
+            final int bottom = top + 1 + random.nextInt(height - top);
+            assertEquals(left + "," + top + " - " + right + "," + bottom,
+                    naiveAverage(pixels, width, left, top, right, bottom),
+                    sampler.average(left, top, right, bottom));
+        }
+    }
+
+    @Test
+    public void testSquareClampedToTheImage() throws Exception {
+        final int[] pixels = randomPixels(20 * 10, new Random(3));
+        final AXColorPickerAreaSampler sampler = new AXColorPickerAreaSampler(pixels, 20, 10);
+        assertEquals(naiveAverage(pixels, 20, 0, 0, 4, 4), sampler.average(0, 0, 3));
+        assertEquals(naiveAverage(pixels, 20, 16, 6, 20, 10), sampler.average(19, 9, 3));
+        assertEquals(naiveAverage(pixels, 20, 7, 2, 14, 9), sampler.average(10, 5, 3));
+        // Centers outside the image move to its edge
+        assertEquals(sampler.average(0, 9, 2), sampler.average(-5, 100, 2));
+        assertEquals(naiveAverage(pixels, 20, 0, 0, 20, 10),
+                sampler.average(10, 5, Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testRounding() throws Exception {
+        final int[] pixels = {0xFF000000, 0xFF010203};
+        final AXColorPickerAreaSampler sampler = new AXColorPickerAreaSampler(pixels, 2, 1);
+        // Halves rounded up
+        assertEquals(0xFF010102, sampler.average(0, 0, 1));
+    }
+
+    @Test
+    public void testSumsWrapAround() throws Exception {
+        // 9M white pixels sum to more than Integer.MAX_VALUE per channel
+        final int size = 3000;
+        final int[] pixels = new int[size * size];
+        Arrays.fill(pixels, 0xFFFFFFFF);
+        pixels[pixels.length - 1] = 0xFF000000;
+        final AXColorPickerAreaSampler sampler = new AXColorPickerAreaSampler(pixels, size, size);
+        assertEquals(0xFFFFFFFF, sampler.average(0, 0, size, size));
+        assertEquals(0xFF000000, sampler.average(size - 1, size - 1, 0));
+        assertEquals(0xFF808080, sampler.average(size - 2, size - 1, size, size));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyRectangle() throws Exception {
+        new AXColorPickerAreaSampler(new int[4], 2, 2).average(1, 0, 1, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooFewPixels() throws Exception {
+        new AXColorPickerAreaSampler(new int[3], 2, 2);
+    }
+
+    private static int naiveAverage(int[] pixels, int width, int left, int top, int right,
+                                    int bottom) {
+        final long[] sums = new long[4];
+        for (int y = top; y < bottom; y++) {
+            for (int x = left; x < right; x++) {
+                final int pixel = pixels[y * width + x];
+                for (int channel = 0; channel < 4; channel++) {
+                    sums[channel] += pixel >>> (24 - 8 * channel) & 0xFF;
+                }
+            }
+        }
+        final long area = (long) (right - left) * (bottom - top);
+        int color = 0;
+        for (long sum : sums) {
+            color = color << 8 | (int) ((sum + area / 2) / area);
+        }
+        return color;
+    }
+
+    private static int[] randomPixels(int count, Random random) {
+        final int[] pixels = new int[count];
+        for (int i = 0; i < count; i++) {
+            pixels[i] = random.nextInt();
+        }
+        return pixels;
+    }
+}
@@ -0,0 +1,238 @@
+package io.github.long76.androidxcolorpicker;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorBatch.MIN_PARALLEL_CHUNK;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorBatch.clamp;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorBatch.clampParallel;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorBatch.formatColors;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorBatch.formatColorsParallel;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorBatch.lerp;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorBatch.lerpParallel;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorBatch.pack;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorBatch.parseColors;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorBatch.parseColorsParallel;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class AXColorPickerColorBatchTest {
+
+    /**
+     * Large enough to be split in several parallel chunks
+     */
+    private static final int LARGE = MIN_PARALLEL_CHUNK * 37 + 11;
+
+    @Test
+    public void testFormatColors() throws Exception {
+        final int[] colors = {0x429ACD32, 0xFF000000, 0x00FFFFFF, 0x80ABCDEF};
+
+        final char[] chars = new char[2 + 4 * 8];
+        Arrays.fill(chars, '-');
+        formatColors(colors, 0, 4, true, chars, 2);
+        assertEquals("--429ACD32FF00000000FFFFFF80ABCDEF", new String(chars));
+
+        final char[] rgb = new char[2 * 6];
+        formatColors(colors, 1, 2, false, rgb, 0);
+        assertEquals("000000FFFFFF", new String(rgb));
+
+        final byte[] bytes = new byte[4 * 8];
+        formatColors(colors, 0, 4, true, bytes, 0);
+        assertEquals("429ACD32FF00000000FFFFFF80ABCDEF",
+                new String(bytes, StandardCharsets.US_ASCII));
+
+        final byte[] rgbBytes = new byte[6 + 1];
+        rgbBytes[6] = '!';
+        formatColors(colors, 3, 1, false, rgbBytes, 0);
+        assertEquals("ABCDEF!", new String(rgbBytes, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void testFormatColors_matchesWriteColor() throws Exception {
+        final int[] colors = randomColors(4096, 1);
+        final char[] chars = new char[colors.length * 8];
+        final byte[] bytes = new byte[colors.length * 8];
+        formatColors(colors, 0, colors.length, true, chars, 0);
+        formatColors(colors, 0, colors.length, true, bytes, 0);
+
+        final char[] expected = new char[8];
+        for (int i = 0; i < colors.length; i++) {
+            AXColorPickerFormatHelper.writeColor(expected, 0, colors[i], true);
+            for (int j = 0; j < 8; j++) {
+                assertEquals(expected[j], chars[i * 8 + j]);
+                assertEquals(expected[j], (char) bytes[i * 8 + j]);
+            }
+        }
+    }
+
+    @Test
+    public void testParseColors() throws Exception {
+        final int[] colors = new int[3];
+        assertEquals(3, parseColors("429acd32FF00000000ffffff".toCharArray(), 0, 3, true,
+                colors, 0));
+        assertArrayEquals(new int[]{0x429ACD32, 0xFF000000, 0x00FFFFFF}, colors);
+
+        assertEquals(2, parseColors("#9acd32ABCDEF".getBytes(StandardCharsets.US_ASCII), 1, 2,
+                false, colors, 1));
+        assertArrayEquals(new int[]{0x429ACD32, 0xFF9ACD32, 0xFFABCDEF}, colors);
+    }
+
+    @Test
+    public void testParseColors_stopsAtInvalidCode() throws Exception {
+        final int[] colors = new int[4];
+        assertEquals(2, parseColors("000001000002 00003000004".toCharArray(), 0, 4, false,
+                colors, 0));
+        assertArrayEquals(new int[]{0xFF000001, 0xFF000002, 0, 0}, colors);
+
+        final byte[] bytes = "00000100000200000300000G".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(3, parseColors(bytes, 0, 4, false, colors, 0));
+
+        bytes[0] = (byte) 0xB0;
+        assertEquals(0, parseColors(bytes, 0, 4, false, colors, 0));
+        final char[] fullWidth = "\uFF10\uFF10\uFF10\uFF10\uFF10\uFF10".toCharArray();
+        assertEquals(0, parseColors(fullWidth, 0, 1, false, colors, 0));
+    }
+
+    @Test
+    public void testParseColors_roundTrip() throws Exception {
+        final int[] colors = randomColors(4096, 2);
+        final char[] chars = new char[colors.length * 8];
+        final byte[] bytes = new byte[colors.length * 8];
+        formatColors(colors, 0, colors.length, true, chars, 0);
+        formatColors(colors, 0, colors.length, true, bytes, 0);
+
+        final int[] parsed = new int[colors.length];
+        assertEquals(colors.length, parseColors(chars, 0, colors.length, true, parsed, 0));
+        assertArrayEquals(colors, parsed);
+
+        Arrays.fill(parsed, 0);
+        assertEquals(colors.length, parseColors(bytes, 0, colors.length, true, parsed, 0));
+        assertArrayEquals(colors, parsed);
+    }
+
+    @Test
+    public void testClamp() throws Exception {
+        final int[] values = {Integer.MIN_VALUE, -1, 0, 1, 128, 255, 256, Integer.MAX_VALUE};
+        clamp(values, 1, 6);
+        assertArrayEquals(new int[]{Integer.MIN_VALUE, 0, 0, 1, 128, 255, 255, Integer.MAX_VALUE},
+                values);
+    }
+
+    @Test
+    public void testPack() throws Exception {
+        final int[] colors = new int[3];
+        pack(new int[]{0x42, 300, -5}, new int[]{0x9A, 0, 255}, new int[]{0xCD, -1, 256},
+                new int[]{0x32, 1, 2}, colors, 0, 3);
+        assertArrayEquals(new int[]{0x429ACD32, 0xFF000001, 0x00FFFF02}, colors);
+
+        pack(null, new int[]{1, 2, 3}, new int[]{4, 5, 6}, new int[]{7, 8, 9}, colors, 1, 2);
+        assertArrayEquals(new int[]{0x429ACD32, 0xFF020508, 0xFF030609}, colors);
+    }
+
+    @Test
+    public void testLerp() throws Exception {
+        final int[] from = {0x00000000, 0xFF000000, 0x429ACD32, 0xFFFFFFFF};
+        final int[] to = {0xFFFFFFFF, 0x00FF0000, 0x429ACD32, 0xFFFFFFFF};
+        final int[] out = new int[4];
+
+        lerp(from, to, 0, out, 0, 4);
+        assertArrayEquals(from, out);
+        lerp(from, to, 256, out, 0, 4);
+        assertArrayEquals(to, out);
+        lerp(from, to, 0.5f, out, 0, 4);
+        assertArrayEquals(new int[]{0x7F7F7F7F, 0x7F7F0000, 0x429ACD32, 0xFFFFFFFF}, out);
+    }
+
+    @Test
+    public void testLerp_matchesPerChannelReference() throws Exception {
+        final int[] from = randomColors(4096, 3);
+        final int[] to = randomColors(4096, 4);
+        final int[] out = new int[from.length];
+        for (int weight = 0; weight <= 256; weight += 7) {
+            lerp(from, to, weight, out, 0, from.length);
+            for (int i = 0; i < from.length; i++) {
+                int expected = 0;
+                for (int shift = 0; shift <= 24; shift += 8) {
+                    final int a = (from[i] >>> shift) & 0xFF;
+                    final int b = (to[i] >>> shift) & 0xFF;
+                    expected |= ((a * (256 - weight) + b * weight) >> 8) << shift;
+                }
+                assertEquals(expected, out[i]);
+            }
+        }
+    }
+
+    @Test
+    public void testLerp_inPlace() throws Exception {
+        final int[] colors = {0xFF000000, 0xFF0000FF};
+        lerp(colors, new int[]{0xFFFFFFFF, 0xFFFFFFFF}, 256, colors, 1, 1);
+        assertArrayEquals(new int[]{0xFF000000, 0xFFFFFFFF}, colors);
+    }
+
+    @Test
+    public void testParallel_matchesSequential() throws Exception {
+        final int[] colors = randomColors(LARGE, 5);
+
+        final char[] chars = new char[LARGE * 8 + 3];
+        final char[] parallelChars = new char[LARGE * 8 + 3];
+        formatColors(colors, 0, LARGE, true, chars, 3);
+        formatColorsParallel(colors, 0, LARGE, true, parallelChars, 3);
+        assertArrayEquals(chars, parallelChars);
+
+        final byte[] bytes = new byte[LARGE * 6];
+        final byte[] parallelBytes = new byte[LARGE * 6];
+        formatColors(colors, 0, LARGE, false, bytes, 0);
+        formatColorsParallel(colors, 0, LARGE, false, parallelBytes, 0);
+        assertArrayEquals(bytes, parallelBytes);
+
+        final int[] parsed = new int[LARGE];
+        assertEquals(LARGE, parseColorsParallel(chars, 3, LARGE, true, parsed, 0));
+        assertArrayEquals(colors, parsed);
+        assertEquals(LARGE, parseColorsParallel(bytes, 0, LARGE, false, parsed, 0));
+        for (int i = 0; i < LARGE; i++) {
+            assertEquals(colors[i] | 0xFF000000, parsed[i]);
+        }
+
+        final int[] to = randomColors(LARGE, 6);
+        final int[] out = new int[LARGE];
+        final int[] parallelOut = new int[LARGE];
+        lerp(colors, to, 77, out, 0, LARGE);
+        lerpParallel(colors, to, 77, parallelOut, 0, LARGE);
+        assertArrayEquals(out, parallelOut);
+
+        final int[] values = new int[LARGE];
+        final Random random = new Random(7);
+        for (int i = 0; i < LARGE; i++) {
+            values[i] = random.nextInt(1024) - 512;
+        }
+        final int[] parallelValues = values.clone();
+        clamp(values, 0, LARGE);
+        clampParallel(parallelValues, 0, LARGE);
+        assertArrayEquals(values, parallelValues);
+    }
+
+    @Test
+    public void testParseColorsParallel_reportsFirstInvalidCode() throws Exception {
+        final char[] chars = new char[LARGE * 6];
+        formatColors(randomColors(LARGE, 8), 0, LARGE, false, chars, 0);
+        final int firstInvalid = LARGE / 3;
+        chars[firstInvalid * 6 + 4] = 'x';
+        chars[(LARGE - 5) * 6] = 'x';
+
+        assertEquals(firstInvalid, parseColorsParallel(chars, 0, LARGE, false,
+                new int[LARGE], 0));
+        assertEquals(firstInvalid, parseColors(chars, 0, LARGE, false, new int[LARGE], 0));
+    }
+
+    private static int[] randomColors(int count, long seed) {
+        final Random random = new Random(seed);
+        final int[] colors = new int[count];
+        for (int i = 0; i < count; i++) {
+            colors[i] = random.nextInt();
+        }
+        return colors;
+    }
+}
@@ -0,0 +1,113 @@
+package io.github.long76.androidxcolorpicker;
+
+import org.junit.Test;
+
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.ALPHA_SHIFT;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.BLUE_SHIFT;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.GREEN_SHIFT;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.RED_SHIFT;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.alpha;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.argb;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.blue;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.channel;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.clamp;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.gradientEnd;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.gradientStart;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.green;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.red;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.rgb;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.withChannel;
+import static org.junit.Assert.assertEquals;
+
+public class AXColorPickerColorHelperTest {
+
+    @Test
+    public void testArgb() throws Exception {
+        assertEquals(0x429ACD32, argb(0x42, 0x9A, 0xCD, 0x32));
+        assertEquals(0xFF000000, argb(255, 0, 0, 0));
+        assertEquals(0x00FFFFFF, argb(0, 255, 255, 255));
+        // Only the lower 8 bits of each value count
+        assertEquals(0x01020204, argb(0x101, 0x202, -0xFE, 0x304));
+    }
+
+    @Test
+    public void testRgb() throws Exception {
+        assertEquals(0xFF9ACD32, rgb(0x9A, 0xCD, 0x32));
+        assertEquals(0xFF000000, rgb(0, 0, 0));
+    }
+
+    @Test
+    public void testComponents() throws Exception {
+        for (long value = Integer.MIN_VALUE; value <= Integer.MAX_VALUE; value += 65_537) {
+            final int color = (int) value;
+            assertEquals(color, argb(alpha(color), red(color), green(color), blue(color)));
+            assertEquals(channel(color, ALPHA_SHIFT), alpha(color));
+            assertEquals(channel(color, RED_SHIFT), red(color));
+            assertEquals(channel(color, GREEN_SHIFT), green(color));
+            assertEquals(channel(color, BLUE_SHIFT), blue(color));
+        }
+    }
+
+    @Test
+    public void testClamp() throws Exception {
+        assertEquals(0, clamp(Integer.MIN_VALUE));
+        assertEquals(0, clamp(-1));
+        for (int value = 0; value <= 255; value++) {
+            assertEquals(value, clamp(value));
+        }
+        assertEquals(255, clamp(256));
+        assertEquals(255, clamp(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testChannel() throws Exception {
+        assertEquals(0x42, channel(0x429ACD32, ALPHA_SHIFT));
+        assertEquals(0x9A, channel(0x429ACD32, RED_SHIFT));
+        assertEquals(0xCD, channel(0x429ACD32, GREEN_SHIFT));
+        assertEquals(0x32, channel(0x429ACD32, BLUE_SHIFT));
+        assertEquals(0xFF, channel(0xFF000000, ALPHA_SHIFT));
+    }
+
+    @Test
+    public void testWithChannel() throws Exception {
+        assertEquals(0xFF9ACD32, withChannel(0x429ACD32, ALPHA_SHIFT, 0xFF));
+        assertEquals(0x4200CD32, withChannel(0x429ACD32, RED_SHIFT, 0));
+        assertEquals(0x429A1032, withChannel(0x429ACD32, GREEN_SHIFT, 0x10));
+        assertEquals(0x429ACDFF, withChannel(0x429ACD32, BLUE_SHIFT, 0xFF));
+        assertEquals(0x429ACD01, withChannel(0x429ACD32, BLUE_SHIFT, 0x101));
+    }
+
+    @Test
+    public void testGradientEndpoints_colorChannels() throws Exception {
+        final int color = 0x429ACD32;
+
+        assertEquals(0xFF00CD32, gradientStart(color, RED_SHIFT));
+        assertEquals(0xFFFFCD32, gradientEnd(color, RED_SHIFT));
+        assertEquals(0xFF9A0032, gradientStart(color, GREEN_SHIFT));
+        assertEquals(0xFF9AFF32, gradientEnd(color, GREEN_SHIFT));
+        assertEquals(0xFF9ACD00, gradientStart(color, BLUE_SHIFT));
+        assertEquals(0xFF9ACDFF, gradientEnd(color, BLUE_SHIFT));
+    }
+
+    @Test
+    public void testGradientEndpoints_alpha() throws Exception {
+        assertEquals(0x009ACD32, gradientStart(0x429ACD32, ALPHA_SHIFT));
+        assertEquals(0xFF9ACD32, gradientEnd(0x429ACD32, ALPHA_SHIFT));
+    }
+
+    @Test
+    public void testGradientEndpoints_dependOnlyOnOtherChannels() throws Exception {
+        final int[] shifts = {ALPHA_SHIFT, RED_SHIFT, GREEN_SHIFT, BLUE_SHIFT};
+        for (int shift : shifts) {
+            for (int value = 0; value <= 255; value++) {
+                final int color = withChannel(0x809ACD32, shift, value);
+                assertEquals(gradientStart(0x809ACD32, shift), gradientStart(color, shift));
+                assertEquals(gradientEnd(0x809ACD32, shift), gradientEnd(color, shift));
+            }
+            // The color channel tracks don't follow the alpha
+            if (shift != ALPHA_SHIFT) {
+                assertEquals(gradientStart(0x009ACD32, shift), gradientStart(0xFF9ACD32, shift));
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package io.github.long76.androidxcolorpicker;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class AXColorPickerColorIndexTest {
+
+    @Test
+    public void testCssNames() throws Exception {
+        final AXColorPickerColorIndex index = AXColorPickerColorIndex.css();
+        assertEquals(148, index.getPalette().size());
+
+        assertEquals("red", index.nearestName(0xFFFF0000));
+        assertEquals("yellowgreen", index.nearestName(0xFF9ACD32));
+        assertEquals("black", index.nearestName(0xFF010101));
+        assertEquals("white", index.nearestName(0x00FFFFFF));
+        assertEquals("rebeccapurple", index.nearestName(0xFF663398));
+        // Listed under both names: the first one
+        assertEquals("aqua", index.nearestName(0xFF00FFFF));
+        assertEquals("darkgray", index.nearestName(0xFFA9A9A9));
+    }
+
+    @Test
+    public void testSameAsLinearScan() throws Exception {
+        final Random random = new Random(42);
+        for (int size : new int[]{1, 2, 7, 8, 9, 100, 1000, 10000}) {
+            final int[] colors = new int[size];
+            for (int i = 0; i < size; i++) {
+                colors[i] = random.nextInt();
+            }
+            assertSameAsLinearScan(colors, random);
+        }
+    }
+
+    @Test
+    public void testDuplicatesAndGrays() throws Exception {
+        final Random random = new Random(7);
+        final int[] colors = new int[2000];
+        for (int i = 0; i < colors.length; i++) {
+            final int gray = random.nextInt(16) * 17;
+            colors[i] = 0xFF000000 | gray << 16 | gray << 8 | gray;
+        }
+        assertSameAsLinearScan(colors, random);
+    }
+
+    @Test
+    public void testEmptyPalette() throws Exception {
+        final AXColorPickerColorIndex index = new AXColorPickerColorIndex(
+                new AXColorPickerColorNames(new int[0], new String[0]));
+        assertEquals(-1, index.nearestIndex(0xFF000000));
+        assertNull(index.nearestName(0xFF000000));
+    }
+
+    @Test
+    public void testPaletteIsCopied() throws Exception {
+        final int[] colors = {0xFF000000, 0xFFFFFFFF};
+        final AXColorPickerColorNames names =
+                new AXColorPickerColorNames(colors, new String[]{"night", "day"});
+        colors[0] = 0xFFFFFFFF;
+        assertEquals("night", new AXColorPickerColorIndex(names).nearestName(0xFF101010));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNamesOfAnotherLength() throws Exception {
+        new AXColorPickerColorNames(new int[2], new String[1]);
+    }
+
+    @Test
+    public void testDistanceSquared() throws Exception {
+        assertEquals(0, AXColorPickerColorIndex.distanceSquared(0x00123456, 0xFF123456));
+        assertEquals(3 * 255 * 255,
+                AXColorPickerColorIndex.distanceSquared(0xFF000000, 0xFFFFFFFF));
+        assertEquals(1 + 4 + 9, AXColorPickerColorIndex.distanceSquared(0x010203, 0x020406));
+    }
+
+    private static void assertSameAsLinearScan(int[] colors, Random random) {
+        final String[] names = new String[colors.length];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = Integer.toString(i);
+        }
+        final AXColorPickerColorIndex index =
+                new AXColorPickerColorIndex(new AXColorPickerColorNames(colors, names));
+        for (int query = 0; query < 2000; query++) {
+            final int color = query < colors.length && query % 2 == 0
+                    ? colors[query]
+                    : random.nextInt();
+            assertEquals("size " + colors.length + ", color " + Integer.toHexString(color),
+                    linearScan(colors, color), index.nearestIndex(color));
+        }
+    }
+
+    private static int linearScan(int[] colors, int color) {
+        int nearest = -1;
+        int nearestDistance = Integer.MAX_VALUE;
+        for (int i = 0; i < colors.length; i++) {
+            final int distance = AXColorPickerColorIndex.distanceSquared(colors[i], color);
+            if (distance < nearestDistance) {
+                nearest = i;
+                nearestDistance = distance;
+            }
+        }
+        return nearest;
+    }
+}
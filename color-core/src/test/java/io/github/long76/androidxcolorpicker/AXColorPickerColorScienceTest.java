@@ -0,0 +1,135 @@
+package io.github.long76.androidxcolorpicker;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class AXColorPickerColorScienceTest {
+
+    /**
+     * Test data of Sharma, Wu and Dalal (2005): L1, a1, b1, L2, a2, b2, delta E00
+     */
+    private static final double[][] SHARMA = {
+            {50.0000, 2.6772, -79.7751, 50.0000, 0.0000, -82.7485, 2.0425},
+            {50.0000, 3.1571, -77.2803, 50.0000, 0.0000, -82.7485, 2.8615},
+            {50.0000, 2.8361, -74.0200, 50.0000, 0.0000, -82.7485, 3.4412},
+            {50.0000, -1.3802, -84.2814, 50.0000, 0.0000, -82.7485, 1.0000},
+            {50.0000, -1.1848, -84.8006, 50.0000, 0.0000, -82.7485, 1.0000},
+            {50.0000, -0.9009, -85.5211, 50.0000, 0.0000, -82.7485, 1.0000},
+            {50.0000, 0.0000, 0.0000, 50.0000, -1.0000, 2.0000, 2.3669},
+            {50.0000, -1.0000, 2.0000, 50.0000, 0.0000, 0.0000, 2.3669},
+            {50.0000, 2.4900, -0.0010, 50.0000, -2.4900, 0.0009, 7.1792},
+            {50.0000, 2.4900, -0.0010, 50.0000, -2.4900, 0.0010, 7.1792},
+            {50.0000, 2.4900, -0.0010, 50.0000, -2.4900, 0.0011, 7.2195},
+            {50.0000, 2.4900, -0.0010, 50.0000, -2.4900, 0.0012, 7.2195},
+            {50.0000, -0.0010, 2.4900, 50.0000, 0.0009, -2.4900, 4.8045},
+            {50.0000, -0.0010, 2.4900, 50.0000, 0.0010, -2.4900, 4.8045},
+            {50.0000, -0.0010, 2.4900, 50.0000, 0.0011, -2.4900, 4.7461},
+            {50.0000, 2.5000, 0.0000, 50.0000, 0.0000, -2.5000, 4.3065},
+            {50.0000, 2.5000, 0.0000, 73.0000, 25.0000, -18.0000, 27.1492},
+            {50.0000, 2.5000, 0.0000, 61.0000, -5.0000, 29.0000, 22.8977},
+            {50.0000, 2.5000, 0.0000, 56.0000, -27.0000, -3.0000, 31.9030},
+            {50.0000, 2.5000, 0.0000, 58.0000, 24.0000, 15.0000, 19.4535},
+            {50.0000, 2.5000, 0.0000, 50.0000, 3.1736, 0.5854, 1.0000},
+            {50.0000, 2.5000, 0.0000, 50.0000, 3.2972, 0.0000, 1.0000},
+            {50.0000, 2.5000, 0.0000, 50.0000, 1.8634, 0.5757, 1.0000},
+            {50.0000, 2.5000, 0.0000, 50.0000, 3.2592, 0.3350, 1.0000},
+            {60.2574, -34.0099, 36.2677, 60.4626, -34.1751, 39.4387, 1.2644},
+            {63.0109, -31.0961, -5.8663, 62.8187, -29.7946, -4.0864, 1.2630},
+            {61.2901, 3.7196, -5.3901, 61.4292, 2.2480, -4.9620, 1.8731},
+            {35.0831, -44.1164, 3.7933, 35.0232, -40.0716, 1.5901, 1.8645},
+            {22.7233, 20.0904, -46.6940, 23.0331, 14.9730, -42.5619, 2.0373},
+            {36.4612, 47.8580, 18.3852, 36.2715, 50.5065, 21.2231, 1.4146},
+            {90.8027, -2.0831, 1.4410, 91.1528, -1.6435, 0.0447, 1.4441},
+            {90.9257, -0.5406, -0.9208, 88.6381, -0.8985, -0.7239, 1.5381},
+            {6.7747, -0.2908, -2.4247, 5.8714, -0.0985, -2.2286, 0.6377},
+            {2.0776, 0.0795, -1.1350, 0.9033, -0.0636, -0.5514, 0.9082},
+    };
+
+    @Test
+    public void testDeltaE2000Sharma() throws Exception {
+        for (int i = 0; i < SHARMA.length; i++) {
+            final double[] pair = SHARMA[i];
+            assertEquals("pair " + (i + 1), pair[6], AXColorPickerColorScience.deltaE2000(
+                    pair[0], pair[1], pair[2], pair[3], pair[4], pair[5]), 1e-4);
+            // Symmetric
+            assertEquals("pair " + (i + 1), pair[6], AXColorPickerColorScience.deltaE2000(
+                    pair[3], pair[4], pair[5], pair[0], pair[1], pair[2]), 1e-4);
+        }
+    }
+
+    @Test
+    public void testDeltaE2000Colors() throws Exception {
+        assertEquals(0, AXColorPickerColorScience.deltaE2000(0xFF123456, 0x00123456), 0);
+        assertEquals(100, AXColorPickerColorScience.deltaE2000(0xFF000000, 0xFFFFFFFF), 1e-3);
+
+        final Random random = new Random(42);
+        final double[] lab1 = new double[3];
+        final double[] lab2 = new double[3];
+        for (int i = 0; i < 1000; i++) {
+            final int color1 = random.nextInt();
+            final int color2 = random.nextInt();
+            AXColorPickerColorScience.colorToLab(color1, lab1);
+            AXColorPickerColorScience.colorToLab(color2, lab2);
+            assertEquals(AXColorPickerColorScience.deltaE2000(
+                    lab1[0], lab1[1], lab1[2], lab2[0], lab2[1], lab2[2]),
+                    AXColorPickerColorScience.deltaE2000(color1, color2), 1e-9);
+        }
+    }
+
+    @Test
+    public void testColorToLab() throws Exception {
+        final double[] lab = new double[3];
+        assertLab(0, 0, 0, AXColorPickerColorScience.colorToLab(0xFF000000, lab));
+        assertLab(100, 0, 0, AXColorPickerColorScience.colorToLab(0xFFFFFFFF, lab));
+        assertLab(53.2408, 80.0925, 67.2032, AXColorPickerColorScience.colorToLab(0xFFFF0000, lab));
+        assertLab(87.7347, -86.1827, 83.1793,
+                AXColorPickerColorScience.colorToLab(0xFF00FF00, lab));
+        assertLab(32.2970, 79.1875, -107.8602,
+                AXColorPickerColorScience.colorToLab(0xFF0000FF, lab));
+        assertLab(53.5850, 0, 0, AXColorPickerColorScience.colorToLab(0xFF808080, lab));
+    }
+
+    @Test
+    public void testRelativeLuminance() throws Exception {
+        assertEquals(0, AXColorPickerColorScience.relativeLuminance(0xFF000000), 0);
+        assertEquals(1, AXColorPickerColorScience.relativeLuminance(0xFFFFFFFF), 1e-12);
+        assertEquals(0.2126, AXColorPickerColorScience.relativeLuminance(0xFFFF0000), 1e-12);
+        assertEquals(0.7152, AXColorPickerColorScience.relativeLuminance(0xFF00FF00), 1e-12);
+        assertEquals(0.0722, AXColorPickerColorScience.relativeLuminance(0xFF0000FF), 1e-12);
+        assertEquals(0.2159, AXColorPickerColorScience.relativeLuminance(0xFF808080), 1e-4);
+        // Alpha is ignored
+        assertEquals(1, AXColorPickerColorScience.relativeLuminance(0x00FFFFFF), 1e-12);
+    }
+
+    @Test
+    public void testToLinear() throws Exception {
+        for (int value = 0; value < 256; value++) {
+            final double channel = value / 255.0;
+            final double expected = channel <= 0.04045
+                    ? channel / 12.92
+                    : Math.pow((channel + 0.055) / 1.055, 2.4);
+            assertEquals(expected, AXColorPickerColorScience.toLinear(value), 0);
+        }
+    }
+
+    @Test
+    public void testContrastRatio() throws Exception {
+        assertEquals(21, AXColorPickerColorScience.contrastRatio(0xFF000000, 0xFFFFFFFF), 1e-9);
+        assertEquals(21, AXColorPickerColorScience.contrastRatio(0xFFFFFFFF, 0xFF000000), 1e-9);
+        assertEquals(1, AXColorPickerColorScience.contrastRatio(0xFF123456, 0xFF123456), 0);
+        assertEquals(4.00, AXColorPickerColorScience.contrastRatio(0xFFFF0000, 0xFFFFFFFF), 5e-3);
+        assertEquals(8.59, AXColorPickerColorScience.contrastRatio(0xFF0000FF, 0xFFFFFFFF), 5e-3);
+        // The lightest gray passing AA on white, and the next one failing it
+        assertEquals(4.54, AXColorPickerColorScience.contrastRatio(0xFF767676, 0xFFFFFFFF), 5e-3);
+        assertEquals(4.48, AXColorPickerColorScience.contrastRatio(0xFF777777, 0xFFFFFFFF), 5e-3);
+    }
+
+    private static void assertLab(double l, double a, double b, double[] lab) {
+        assertEquals(l, lab[0], 1e-3);
+        assertEquals(a, lab[1], 1e-3);
+        assertEquals(b, lab[2], 1e-3);
+    }
+}
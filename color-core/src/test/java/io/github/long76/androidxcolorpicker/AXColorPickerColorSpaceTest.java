@@ -0,0 +1,158 @@
+package io.github.long76.androidxcolorpicker;
+
+import org.junit.Test;
+
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorSpace.brightness;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorSpace.colorToHsl;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorSpace.colorToHsv;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorSpace.hslToColor;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorSpace.hsvToColor;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorSpace.hue;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorSpace.pack;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorSpace.saturation;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AXColorPickerColorSpaceTest {
+
+    @Test
+    public void testPack() throws Exception {
+        final int packed = pack(359, 100, 42);
+        assertEquals(359, hue(packed));
+        assertEquals(100, saturation(packed));
+        assertEquals(42, brightness(packed));
+
+        assertEquals(pack(0, 0, 100), pack(360, -5, 101));
+        assertEquals(pack(350, 0, 0), pack(-10, 0, 0));
+    }
+
+    @Test
+    public void testKnownValues() throws Exception {
+        assertEquals(0xFFFF0000, hsvToColor(255, 0, 100, 100));
+        assertEquals(0xFF00FF00, hsvToColor(255, 120, 100, 100));
+        assertEquals(0x800000FF, hsvToColor(128, 240, 100, 100));
+        assertEquals(0xFFFFFFFF, hsvToColor(255, 77, 0, 100));
+        assertEquals(0xFF000000, hsvToColor(255, 77, 100, 0));
+
+        assertEquals(0xFFFF0000, hslToColor(255, 0, 100, 50));
+        assertEquals(0xFFFFFFFF, hslToColor(255, 200, 100, 100));
+        assertEquals(0xFF000000, hslToColor(255, 200, 100, 0));
+
+        assertEquals(pack(0, 100, 100), colorToHsv(0xFFFF0000));
+        assertEquals(pack(0, 0, 0), colorToHsv(0xFF000000));
+        assertEquals(pack(120, 100, 50), colorToHsl(0xFF00FF00));
+        assertEquals(pack(0, 0, 100), colorToHsl(0xFFFFFFFF));
+    }
+
+    @Test
+    public void testHsvToColor_matchesReference() throws Exception {
+        for (int hue = 0; hue <= 359; hue++) {
+            for (int saturation = 0; saturation <= 100; saturation += 5) {
+                for (int value = 0; value <= 100; value += 5) {
+                    final int expected = java.awt.Color.HSBtoRGB(
+                            hue / 360f, saturation / 100f, value / 100f);
+                    assertColorClose(expected, hsvToColor(255, hue, saturation, value), 1);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testHslToColor_matchesReference() throws Exception {
+        for (int hue = 0; hue <= 359; hue++) {
+            for (int saturation = 0; saturation <= 100; saturation += 5) {
+                for (int lightness = 0; lightness <= 100; lightness += 5) {
+                    assertColorClose(referenceHslToColor(hue, saturation, lightness),
+                            hslToColor(255, hue, saturation, lightness), 1);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testColorToHsv_matchesReference() throws Exception {
+        final float[] hsb = new float[3];
+        for (int rgb = 0; rgb <= 0xFFFFFF; rgb += 29) {
+            java.awt.Color.RGBtoHSB(rgb >> 16, (rgb >> 8) & 0xFF, rgb & 0xFF, hsb);
+            final int hsv = colorToHsv(rgb);
+
+            // Hue is meaningless without saturation
+            if (saturation(hsv) > 0) {
+                assertHueClose(hsb[0] * 360f, hue(hsv), 0.5f);
+            }
+            assertEquals(hsb[1] * 100f, saturation(hsv), 0.5f + 1e-3f);
+            assertEquals(hsb[2] * 100f, brightness(hsv), 0.5f + 1e-3f);
+        }
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        // HSV and HSL in whole degrees and percents can't hit every RGB color, the error is
+        // bounded by the rounding: half a degree of hue and half a percent of saturation and
+        // brightness add up to a few steps per channel
+        for (int rgb = 0; rgb <= 0xFFFFFF; rgb += 31) {
+            final int color = 0xFF000000 | rgb;
+
+            final int hsv = colorToHsv(color);
+            assertColorClose(color, hsvToColor(255, hue(hsv), saturation(hsv), brightness(hsv)), 6);
+
+            final int hsl = colorToHsl(color);
+            assertColorClose(color, hslToColor(255, hue(hsl), saturation(hsl), brightness(hsl)), 6);
+        }
+    }
+
+    @Test
+    public void testHsvToRgbToHsv_isStable() throws Exception {
+        // Saturated colors keep their HSV through RGB; the hue of grayish colors gets coarse,
+        // which is why the dialog only converts HSV to RGB on user changes
+        for (int hue = 0; hue <= 359; hue++) {
+            for (int saturation = 50; saturation <= 100; saturation += 5) {
+                for (int value = 50; value <= 100; value += 5) {
+                    final int hsv = colorToHsv(hsvToColor(255, hue, saturation, value));
+                    assertHueClose(hue, hue(hsv), 1f);
+                    assertEquals(saturation, saturation(hsv), 1);
+                    assertEquals(value, brightness(hsv), 1);
+                }
+            }
+        }
+    }
+
+    private static int referenceHslToColor(int hue, int saturation, int lightness) {
+        final double h = hue / 360.0;
+        final double s = saturation / 100.0;
+        final double l = lightness / 100.0;
+        if (s == 0) {
+            final int gray = (int) Math.round(l * 255);
+            return 0xFF000000 | gray << 16 | gray << 8 | gray;
+        }
+        final double q = l < 0.5 ? l * (1 + s) : l + s - l * s;
+        final double p = 2 * l - q;
+        return 0xFF000000
+                | (int) Math.round(hueToComponent(p, q, h + 1 / 3.0) * 255) << 16
+                | (int) Math.round(hueToComponent(p, q, h) * 255) << 8
+                | (int) Math.round(hueToComponent(p, q, h - 1 / 3.0) * 255);
+    }
+
+    private static double hueToComponent(double p, double q, double t) {
+        if (t < 0) t += 1;
+        if (t > 1) t -= 1;
+        if (t < 1 / 6.0) return p + (q - p) * 6 * t;
+        if (t < 1 / 2.0) return q;
+        if (t < 2 / 3.0) return p + (q - p) * (2 / 3.0 - t) * 6;
+        return p;
+    }
+
+    private static void assertHueClose(float expected, int actual, float tolerance) {
+        float difference = Math.abs(expected - actual) % 360f;
+        difference = Math.min(difference, 360f - difference);
+        assertTrue("hue " + actual + ", expected " + expected, difference <= tolerance + 1e-3f);
+    }
+
+    private static void assertColorClose(int expected, int actual, int tolerance) {
+        for (int shift = 0; shift <= 24; shift += 8) {
+            final int difference = Math.abs(((expected >>> shift) & 0xFF) - ((actual >>> shift) & 0xFF));
+            assertTrue(String.format("expected %08X, got %08X", expected, actual),
+                    difference <= tolerance);
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package io.github.long76.androidxcolorpicker;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.io.CharArrayWriter;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import static io.github.long76.androidxcolorpicker.AXColorPickerFormatHelper.INVALID_COLOR;
+import static io.github.long76.androidxcolorpicker.AXColorPickerFormatHelper.appendColor;
+import static io.github.long76.androidxcolorpicker.AXColorPickerFormatHelper.assertColorValueInRange;
+import static io.github.long76.androidxcolorpicker.AXColorPickerFormatHelper.contentEquals;
+import static io.github.long76.androidxcolorpicker.AXColorPickerFormatHelper.expandColor;
+import static io.github.long76.androidxcolorpicker.AXColorPickerFormatHelper.formatColorValues;
+import static io.github.long76.androidxcolorpicker.AXColorPickerFormatHelper.hexValue;
+import static io.github.long76.androidxcolorpicker.AXColorPickerFormatHelper.parseColor;
+import static io.github.long76.androidxcolorpicker.AXColorPickerFormatHelper.progressLabel;
+import static io.github.long76.androidxcolorpicker.AXColorPickerFormatHelper.writeColor;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class AXColorPickerFormatHelperTest {
+
+    /**
+     * Stride of the sampled sweep over all 2^32 packed colors. Prime, so every channel sees
+     * a wide spread of values.
+     */
+    private static final long SWEEP_STEP = 65521;
+
+    @Test
+    public void testAssertColorValueInRange_allowedValues() throws Exception {
+        for (int value = 0; value <= 255; value++) {
+            assertEquals(value, assertColorValueInRange(value));
+        }
+    }
+
+    @Test
+    public void testAssertColorValueInRange_disallowedValues() throws Exception {
+        assertEquals(0, assertColorValueInRange(-1));
+        assertEquals(0, assertColorValueInRange(-42));
+        assertEquals(0, assertColorValueInRange(-255));
+        assertEquals(0, assertColorValueInRange(-256));
+
+        assertEquals(0, assertColorValueInRange(Integer.MAX_VALUE));
+        assertEquals(0, assertColorValueInRange(Integer.MIN_VALUE));
+        assertEquals(0, assertColorValueInRange(256));
+        assertEquals(0, assertColorValueInRange(1024));
+    }
+
+    @Test
+    public void testFormatColorValues_RgbValues() throws Exception {
+        assertEquals("9ACD32", formatColorValues(154, 205, 50));
+        assertEquals("000000", formatColorValues(0, 0, 0));
+        assertEquals("FFFFFF", formatColorValues(255, 255, 255));
+
+        assertEquals("000000", formatColorValues(256, -123, Integer.MAX_VALUE));
+        assertEquals("00FF00", formatColorValues(256, 255, 256));
+    }
+
+    @Test
+    public void testFormatColorValues_ArgbValues() throws Exception {
+        assertEquals("429ACD32", formatColorValues(66, 154, 205, 50));
+        assertEquals("00000000", formatColorValues(0, 0, 0, 0));
+        assertEquals("FFFFFFFF", formatColorValues(255, 255, 255, 255));
+
+        assertEquals("00000000", formatColorValues(Integer.MIN_VALUE, 256, -42, Integer.MAX_VALUE));
+        assertEquals("FF00FF00", formatColorValues(255, 256, 255, 256));
+    }
+
+    @Test
+    public void testFormatColorValues_matchesStringFormatForAllChannelValues() throws Exception {
+        for (int value = 0; value <= 255; value++) {
+            assertEquals(String.format("%02X%02X%02X", value, 255 - value, value),
+                    formatColorValues(value, 255 - value, value));
+            assertEquals(String.format("%02X%02X%02X%02X", 255 - value, value, 255 - value, value),
+                    formatColorValues(255 - value, value, 255 - value, value));
+        }
+    }
+
+    @Test
+    public void testWriteColor_sampledSweepMatchesStringFormat() throws Exception {
+        final char[] buffer = new char[10];
+        for (long packed = 0; packed <= 0xFFFFFFFFL; packed += SWEEP_STEP) {
+            assertWriteColorMatches(buffer, (int) packed);
+        }
+        assertWriteColorMatches(buffer, 0xFFFFFFFF);
+        assertWriteColorMatches(buffer, 0x80000000);
+        assertWriteColorMatches(buffer, 0x7FFFFFFF);
+    }
+
+    @Test
+    public void testWriteColor_offset() throws Exception {
+        final char[] buffer = "--------------".toCharArray();
+
+        assertEquals(8, writeColor(buffer, 3, 0x429ACD32, true));
+        assertEquals("---429ACD32---", new String(buffer));
+
+        assertEquals(6, writeColor(buffer, 8, 0x429ACD32, false));
+        assertEquals("---429AC9ACD32", new String(buffer));
+    }
+
+    @Test
+    public void testAppendColor() throws Exception {
+        final StringBuilder builder = new StringBuilder("#");
+        appendColor(builder, 0x429ACD32, true);
+        appendColor(builder.append('#'), 0x429ACD32, false);
+        assertEquals("#429ACD32#9ACD32", builder.toString());
+
+        final CharArrayWriter writer = new CharArrayWriter();
+        appendColor((Appendable) writer, 0xFF00FF00, true);
+        appendColor((Appendable) writer, 0x00ABCDEF, false);
+        assertEquals("FF00FF00ABCDEF", writer.toString());
+    }
+
+    @Test
+    public void testParseColor_validValues() throws Exception {
+        assertEquals(0xFF9ACD32L, parseColor("9ACD32"));
+        assertEquals(0xFF9ACD32L, parseColor("9acd32"));
+        assertEquals(0x429ACD32L, parseColor("429ACD32"));
+        assertEquals(0xFFFFFFFFL, parseColor("FFFFFFFF"));
+        assertEquals(0x00000000L, parseColor("00000000"));
+        assertEquals(0xFF000000L, parseColor("000000"));
+
+        assertEquals(0xFFFF00CCL, parseColor("F0C"));
+        assertEquals(0x88FF00CCL, parseColor("8F0C"));
+        assertEquals(0x00000000L, parseColor("0000"));
+    }
+
+    @Test
+    public void testParseColor_invalidValues() throws Exception {
+        assertEquals(INVALID_COLOR, parseColor(""));
+        assertEquals(INVALID_COLOR, parseColor("F"));
+        assertEquals(INVALID_COLOR, parseColor("FF"));
+        assertEquals(INVALID_COLOR, parseColor("FFFFF"));
+        assertEquals(INVALID_COLOR, parseColor("FFFFFFF"));
+        assertEquals(INVALID_COLOR, parseColor("FFFFFFFFF"));
+        assertEquals(INVALID_COLOR, parseColor("#FFFFFF"));
+        assertEquals(INVALID_COLOR, parseColor("9ACD3G"));
+        assertEquals(INVALID_COLOR, parseColor("9ACD3 "));
+        assertEquals(INVALID_COLOR, parseColor("-ACD32"));
+        assertEquals(INVALID_COLOR, parseColor("\uFF10ACD32"));
+    }
+
+    @Test
+    public void testParseColor_range() throws Exception {
+        assertEquals(0xFF9ACD32L, parseColor("#9ACD32;", 1, 7));
+        assertEquals(0x429ACD32L, parseColor(new StringBuilder("xx429ACD32"), 2, 10));
+        assertEquals(INVALID_COLOR, parseColor("#9ACD32;", 0, 7));
+    }
+
+    @Test
+    public void testHexValue() throws Exception {
+        for (char c = 0; c < Character.MAX_VALUE; c++) {
+            assertEquals(Character.digit(c, 16) >= 0 && c < 128 ? Character.digit(c, 16) : -1,
+                    hexValue(c));
+        }
+    }
+
+    @Test
+    public void testExpandColor() throws Exception {
+        assertEquals(0xFF99CC33L, expandColor(0x9C3, 3));
+        assertEquals(0x4499CC33L, expandColor(0x49C3, 4));
+        assertEquals(0xFF9ACD32L, expandColor(0x9ACD32, 6));
+        assertEquals(0xF29ACD32L, expandColor(0xF29ACD32, 8));
+        for (int digits : new int[]{0, 1, 2, 5, 7, 9}) {
+            assertEquals(INVALID_COLOR, expandColor(0x123, digits));
+        }
+    }
+
+    @Test
+    public void testParseColor_roundTrip() throws Exception {
+        final char[] buffer = new char[8];
+        for (long packed = 0; packed <= 0xFFFFFFFFL; packed += SWEEP_STEP) {
+            final int color = (int) packed;
+
+            final int argbLength = writeColor(buffer, 0, color, true);
+            assertEquals(packed, parseColor(new String(buffer, 0, argbLength)));
+
+            final int rgbLength = writeColor(buffer, 0, color, false);
+            assertEquals(0xFF000000L | (packed & 0xFFFFFF), parseColor(new String(buffer, 0, rgbLength)));
+        }
+    }
+
+    /**
+     * The previous parsing path ('#' concatenation, Long.parseLong and exceptions for invalid
+     * input) and parseColor have to agree on every input. FormatHelperBenchmark compares their
+     * speed.
+     */
+    @Test
+    public void testParseColor_sameAsPreviousPath() throws Exception {
+        final Random random = new Random(42);
+        for (int i = 0; i < 4096; i++) {
+            final String hex = formatColorValues(random.nextInt(256), random.nextInt(256),
+                    random.nextInt(256), random.nextInt(256));
+            // One in eight inputs is invalid
+            final String input = (i & 7) == 0 ? hex.substring(0, 7) + 'X' : hex;
+            assertEquals(parseColorWithExceptions(input), parseColor(input));
+        }
+    }
+
+    /**
+     * What Color.parseColor does for '#' + input, without the Android dependency.
+     */
+    private static long parseColorWithExceptions(String input) {
+        try {
+            final String hex = '#' + input;
+            long color = Long.parseLong(hex.substring(1), 16);
+            if (hex.length() == 7) {
+                color |= 0x00000000ff000000L;
+            } else if (hex.length() != 9) {
+                throw new IllegalArgumentException("Unknown color");
+            }
+            return color;
+        } catch (IllegalArgumentException ignored) {
+            return INVALID_COLOR;
+        }
+    }
+
+    @Test
+    public void testContentEquals() throws Exception {
+        final char[] buffer = "429ACD32".toCharArray();
+
+        assertTrue(contentEquals("429ACD32", buffer, 8));
+        assertTrue(contentEquals(new StringBuilder("429ACD"), buffer, 6));
+        assertTrue(contentEquals("", buffer, 0));
+
+        assertFalse(contentEquals("429ACD3", buffer, 8));
+        assertFalse(contentEquals("429ACD32", buffer, 6));
+        assertFalse(contentEquals("429acd32", buffer, 8));
+    }
+
+    @Test
+    public void testProgressLabel() throws Exception {
+        for (int value = -300; value <= 400; value++) {
+            assertEquals(String.valueOf(value), progressLabel(value));
+        }
+        assertSame(progressLabel(42), progressLabel(42));
+        assertSame(progressLabel(359), progressLabel(359));
+    }
+
+    /**
+     * The seek bar labels and the HEX code are written on every frame of a drag, neither may
+     * allocate.
+     */
+    @Test
+    public void testPerFrameFormattingDoesNotAllocate() throws Exception {
+        final com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        final char[] buffer = new char[8];
+        long checksum = 0;
+        for (int warmup = 0; warmup < 3; warmup++) {
+            checksum += formatFrames(buffer);
+        }
+
+        final long threadId = Thread.currentThread().getId();
+        // What reading the counter costs by itself
+        final long overhead = -threads.getThreadAllocatedBytes(threadId)
+                + threads.getThreadAllocatedBytes(threadId);
+
+        final long before = threads.getThreadAllocatedBytes(threadId);
+        checksum += formatFrames(buffer);
+        final long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue("checksum " + checksum, checksum != 0);
+        assertTrue("allocated " + allocated + " bytes", allocated <= overhead);
+    }
+
+    private static long formatFrames(char[] buffer) {
+        long checksum = 0;
+        for (int i = 0; i < 100000; i++) {
+            final int value = i & 0xFF;
+            checksum += progressLabel(value).length();
+            checksum += writeColor(buffer, 0, i * 0x01010101, true);
+            checksum += buffer[7];
+        }
+        return checksum;
+    }
+
+    private static void assertWriteColorMatches(char[] buffer, int color) {
+        final int a = color >>> 24;
+        final int r = (color >> 16) & 0xFF;
+        final int g = (color >> 8) & 0xFF;
+        final int b = color & 0xFF;
+
+        final int argbLength = writeColor(buffer, 1, color, true);
+        assertEquals(String.format("%02X%02X%02X%02X", a, r, g, b),
+                new String(buffer, 1, argbLength));
+
+        final int rgbLength = writeColor(buffer, 2, color, false);
+        assertEquals(String.format("%02X%02X%02X", r, g, b),
+                new String(buffer, 2, rgbLength));
+    }
+}
@@ -0,0 +1,109 @@
+package io.github.long76.androidxcolorpicker;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static io.github.long76.androidxcolorpicker.AXColorPickerFormatHelper.INVALID_COLOR;
+import static io.github.long76.androidxcolorpicker.AXColorPickerFormatHelper.parseColor;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AXColorPickerHexInputTest {
+
+    @Test
+    public void testTyping() throws Exception {
+        final AXColorPickerHexInput input = new AXColorPickerHexInput();
+        final StringBuilder text = new StringBuilder();
+
+        for (char c : "429acd32".toCharArray()) {
+            text.append(c);
+            input.onTextChanged(text, text.length() - 1, 0, 1);
+        }
+        assertTrue(input.isValid());
+        assertEquals(0x429ACD32L, input.getColor());
+
+        text.append('0');
+        input.onTextChanged(text, 8, 0, 1);
+        assertFalse(input.isValid());
+        assertEquals(8, input.getDigits());
+        assertEquals(9, input.getLength());
+
+        text.setLength(8);
+        input.onTextChanged(text, 8, 1, 0);
+        assertEquals(0x429ACD32L, input.getColor());
+    }
+
+    @Test
+    public void testPartialInput() throws Exception {
+        final AXColorPickerHexInput input = new AXColorPickerHexInput();
+
+        input.set("");
+        assertEquals(INVALID_COLOR, input.getColor());
+
+        input.set("9AC");
+        assertEquals(0xFF99AACCL, input.getColor());
+
+        input.set("9ACD3");
+        assertFalse(input.isValid());
+        assertEquals(5, input.getDigits());
+    }
+
+    @Test
+    public void testInvalidCharBeforeEdit() throws Exception {
+        final AXColorPickerHexInput input = new AXColorPickerHexInput();
+        final StringBuilder text = new StringBuilder("9XCD32");
+
+        input.set(text);
+        assertEquals(1, input.getDigits());
+        assertFalse(input.isValid());
+
+        text.setCharAt(4, '0');
+        input.onTextChanged(text, 4, 1, 1);
+        assertFalse(input.isValid());
+
+        text.setCharAt(1, 'A');
+        input.onTextChanged(text, 1, 1, 1);
+        assertEquals(0xFF9ACD02L, input.getColor());
+    }
+
+    @Test
+    public void testEditInTheMiddle() throws Exception {
+        final AXColorPickerHexInput input = new AXColorPickerHexInput();
+        final StringBuilder text = new StringBuilder("429ACD32");
+        input.set(text);
+
+        text.replace(2, 4, "FF");
+        input.onTextChanged(text, 2, 2, 2);
+        assertEquals(0x42FFCD32L, input.getColor());
+
+        text.delete(0, 2);
+        input.onTextChanged(text, 0, 2, 0);
+        assertEquals(0xFFFFCD32L, input.getColor());
+    }
+
+    @Test
+    public void testRandomEditsMatchParseColor() throws Exception {
+        final Random random = new Random(7);
+        final char[] alphabet = "0123456789abcdefABCDEF#x ".toCharArray();
+        final AXColorPickerHexInput input = new AXColorPickerHexInput();
+        final StringBuilder text = new StringBuilder();
+
+        for (int i = 0; i < 100000; i++) {
+            final int start = random.nextInt(text.length() + 1);
+            final int before = random.nextInt(Math.min(3, text.length() - start) + 1);
+            final int count = text.length() > 10 ? 0 : random.nextInt(3);
+
+            final StringBuilder replacement = new StringBuilder();
+            for (int c = 0; c < count; c++) {
+                // Mostly valid digits so that complete colors show up often
+                replacement.append(alphabet[random.nextInt(random.nextInt(8) == 0 ? alphabet.length : 16)]);
+            }
+            text.replace(start, start + before, replacement.toString());
+            input.onTextChanged(text, start, before, count);
+
+            assertEquals(text.toString(), parseColor(text), input.getColor());
+        }
+    }
+}
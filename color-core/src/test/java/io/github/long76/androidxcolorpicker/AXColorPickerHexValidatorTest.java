@@ -0,0 +1,108 @@
+package io.github.long76.androidxcolorpicker;
+
+import org.junit.Test;
+
+import static io.github.long76.androidxcolorpicker.AXColorPickerFormatHelper.INVALID_COLOR;
+import static io.github.long76.androidxcolorpicker.AXColorPickerHexValidator.STATE_COMPLETE;
+import static io.github.long76.androidxcolorpicker.AXColorPickerHexValidator.STATE_EMPTY;
+import static io.github.long76.androidxcolorpicker.AXColorPickerHexValidator.STATE_INVALID;
+import static io.github.long76.androidxcolorpicker.AXColorPickerHexValidator.STATE_PARTIAL;
+import static org.junit.Assert.assertEquals;
+
+public class AXColorPickerHexValidatorTest {
+
+    @Test
+    public void testTypingRgb() throws Exception {
+        final AXColorPickerHexValidator validator = new AXColorPickerHexValidator();
+        final StringBuilder text = new StringBuilder();
+        assertEquals(STATE_EMPTY, validator.getState());
+
+        final int[] expected = {STATE_PARTIAL, STATE_PARTIAL, STATE_PARTIAL, STATE_PARTIAL,
+                STATE_PARTIAL, STATE_COMPLETE, STATE_INVALID};
+        final String typed = "9acd32F";
+        for (int i = 0; i < typed.length(); i++) {
+            text.append(typed.charAt(i));
+            assertEquals("after " + text, expected[i], validator.onTextChanged(text, i, 0, 1));
+            if (expected[i] != STATE_COMPLETE) {
+                assertEquals(INVALID_COLOR, validator.getColor());
+            } else {
+                assertEquals(0xFF9ACD32L, validator.getColor());
+            }
+        }
+
+        // Back to complete, then empty
+        text.setLength(6);
+        assertEquals(STATE_COMPLETE, validator.onTextChanged(text, 6, 1, 0));
+        assertEquals(0xFF9ACD32L, validator.getColor());
+        text.setLength(0);
+        assertEquals(STATE_EMPTY, validator.onTextChanged(text, 0, 6, 0));
+    }
+
+    @Test
+    public void testTypingArgb() throws Exception {
+        final AXColorPickerHexValidator validator = new AXColorPickerHexValidator();
+        validator.setAlpha(true);
+
+        assertEquals(STATE_PARTIAL, validator.set("429ACD"));
+        assertEquals(STATE_PARTIAL, validator.set("429ACD3"));
+        assertEquals(STATE_COMPLETE, validator.set("429ACD32"));
+        assertEquals(0x429ACD32L, validator.getColor());
+        assertEquals(STATE_INVALID, validator.set("429ACD320"));
+    }
+
+    @Test
+    public void testInvalidChar() throws Exception {
+        final AXColorPickerHexValidator validator = new AXColorPickerHexValidator();
+        final StringBuilder text = new StringBuilder("9ACD3");
+        assertEquals(STATE_PARTIAL, validator.set(text));
+
+        text.insert(2, 'G');
+        assertEquals(STATE_INVALID, validator.onTextChanged(text, 2, 0, 1));
+
+        // Still invalid however long it gets, until the bad char goes
+        text.append('2');
+        assertEquals(STATE_INVALID, validator.onTextChanged(text, 6, 0, 1));
+        text.deleteCharAt(2);
+        assertEquals(STATE_COMPLETE, validator.onTextChanged(text, 2, 1, 0));
+        assertEquals(0xFF9ACD32L, validator.getColor());
+
+        assertEquals(STATE_INVALID, validator.set("#9ACD32"));
+        assertEquals(STATE_INVALID, validator.set(" "));
+    }
+
+    @Test
+    public void testShortFormsArePartial() throws Exception {
+        final AXColorPickerHexValidator validator = new AXColorPickerHexValidator();
+        assertEquals(STATE_PARTIAL, validator.set("9AC"));
+        assertEquals(INVALID_COLOR, validator.getColor());
+
+        validator.setAlpha(true);
+        assertEquals(STATE_PARTIAL, validator.set("89AC"));
+    }
+
+    @Test
+    public void testChangingTheFormatUpdatesTheState() throws Exception {
+        final AXColorPickerHexValidator validator = new AXColorPickerHexValidator();
+        assertEquals(STATE_COMPLETE, validator.set("9ACD32"));
+
+        assertEquals(STATE_PARTIAL, validator.setAlpha(true));
+        assertEquals(INVALID_COLOR, validator.getColor());
+        assertEquals(STATE_COMPLETE, validator.setAlpha(false));
+        assertEquals(0xFF9ACD32L, validator.getColor());
+
+        validator.setAlpha(true);
+        assertEquals(STATE_COMPLETE, validator.set("429ACD32"));
+        assertEquals(STATE_INVALID, validator.setAlpha(false));
+    }
+
+    @Test
+    public void testPaste() throws Exception {
+        final AXColorPickerHexValidator validator = new AXColorPickerHexValidator();
+        final StringBuilder text = new StringBuilder("12");
+        validator.set(text);
+
+        text.replace(0, 2, "abcdef");
+        assertEquals(STATE_COMPLETE, validator.onTextChanged(text, 0, 2, 6));
+        assertEquals(0xFFABCDEFL, validator.getColor());
+    }
+}
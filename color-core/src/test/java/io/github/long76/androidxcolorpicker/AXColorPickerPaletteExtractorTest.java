@@ -0,0 +1,142 @@
+package io.github.long76.androidxcolorpicker;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AXColorPickerPaletteExtractorTest {
+
+    @Test
+    public void testBin() throws Exception {
+        assertEquals(0, AXColorPickerPaletteExtractor.bin(0xFF070707));
+        assertEquals(AXColorPickerPaletteExtractor.HISTOGRAM_SIZE - 1,
+                AXColorPickerPaletteExtractor.bin(0xFFF8F8F8));
+        assertEquals(31 << 10, AXColorPickerPaletteExtractor.bin(0xFFFF0000));
+        assertEquals(31 << 5, AXColorPickerPaletteExtractor.bin(0xFF00FF00));
+        assertEquals(31, AXColorPickerPaletteExtractor.bin(0xFF0000FF));
+    }
+
+    @Test
+    public void testHistogram() throws Exception {
+        final int[] pixels = {
+                0xFFFF0000, 0xFFFF0000, 0x00FF0000,
+                0xFF0000FF, 0x80FF0000, 0x7F0000FF,
+        };
+        final int[] histogram = new int[AXColorPickerPaletteExtractor.HISTOGRAM_SIZE];
+        assertEquals(4, AXColorPickerPaletteExtractor.histogram(pixels, 3, 2, 1, histogram));
+        assertEquals(3, histogram[AXColorPickerPaletteExtractor.bin(0xFFFF0000)]);
+        assertEquals(1, histogram[AXColorPickerPaletteExtractor.bin(0xFF0000FF)]);
+
+        // Every second pixel of every second row
+        Arrays.fill(histogram, 0);
+        assertEquals(1, AXColorPickerPaletteExtractor.histogram(pixels, 3, 2, 2, histogram));
+        assertEquals(1, histogram[AXColorPickerPaletteExtractor.bin(0xFFFF0000)]);
+    }
+
+    @Test
+    public void testParallelHistogramSameAsSequential() throws Exception {
+        final int width = 1500;
+        final int height = 1000;
+        final int[] pixels = randomPixels(width * height, new Random(42));
+        final int defaultStep = AXColorPickerPaletteExtractor.sampleStep(width, height,
+                AXColorPickerPaletteExtractor.DEFAULT_MAX_SAMPLES);
+        for (int step : new int[]{1, 2, 3, defaultStep}) {
+            final int[] sequential = new int[AXColorPickerPaletteExtractor.HISTOGRAM_SIZE];
+            final int[] parallel = new int[AXColorPickerPaletteExtractor.HISTOGRAM_SIZE];
+            assertEquals(
+                    AXColorPickerPaletteExtractor.histogram(pixels, width, height, step,
+                            sequential),
+                    AXColorPickerPaletteExtractor.histogramParallel(pixels, width, height, step,
+                            parallel));
+            assertArrayEquals(sequential, parallel);
+        }
+    }
+
+    @Test
+    public void testSampleStep() throws Exception {
+        assertEquals(1, AXColorPickerPaletteExtractor.sampleStep(100, 100, 10000));
+        assertEquals(2, AXColorPickerPaletteExtractor.sampleStep(200, 200, 10000));
+        for (int size = 257; size < 8000; size += 977) {
+            final int step = AXColorPickerPaletteExtractor.sampleStep(size, size / 2,
+                    AXColorPickerPaletteExtractor.DEFAULT_MAX_SAMPLES);
+            final long samples = (long) ((size + step - 1) / step)
+                    * ((size / 2 + step - 1) / step);
+            assertTrue("size " + size,
+                    samples <= AXColorPickerPaletteExtractor.DEFAULT_MAX_SAMPLES);
+        }
+    }
+
+    @Test
+    public void testDistinctColors() throws Exception {
+        // Three blocks of 5 bit exact colors, the largest first
+        final int[] pixels = new int[100];
+        Arrays.fill(pixels, 0, 50, 0xFF0000FF);
+        Arrays.fill(pixels, 50, 80, 0xFFFF0000);
+        Arrays.fill(pixels, 80, 100, 0xFF00FF00);
+        assertArrayEquals(new int[]{0xFF0000FF, 0xFFFF0000, 0xFF00FF00},
+                AXColorPickerPaletteExtractor.extract(pixels, 10, 10, 8));
+        assertEquals(1, AXColorPickerPaletteExtractor.extract(pixels, 10, 10, 1).length);
+    }
+
+    @Test
+    public void testClustersAveraged() throws Exception {
+        // Noisy reds and blues, two colors close to their means
+        final Random random = new Random(7);
+        final int[] pixels = new int[400 * 300];
+        for (int i = 0; i < pixels.length; i++) {
+            final int noise = random.nextInt(16);
+            pixels[i] = i % 3 == 0
+                    ? AXColorPickerColorHelper.argb(255, 200 + noise, 40, 40)
+                    : AXColorPickerColorHelper.argb(255, 30, 60, 180 + noise);
+        }
+        final int[] colors = AXColorPickerPaletteExtractor.extract(pixels, 400, 300, 2);
+        assertEquals(2, colors.length);
+        assertTrue(AXColorPickerColorScience.deltaE2000(
+                AXColorPickerColorHelper.argb(255, 30, 60, 187), colors[0]) < 3);
+        assertTrue(AXColorPickerColorScience.deltaE2000(
+                AXColorPickerColorHelper.argb(255, 207, 40, 40), colors[1]) < 3);
+    }
+
+    @Test
+    public void testOpaqueAndAtMostMaxColors() throws Exception {
+        final int[] pixels = randomPixels(640 * 480, new Random(3));
+        for (int maxColors : new int[]{1, 5, 16, AXColorPickerPaletteExtractor.MAX_COLORS}) {
+            final int[] colors = AXColorPickerPaletteExtractor.extract(pixels, 640, 480,
+                    maxColors);
+            assertEquals(maxColors, colors.length);
+            for (int color : colors) {
+                assertEquals(0xFF, color >>> 24);
+            }
+        }
+    }
+
+    @Test
+    public void testTransparentImage() throws Exception {
+        assertEquals(0, AXColorPickerPaletteExtractor.extract(new int[16], 4, 4, 8).length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooFewPixels() throws Exception {
+        AXColorPickerPaletteExtractor.extract(new int[15], 4, 4, 8);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooManyColors() throws Exception {
+        AXColorPickerPaletteExtractor.medianCut(
+                new int[AXColorPickerPaletteExtractor.HISTOGRAM_SIZE],
+                AXColorPickerPaletteExtractor.MAX_COLORS + 1);
+    }
+
+    private static int[] randomPixels(int count, Random random) {
+        final int[] pixels = new int[count];
+        for (int i = 0; i < count; i++) {
+            pixels[i] = random.nextInt() | 0xC0000000;
+        }
+        return pixels;
+    }
+}
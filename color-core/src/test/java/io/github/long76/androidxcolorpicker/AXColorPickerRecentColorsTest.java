@@ -0,0 +1,110 @@
+package io.github.long76.androidxcolorpicker;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AXColorPickerRecentColorsTest {
+
+    @Test
+    public void testMostRecentFirst() throws Exception {
+        final AXColorPickerRecentColors recent = new AXColorPickerRecentColors(4);
+        assertEquals(0, recent.size());
+
+        assertTrue(recent.add(0xFF000001));
+        assertTrue(recent.add(0xFF000002));
+        assertTrue(recent.add(0xFF000003));
+        assertArrayEquals(new int[]{0xFF000003, 0xFF000002, 0xFF000001}, recent.toArray());
+        assertEquals(0xFF000003, recent.get(0));
+        assertEquals(0xFF000001, recent.get(2));
+    }
+
+    @Test
+    public void testOldestIsDroppedWhenFull() throws Exception {
+        final AXColorPickerRecentColors recent = new AXColorPickerRecentColors(3);
+        for (int color = 1; color <= 5; color++) {
+            recent.add(color);
+        }
+        assertEquals(3, recent.size());
+        assertArrayEquals(new int[]{5, 4, 3}, recent.toArray());
+    }
+
+    @Test
+    public void testDuplicateMovesToTheFront() throws Exception {
+        final AXColorPickerRecentColors recent = new AXColorPickerRecentColors(4);
+        for (int color = 1; color <= 6; color++) {
+            recent.add(color);
+        }
+        assertArrayEquals(new int[]{6, 5, 4, 3}, recent.toArray());
+
+        assertFalse(recent.add(6));
+        assertArrayEquals(new int[]{6, 5, 4, 3}, recent.toArray());
+
+        assertTrue(recent.add(4));
+        assertArrayEquals(new int[]{4, 6, 5, 3}, recent.toArray());
+        assertTrue(recent.add(3));
+        assertArrayEquals(new int[]{3, 4, 6, 5}, recent.toArray());
+        assertEquals(4, recent.size());
+    }
+
+    @Test
+    public void testCopyToAcrossTheWrap() throws Exception {
+        final AXColorPickerRecentColors recent = new AXColorPickerRecentColors(5);
+        for (int color = 1; color <= 7; color++) {
+            recent.add(color);
+        }
+        final int[] out = new int[7];
+        assertEquals(5, recent.copyTo(out, 1));
+        assertArrayEquals(new int[]{0, 7, 6, 5, 4, 3, 0}, out);
+    }
+
+    @Test
+    public void testEncodeDecode() throws Exception {
+        final AXColorPickerRecentColors recent = new AXColorPickerRecentColors(4);
+        assertEquals("", recent.encode());
+        recent.add(0x809ACD32);
+        recent.add(0xFF000000);
+        recent.add(0x00FFFFFF);
+        final String encoded = recent.encode();
+        assertEquals("00FFFFFFFF000000809ACD32", encoded);
+
+        final AXColorPickerRecentColors read = new AXColorPickerRecentColors(4);
+        assertEquals(3, read.decode(encoded));
+        assertArrayEquals(recent.toArray(), read.toArray());
+
+        // Still a ring afterwards
+        read.add(0xFF123456);
+        read.add(0xFF654321);
+        assertArrayEquals(new int[]{0xFF654321, 0xFF123456, 0x00FFFFFF, 0xFF000000},
+                read.toArray());
+    }
+
+    @Test
+    public void testDecodeBadInput() throws Exception {
+        final AXColorPickerRecentColors recent = new AXColorPickerRecentColors(2);
+        recent.add(1);
+
+        assertEquals(0, recent.decode(null));
+        assertEquals(0, recent.size());
+
+        // Past the capacity
+        assertEquals(2, recent.decode("000000010000000200000003"));
+        assertArrayEquals(new int[]{1, 2}, recent.toArray());
+
+        // Stops at the first bad code, ignores a trailing partial one
+        assertEquals(1, recent.decode("00000001ZZ0000020000"));
+        assertArrayEquals(new int[]{1}, recent.toArray());
+
+        // Duplicates are merged
+        assertEquals(2, recent.decode("0000000100000001"));
+        assertArrayEquals(new int[]{1}, recent.toArray());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroCapacity() throws Exception {
+        new AXColorPickerRecentColors(0);
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.long76.androidxcolorpicker;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AXColorPickerSvPlaneTest {
+
+    @Test
+    public void testCorners() throws Exception {
+        final int[] pixels = new int[64 * 48];
+        AXColorPickerSvPlane.render(0, pixels, 64, 48);
+        assertEquals(0xFFFFFFFF, pixels[0]);
+        assertEquals(0xFFFF0000, pixels[63]);
+        assertEquals(0xFF000000, pixels[47 * 64]);
+        assertEquals(0xFF000000, pixels[47 * 64 + 63]);
+
+        AXColorPickerSvPlane.render(240, pixels, 64, 48);
+        assertEquals(0xFFFFFFFF, pixels[0]);
+        assertEquals(0xFF0000FF, pixels[63]);
+    }
+
+    @Test
+    public void testSameAsHsvToColor() throws Exception {
+        // One pixel per percent, so every pixel is an exact saturation and value
+        final int size = AXColorPickerColorSpace.MAX_PERCENT + 1;
+        final int[] pixels = new int[size * size];
+        for (int hue = 0; hue <= AXColorPickerColorSpace.MAX_HUE; hue += 7) {
+            AXColorPickerSvPlane.render(hue, pixels, size, size);
+            for (int y = 0; y < size; y++) {
+                for (int x = 0; x < size; x++) {
+                    final int expected = AXColorPickerSvPlane.colorAt(hue,
+                            AXColorPickerSvPlane.saturationAt(x, size),
+                            AXColorPickerSvPlane.valueAt(y, size));
+                    assertClose("hue " + hue + " at " + x + "," + y,
+                            expected, pixels[y * size + x]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testLargePlane() throws Exception {
+        final int width = 2000;
+        final int height = 1500;
+        final int[] pixels = new int[width * height];
+        AXColorPickerSvPlane.render(120, pixels, width, height);
+        assertEquals(0xFFFFFFFF, pixels[0]);
+        assertEquals(0xFF00FF00, pixels[width - 1]);
+        assertEquals(0xFF000000, pixels[width * height - 1]);
+        for (int i = 0; i < pixels.length; i += 997) {
+            assertEquals(0xFF, pixels[i] >>> 24);
+        }
+    }
+
+    @Test
+    public void testOnePixel() throws Exception {
+        final int[] pixels = new int[1];
+        AXColorPickerSvPlane.render(0, pixels, 1, 1);
+        assertEquals(0xFFFFFFFF, pixels[0]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooFewPixels() throws Exception {
+        AXColorPickerSvPlane.render(0, new int[99], 10, 10);
+    }
+
+    @Test
+    public void testPositions() throws Exception {
+        assertEquals(0, AXColorPickerSvPlane.saturationAt(-5, 201));
+        assertEquals(50, AXColorPickerSvPlane.saturationAt(100, 201));
+        assertEquals(100, AXColorPickerSvPlane.saturationAt(500, 201));
+        assertEquals(100, AXColorPickerSvPlane.valueAt(0, 201));
+        assertEquals(0, AXColorPickerSvPlane.valueAt(200, 201));
+
+        for (int percent = 0; percent <= AXColorPickerColorSpace.MAX_PERCENT; percent++) {
+            assertEquals(percent, AXColorPickerSvPlane.saturationAt(
+                    AXColorPickerSvPlane.saturationX(percent, 333), 333));
+            assertEquals(percent, AXColorPickerSvPlane.valueAt(
+                    AXColorPickerSvPlane.valueY(percent, 257), 257));
+        }
+        assertEquals(0, AXColorPickerSvPlane.saturationX(100, 0), 0);
+    }
+
+    private static void assertClose(String message, int expected, int actual) {
+        for (int shift = 0; shift < 32; shift += 8) {
+            final int difference = ((expected >> shift) & 0xFF) - ((actual >> shift) & 0xFF);
+            assertTrue(message + ": " + Integer.toHexString(expected) + " vs "
+                    + Integer.toHexString(actual), Math.abs(difference) <= 1);
+        }
+    }
+}
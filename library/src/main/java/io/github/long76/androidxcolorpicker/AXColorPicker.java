@@ -2,37 +2,197 @@ package io.github.long76.androidxcolorpicker;
 
 import android.app.Dialog;
 import android.content.Context;
-import android.graphics.Color;
+import android.content.SharedPreferences;
+import android.content.res.ColorStateList;
+import android.graphics.Bitmap;
+import android.graphics.drawable.Drawable;
+import android.graphics.drawable.GradientDrawable;
 import android.os.Bundle;
 import android.text.InputFilter;
+import android.util.TypedValue;
+import android.view.Choreographer;
 import android.view.KeyEvent;
 import android.view.View;
+import android.view.ViewTreeObserver;
 import android.view.inputmethod.EditorInfo;
 import android.view.inputmethod.InputMethodManager;
+import android.widget.LinearLayout;
 import android.widget.SeekBar;
 
 import androidx.annotation.ColorInt;
 import androidx.annotation.Dimension;
+import androidx.annotation.IntDef;
 import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.appcompat.widget.AppCompatButton;
 import androidx.appcompat.widget.AppCompatEditText;
 import androidx.appcompat.widget.AppCompatSeekBar;
-
+import androidx.appcompat.widget.AppCompatTextView;
+import androidx.recyclerview.widget.GridLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.concurrent.Executor;
+
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.ALPHA_SHIFT;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.BLUE_SHIFT;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.GREEN_SHIFT;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.RED_SHIFT;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.argb;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.channel;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.gradientEnd;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.gradientStart;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorHelper.rgb;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorSpace.MAX_HUE;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorSpace.MAX_PERCENT;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorSpace.brightness;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorSpace.colorToHsl;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorSpace.colorToHsv;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorSpace.hslToColor;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorSpace.hsvToColor;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorSpace.hue;
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorSpace.saturation;
+import static io.github.long76.androidxcolorpicker.AXColorPickerFormatHelper.ARGB_LENGTH;
+import static io.github.long76.androidxcolorpicker.AXColorPickerFormatHelper.INVALID_COLOR;
 import static io.github.long76.androidxcolorpicker.AXColorPickerFormatHelper.assertColorValueInRange;
-import static io.github.long76.androidxcolorpicker.AXColorPickerFormatHelper.formatColorValues;
+import static io.github.long76.androidxcolorpicker.AXColorPickerFormatHelper.contentEquals;
+import static io.github.long76.androidxcolorpicker.AXColorPickerFormatHelper.parseColor;
+import static io.github.long76.androidxcolorpicker.AXColorPickerFormatHelper.writeColor;
+import static io.github.long76.androidxcolorpicker.AXColorPickerMetrics.METRIC_CALLBACK_DISPATCH;
+import static io.github.long76.androidxcolorpicker.AXColorPickerMetrics.METRIC_COALESCED_UPDATES;
+import static io.github.long76.androidxcolorpicker.AXColorPickerMetrics.METRIC_FRAME_UPDATE;
+import static io.github.long76.androidxcolorpicker.AXColorPickerMetrics.METRIC_HEX_FORMAT;
+import static io.github.long76.androidxcolorpicker.AXColorPickerMetrics.METRIC_INFLATE;
+import static io.github.long76.androidxcolorpicker.AXColorPickerMetrics.METRIC_PROGRESS_CHANGED;
+import static io.github.long76.androidxcolorpicker.AXColorPickerMetrics.METRIC_SHOW_TO_FIRST_DRAW;
+import static io.github.long76.androidxcolorpicker.AXColorPickerUpdateScheduler.DIRTY_ALL;
+import static io.github.long76.androidxcolorpicker.AXColorPickerUpdateScheduler.DIRTY_ALPHA;
+import static io.github.long76.androidxcolorpicker.AXColorPickerUpdateScheduler.DIRTY_BLUE;
+import static io.github.long76.androidxcolorpicker.AXColorPickerUpdateScheduler.DIRTY_GREEN;
+import static io.github.long76.androidxcolorpicker.AXColorPickerUpdateScheduler.DIRTY_RED;
 
 public class AXColorPicker extends Dialog implements AppCompatSeekBar.OnSeekBarChangeListener {
 
+    /**
+     * Red, green and blue seek bars
+     *
+     * @since v3.2
+     */
+    public static final int COLOR_MODE_RGB = 0;
+
+    /**
+     * Hue, saturation and value seek bars, under a saturation/value square
+     *
+     * @since v3.2
+     */
+    public static final int COLOR_MODE_HSV = 1;
+
+    /**
+     * Hue, saturation and lightness seek bars
+     *
+     * @since v3.2
+     */
+    public static final int COLOR_MODE_HSL = 2;
+
+    /**
+     * Set of seek bars of the picker, the alpha one apart
+     *
+     * @since v3.2
+     */
+    @IntDef({COLOR_MODE_RGB, COLOR_MODE_HSV, COLOR_MODE_HSL})
+    @Retention(RetentionPolicy.SOURCE)
+    public @interface ColorMode {
+    }
+
+    /**
+     * Default delay between the last keystroke in the HEX code and applying it
+     *
+     * @since v3.2
+     */
+    public static final long DEFAULT_HEX_INPUT_DEBOUNCE_MILLIS = 300;
+
+    /**
+     * Name of the SharedPreferences file holding the recent colors
+     *
+     * @since v3.2
+     */
+    public static final String RECENT_COLORS_PREFERENCES = "axcolorpicker_recent_colors";
+
+    /**
+     * Key of the recent colors in {@link #RECENT_COLORS_PREFERENCES}, all of them packed in one
+     * string by {@link AXColorPickerRecentColors#encode()}
+     */
+    private static final String RECENT_COLORS_KEY = "recentColors";
+
+    /**
+     * Keys of the state saved: the color packed in one int, and the flags below
+     */
+    private static final String STATE_COLOR = "axcolorpicker:color";
+    private static final String STATE_FLAGS = "axcolorpicker:flags";
+
+    /**
+     * Color mode in the lowest bits of the flags, then the ARGB format
+     */
+    private static final int STATE_COLOR_MODE_MASK = 0x3;
+    private static final int STATE_ARGB_FORMAT = 1 << 2;
+
+    /**
+     * Stops of the hue track: every 60 degrees, back to red
+     */
+    private static final int HUE_TRACK_STOPS = 7;
+
     private final Context context;
 
     private View colorView = null;
-    private AppCompatSeekBar alphaSeekBar = null;
-    private AppCompatSeekBar redSeekBar = null;
-    private AppCompatSeekBar greenSeekBar = null;
-    private AppCompatSeekBar blueSeekBar = null;
+    private AXColorPickerSeekBar alphaSeekBar = null;
+    private AXColorPickerSeekBar redSeekBar = null;
+    private AXColorPickerSeekBar greenSeekBar = null;
+    private AXColorPickerSeekBar blueSeekBar = null;
     private AppCompatEditText hexCode = null;
+    private AppCompatButton okButton = null;
+    private AXColorPickerHexWatcher hexWatcher = null;
+    private View recentColorsScroll = null;
+    private LinearLayout recentColorsView = null;
+    private AXColorPickerRecentColors recentColors = null;
+    private SharedPreferences recentColorsPreferences = null;
+    private RecyclerView paletteGrid = null;
+    private AXColorPickerSwatchAdapter swatchAdapter = null;
+    private int[] palette = null;
+    private Executor paletteExtractor = null;
+
+    /**
+     * Incremented on every palette set, so a palette extracted in the background is dropped if
+     * another one was set since
+     */
+    private int paletteGeneration;
+    private AXColorPickerSvPlaneView svPlane = null;
+    private AppCompatTextView colorNameView = null;
+    private AXColorPickerColorIndex colorNames = null;
+
+    /**
+     * Palette index of the name shown, so the text is only set when the name changes
+     */
+    private int colorNameIndex = -1;
+    private AppCompatTextView contrastBadgeView = null;
+    private GradientDrawable contrastBadgeBackground = null;
+    private boolean contrastBadge;
+
+    @ColorInt
+    private int contrastColor;
+
+    /**
+     * Contrast ratio shown, in tenths rounded down, so the text is only set when it changes
+     */
+    private int contrastBadgeTenths = -1;
+    private final char[] hexBuffer = new char[ARGB_LENGTH];
+    private final int[] trackColors = new int[HUE_TRACK_STOPS];
+    private final AXColorPickerUpdateScheduler updateScheduler =
+            new AXColorPickerUpdateScheduler(new ChoreographerFrameClock(), this::applyUpdate);
     private String text = null;
     private AXColorPickerCallback callback = null;
+    private AXColorPickerColorStream colorStream = null;
     private boolean ARGBFormat;
     private boolean autoClose;
     private boolean customButtonColor;
@@ -41,12 +201,41 @@ public class AXColorPicker extends Dialog implements AppCompatSeekBar.OnSeekBarC
     @Dimension(unit = 2)
     private float textSizeButton;
 
+    private CharSequence defaultButtonText;
+    private Drawable defaultButtonBackground;
+    private ColorStateList defaultButtonTextColors;
+    private float defaultButtonTextSize;
+
     @ColorInt
     private int backColorButton, textColorButton;
 
     @IntRange(from = 0, to = 255)
     private int alpha, red, green, blue;
 
+    @ColorMode
+    private int colorMode;
+
+    /**
+     * HSV or HSL of the color in the HSV and HSL modes. Kept apart from the RGB values because
+     * converting back from RGB would make the seek bars drift, and hue is lost on grays.
+     */
+    private int hue, saturation, brightness;
+
+    /**
+     * Set while the seek bars are moved to match the color, so that doesn't count as a change
+     */
+    private boolean syncingSeekBars;
+
+    private long hexInputDebounceMillis;
+
+    private long inflateTimeNanos = -1;
+    private long showToFirstDrawNanos = -1;
+
+    /**
+     * Coalesced update count when last shown, the ones of a show are recorded when it stops
+     */
+    private long coalescedAtShow;
+
     /**
      * Creator of the class. It will initialize the class with black color as default
      *
@@ -58,19 +247,7 @@ public class AXColorPicker extends Dialog implements AppCompatSeekBar.OnSeekBarC
 
         this.context = context;
 
-        if (context instanceof AXColorPickerCallback) {
-            callback = (AXColorPickerCallback) context;
-        }
-
-        alpha = 255;
-        red = 0;
-        green = 0;
-        blue = 0;
-
-        ARGBFormat = false;
-        autoClose = false;
-        customButtonColor = false;
-        customButtonTextSize = false;
+        reset();
     }
 
     /**
@@ -123,6 +300,40 @@ public class AXColorPicker extends Dialog implements AppCompatSeekBar.OnSeekBarC
         ARGBFormat = true;
     }
 
+    /**
+     * Put the color picker back in the state of a new instance: black color, RGB format and
+     * mode, no auto-close, default submit button, no subscription to the
+     * {@link #getColorStream() color stream} and the activity as listener if it implements
+     * AXColorPickerCallback. The inflated views are kept, so showing a reset picker again is
+     * cheaper than showing a new one.
+     *
+     * @since v3.2
+     */
+    public void reset() {
+        callback = context instanceof AXColorPickerCallback ? (AXColorPickerCallback) context : null;
+
+        alpha = 255;
+        red = 0;
+        green = 0;
+        blue = 0;
+
+        ARGBFormat = false;
+        colorMode = COLOR_MODE_RGB;
+        hexInputDebounceMillis = DEFAULT_HEX_INPUT_DEBOUNCE_MILLIS;
+        recentColors = null;
+        palette = null;
+        paletteGeneration++;
+        colorNames = null;
+        contrastBadge = false;
+        autoClose = false;
+        text = null;
+        customButtonColor = false;
+        customButtonTextSize = false;
+        if (colorStream != null) {
+            colorStream.disposeAll();
+        }
+    }
+
     /**
      * Set text submit button.
      *
@@ -153,6 +364,229 @@ public class AXColorPicker extends Dialog implements AppCompatSeekBar.OnSeekBarC
         this.ARGBFormat = ARGBFormat;
     }
 
+    /**
+     * Get the seek bars shown by the picker
+     *
+     * @return One of COLOR_MODE_RGB, COLOR_MODE_HSV or COLOR_MODE_HSL
+     * @since v3.2
+     */
+    @ColorMode
+    public int getColorMode() {
+        return colorMode;
+    }
+
+    /**
+     * Set the seek bars shown by the picker: red, green and blue (default), hue, saturation and
+     * value, or hue, saturation and lightness. The alpha seek bar, the HEX code and the chosen
+     * color are the same in every mode.
+     *
+     * @param colorMode One of COLOR_MODE_RGB, COLOR_MODE_HSV or COLOR_MODE_HSL
+     * @since v3.2
+     */
+    public void setColorMode(@ColorMode int colorMode) {
+        this.colorMode = colorMode;
+    }
+
+    /**
+     * Get the delay before a HEX code typed in is applied
+     *
+     * @return Delay in milliseconds
+     * @since v3.2
+     */
+    public long getHexInputDebounce() {
+        return hexInputDebounceMillis;
+    }
+
+    /**
+     * Set the delay between the last keystroke in the HEX code and updating the color. The code
+     * is checked on every keystroke, a complete one (6 digits, 8 in ARGB format) is applied once
+     * the user stops typing for this delay; shorter codes when the user confirms them.
+     *
+     * @param debounceMillis Delay in milliseconds, 0 to apply complete codes at once
+     * @since v3.2
+     */
+    public void setHexInputDebounce(long debounceMillis) {
+        hexInputDebounceMillis = Math.max(0, debounceMillis);
+    }
+
+    /**
+     * Get the number of recent colors shown
+     *
+     * @return Number of colors, 0 if the recent colors are off
+     * @since v3.2
+     */
+    public int getRecentColorsCount() {
+        return recentColors != null ? recentColors.getCapacity() : 0;
+    }
+
+    /**
+     * Show the last colors chosen under the HEX code, a tap on one of them picks it again. The
+     * colors are shared by every picker of the application and kept in the
+     * {@link #RECENT_COLORS_PREFERENCES} SharedPreferences, written in the background when a
+     * color is chosen. Off by default.
+     *
+     * @param count Number of colors kept, 0 to turn the recent colors off
+     * @since v3.2
+     */
+    public void setRecentColorsCount(@IntRange(from = 0) int count) {
+        if (count <= 0) {
+            recentColors = null;
+            return;
+        }
+        if (recentColors == null || recentColors.getCapacity() != count) {
+            recentColors = new AXColorPickerRecentColors(count);
+        }
+        if (recentColorsPreferences == null) {
+            // Starts loading the file in the background, long before the dialog shows
+            recentColorsPreferences = context.getSharedPreferences(RECENT_COLORS_PREFERENCES,
+                    Context.MODE_PRIVATE);
+        }
+    }
+
+    /**
+     * Get the recent colors, see {@link #setRecentColorsCount(int)}
+     *
+     * @return The colors, most recent first. Empty if the recent colors are off.
+     * @since v3.2
+     */
+    public int[] getRecentColors() {
+        if (recentColors == null) {
+            return new int[0];
+        }
+        recentColors.decode(recentColorsPreferences.getString(RECENT_COLORS_KEY, null));
+        return recentColors.toArray();
+    }
+
+    /**
+     * Get the palette shown instead of the seek bars
+     *
+     * @return Packed ARGB colors, null if the seek bars are shown
+     * @since v3.2
+     */
+    @Nullable
+    public int[] getPalette() {
+        return palette != null ? palette.clone() : null;
+    }
+
+    /**
+     * Show a grid of swatches to choose from instead of the seek bars, e.g. the colors of a brand
+     * palette. Palettes of thousands of colors scroll smoothly: the swatches are recycled, and
+     * setting another palette while the dialog is shown updates the grid in place, the changes
+     * being worked out in the background. A color repeated in the palette is shown once.
+     *
+     * @param palette Packed ARGB colors, null or empty to show the seek bars
+     * @since v3.2
+     */
+    public void setPalette(@Nullable int[] palette) {
+        paletteGeneration++;
+        applyPalette(palette != null ? palette.clone() : null);
+    }
+
+    /**
+     * Show the main colors of a bitmap as the palette, e.g. of a photo to pick a matching color
+     * from. The colors are extracted in the background and shown once ready, unless another
+     * palette was set in between; the picker can be shown meanwhile.
+     *
+     * @param bitmap    Bitmap of any config, it must not be recycled until the palette shows
+     * @param maxColors Largest number of colors shown (1 - 256)
+     * @see AXColorPickerBitmaps#extractPalette(Bitmap, int)
+     * @since v3.2
+     */
+    public void setPaletteFromBitmap(@NonNull Bitmap bitmap,
+                                     @IntRange(from = 1, to = 256) int maxColors) {
+        if (maxColors < 1 || maxColors > AXColorPickerPaletteExtractor.MAX_COLORS) {
+            throw new IllegalArgumentException("maxColors " + maxColors + " not in 1 - 256");
+        }
+        if (paletteExtractor == null) {
+            paletteExtractor =
+                    AXColorPickerExecutors.newBackgroundExecutor("AXColorPickerPaletteExtractor");
+        }
+        final int generation = ++paletteGeneration;
+        final Executor mainThread = AXColorPickerExecutors.mainThread();
+        paletteExtractor.execute(() -> {
+            final int[] colors = AXColorPickerBitmaps.extractPalette(bitmap, maxColors);
+            mainThread.execute(() -> {
+                if (generation == paletteGeneration) {
+                    applyPalette(colors);
+                }
+            });
+        });
+    }
+
+    private void applyPalette(@Nullable int[] palette) {
+        this.palette = palette != null && palette.length > 0 ? palette : null;
+        if (swatchAdapter != null && isShowing()) {
+            initPalette();
+        }
+    }
+
+    /**
+     * Get the named colors the nearest one of is shown
+     *
+     * @return Index of the named colors, null if no name is shown
+     * @since v3.2
+     */
+    @Nullable
+    public AXColorPickerColorIndex getColorNames() {
+        return colorNames;
+    }
+
+    /**
+     * Show the name of the nearest named color next to the HEX code, updated as the color
+     * changes. Building an index takes a while for large palettes, build it once and share it
+     * between the pickers; {@link AXColorPickerColorIndex#css()} names the CSS colors.
+     *
+     * <pre>
+     * colorPicker.setColorNames(AXColorPickerColorIndex.css());
+     * </pre>
+     *
+     * @param colorNames Index of the named colors, null to show no name
+     * @since v3.2
+     */
+    public void setColorNames(@Nullable AXColorPickerColorIndex colorNames) {
+        this.colorNames = colorNames;
+    }
+
+    /**
+     * Get the color the contrast of the color picked is measured against
+     *
+     * @return Color set by {@link #setContrastColor(int)}, null if no contrast badge is shown
+     * @since v3.2
+     */
+    @Nullable
+    @ColorInt
+    public Integer getContrastColor() {
+        return contrastBadge ? contrastColor : null;
+    }
+
+    /**
+     * Show a badge on the preview with the WCAG contrast ratio between the color picked and
+     * another one, and the level it passes: AAA, AA, AA for large text only, or none. Updated
+     * as the color changes, e.g. to pick a button background that its text stays readable on.
+     * The badge text is drawn in that other color, on the color picked.
+     *
+     * <pre>
+     * colorPicker.setContrastColor(Color.WHITE);
+     * </pre>
+     *
+     * @param color Color of the text the color picked is meant for, or its background
+     * @see AXColorPickerColorScience#contrastRatio(int, int)
+     * @since v3.2
+     */
+    public void setContrastColor(@ColorInt int color) {
+        contrastColor = color;
+        contrastBadge = true;
+    }
+
+    /**
+     * Hide the contrast badge of {@link #setContrastColor(int)}.
+     *
+     * @since v3.2
+     */
+    public void clearContrastColor() {
+        contrastBadge = false;
+    }
+
     /**
      * Get auto-close flag value
      *
@@ -216,26 +650,20 @@ public class AXColorPicker extends Dialog implements AppCompatSeekBar.OnSeekBarC
      */
     @Override
     protected void onCreate(Bundle savedInstanceState) {
+        final AXColorPickerMetrics metrics = AXColorPickerInstrumentation.metrics;
+        final long start = metrics != null ? System.nanoTime() : 0;
         super.onCreate(savedInstanceState);
         setContentView(R.layout.axcolorpicker_layout_color_picker);
 
         colorView = findViewById(R.id.colorView);
 
         hexCode = findViewById(R.id.hexCode);
-        AppCompatButton okButton = findViewById(R.id.okColorButton);
-
-        if (text != null) {
-            okButton.setText(text);
-        }
-
-        if (customButtonColor) {
-            okButton.setBackgroundColor(backColorButton);
-            okButton.setTextColor(textColorButton);
-        }
+        okButton = findViewById(R.id.okColorButton);
 
-        if (customButtonTextSize) {
-            okButton.setTextSize(textSizeButton);
-        }
+        defaultButtonText = okButton.getText();
+        defaultButtonBackground = okButton.getBackground();
+        defaultButtonTextColors = okButton.getTextColors();
+        defaultButtonTextSize = okButton.getTextSize();
 
         alphaSeekBar = findViewById(R.id.alphaSeekBar);
         redSeekBar = findViewById(R.id.redSeekBar);
@@ -247,14 +675,13 @@ public class AXColorPicker extends Dialog implements AppCompatSeekBar.OnSeekBarC
         greenSeekBar.setOnSeekBarChangeListener(this);
         blueSeekBar.setOnSeekBarChangeListener(this);
 
-        hexCode.setFilters(new InputFilter[]{new InputFilter.LengthFilter(ARGBFormat ? 8 : 6)});
-
         hexCode.setOnEditorActionListener((v, actionId, event) -> {
             if (actionId == EditorInfo.IME_ACTION_SEARCH ||
                     actionId == EditorInfo.IME_ACTION_DONE ||
                     event.getAction() == KeyEvent.ACTION_DOWN &&
                             event.getKeyCode() == KeyEvent.KEYCODE_ENTER) {
-                updateColorView(v.getText().toString());
+                hexWatcher.cancel();
+                updateColorView(v.getText());
                 InputMethodManager imm = (InputMethodManager) context.getSystemService(Context.INPUT_METHOD_SERVICE);
                 if (imm != null)
                     imm.hideSoftInputFromWindow(hexCode.getWindowToken(), 0);
@@ -264,30 +691,373 @@ public class AXColorPicker extends Dialog implements AppCompatSeekBar.OnSeekBarC
             return false;
         });
 
+        hexWatcher = new AXColorPickerHexWatcher(hexCode, new AXColorPickerHexWatcher.Listener() {
+            @Override
+            public void onHexStateChanged(int state) {
+                hexCode.setError(state == AXColorPickerHexValidator.STATE_INVALID
+                        ? context.getResources().getText(R.string.axcolorpicker_errHex)
+                        : null);
+            }
+
+            @Override
+            public void onHexColor(int color) {
+                applyHexColor(color);
+            }
+        });
+        hexCode.addTextChangedListener(hexWatcher);
+
         okButton.setOnClickListener(view -> sendColor());
+
+        svPlane = findViewById(R.id.svPlane);
+        svPlane.setOnSvChangeListener(this::onSvChanged);
+
+        colorNameView = findViewById(R.id.colorName);
+        contrastBadgeView = findViewById(R.id.contrastBadge);
+        contrastBadgeBackground = (GradientDrawable) contrastBadgeView.getBackground().mutate();
+        recentColorsScroll = findViewById(R.id.recentColorsScroll);
+        recentColorsView = findViewById(R.id.recentColors);
+
+        swatchAdapter = new AXColorPickerSwatchAdapter(this::onSwatchClick,
+                AXColorPickerExecutors.newBackgroundExecutor("AXColorPickerPalette"),
+                AXColorPickerExecutors.mainThread());
+        paletteGrid = findViewById(R.id.paletteGrid);
+        paletteGrid.setHasFixedSize(true);
+        paletteGrid.setLayoutManager(new GridLayoutManager(context,
+                context.getResources().getInteger(R.integer.axcolorpicker_palette_columns)));
+        paletteGrid.getRecycledViewPool().setMaxRecycledViews(0,
+                AXColorPickerSwatchAdapter.POOL_SIZE);
+        paletteGrid.setAdapter(swatchAdapter);
+
+        if (metrics != null) {
+            inflateTimeNanos = System.nanoTime() - start;
+            metrics.record(METRIC_INFLATE, inflateTimeNanos);
+        }
     }
 
+    /**
+     * Applies the current settings to the views. Runs on every show, so a dialog can be shown
+     * again with other settings without inflating its views again.
+     */
     private void initUi() {
+        okButton.setText(text != null ? text : defaultButtonText);
+
+        if (customButtonColor) {
+            okButton.setBackgroundColor(backColorButton);
+            okButton.setTextColor(textColorButton);
+        } else {
+            okButton.setBackground(defaultButtonBackground);
+            okButton.setTextColor(defaultButtonTextColors);
+        }
+
+        if (customButtonTextSize) {
+            okButton.setTextSize(textSizeButton);
+        } else {
+            okButton.setTextSize(TypedValue.COMPLEX_UNIT_PX, defaultButtonTextSize);
+        }
+
+        hexCode.setFilters(new InputFilter[]{new InputFilter.LengthFilter(ARGBFormat ? 8 : 6)});
+        hexWatcher.setAlpha(ARGBFormat);
+        hexWatcher.setDebounceMillis(hexInputDebounceMillis);
+
         colorView.setBackgroundColor(getColor());
 
+        // The max first, so the progress isn't clamped to the max of the previous mode
+        syncingSeekBars = true;
+        final boolean rgb = colorMode == COLOR_MODE_RGB;
+        redSeekBar.setMax(rgb ? 255 : MAX_HUE);
+        greenSeekBar.setMax(rgb ? 255 : MAX_PERCENT);
+        blueSeekBar.setMax(rgb ? 255 : MAX_PERCENT);
+        syncingSeekBars = false;
+
+        updateSeekBars();
+
+        initPalette();
+
+        updateTracks(DIRTY_ALL);
+        updateHexCode();
+        updateSvPlane();
+
+        colorNameView.setVisibility(colorNames != null ? View.VISIBLE : View.GONE);
+        colorNameIndex = -1;
+        updateColorName();
+
+        contrastBadgeView.setVisibility(contrastBadge ? View.VISIBLE : View.GONE);
+        contrastBadgeView.setTextColor(contrastColor);
+        contrastBadgeTenths = -1;
+        updateContrastBadge();
+
+        if (recentColors != null) {
+            // Written by any picker since the last show
+            recentColors.decode(recentColorsPreferences.getString(RECENT_COLORS_KEY, null));
+        }
+        updateRecentColors();
+    }
+
+    /**
+     * Shows either the palette grid or the seek bars, with the saturation/value plane in the HSV
+     * mode.
+     */
+    private void initPalette() {
+        final boolean showPalette = palette != null;
+        paletteGrid.setVisibility(showPalette ? View.VISIBLE : View.GONE);
+        alphaSeekBar.setVisibility(ARGBFormat && !showPalette ? View.VISIBLE : View.GONE);
+        final int seekBarVisibility = showPalette ? View.GONE : View.VISIBLE;
+        svPlane.setVisibility(colorMode == COLOR_MODE_HSV && !showPalette
+                ? View.VISIBLE
+                : View.GONE);
+        redSeekBar.setVisibility(seekBarVisibility);
+        greenSeekBar.setVisibility(seekBarVisibility);
+        blueSeekBar.setVisibility(seekBarVisibility);
+        if (showPalette) {
+            swatchAdapter.setSelectedColor(getColor());
+            swatchAdapter.setColors(palette);
+        }
+    }
+
+    private void onSwatchClick(@ColorInt int color) {
+        hexWatcher.cancel();
+        applyHexColor(color);
+    }
+
+    /**
+     * Shows the recent colors, reusing the swatch views of the previous shows.
+     */
+    private void updateRecentColors() {
+        final int count = recentColors != null ? recentColors.size() : 0;
+        recentColorsScroll.setVisibility(count > 0 ? View.VISIBLE : View.GONE);
+        for (int i = recentColorsView.getChildCount(); i < count; i++) {
+            recentColorsView.addView(createRecentColorView());
+        }
+        for (int i = 0; i < recentColorsView.getChildCount(); i++) {
+            final View swatch = recentColorsView.getChildAt(i);
+            if (i < count) {
+                swatch.setBackgroundColor(recentColors.get(i));
+                swatch.setVisibility(View.VISIBLE);
+            } else {
+                swatch.setVisibility(View.GONE);
+            }
+        }
+    }
+
+    private View createRecentColorView() {
+        final int size = context.getResources()
+                .getDimensionPixelSize(R.dimen.axcolorpicker_recent_color_size);
+        final LinearLayout.LayoutParams params = new LinearLayout.LayoutParams(size, size);
+        params.setMarginEnd(context.getResources()
+                .getDimensionPixelSize(R.dimen.axcolorpicker_recent_color_margin));
+        final View swatch = new View(context);
+        swatch.setLayoutParams(params);
+        swatch.setOnClickListener(view -> {
+            final int index = recentColorsView.indexOfChild(view);
+            if (recentColors != null && index < recentColors.size()) {
+                hexWatcher.cancel();
+                applyHexColor(recentColors.get(index));
+            }
+        });
+        return swatch;
+    }
+
+    /**
+     * Moves the seek bars to the current color, in the current mode.
+     */
+    private void updateSeekBars() {
+        syncingSeekBars = true;
         alphaSeekBar.setProgress(alpha);
-        redSeekBar.setProgress(red);
-        greenSeekBar.setProgress(green);
-        blueSeekBar.setProgress(blue);
+        if (colorMode == COLOR_MODE_RGB) {
+            redSeekBar.setProgress(red);
+            greenSeekBar.setProgress(green);
+            blueSeekBar.setProgress(blue);
+        } else {
+            final int hsb = colorMode == COLOR_MODE_HSV
+                    ? colorToHsv(getColor())
+                    : colorToHsl(getColor());
+            hue = hue(hsb);
+            saturation = saturation(hsb);
+            brightness = brightness(hsb);
+            redSeekBar.setProgress(hue);
+            greenSeekBar.setProgress(saturation);
+            blueSeekBar.setProgress(brightness);
+        }
+        syncingSeekBars = false;
+    }
+
+    private void applyUpdate(int dirtyChannels) {
+        final AXColorPickerMetrics metrics = AXColorPickerInstrumentation.metrics;
+        final long start = metrics != null ? System.nanoTime() : 0;
+        colorView.setBackgroundColor(getColor());
+
+        updateTracks(dirtyChannels);
+
+        //Setting the inputText hex color
+        updateHexCode();
+        updateSvPlane();
+        updateColorName();
+        updateContrastBadge();
+
+        if (colorStream != null) {
+            colorStream.emit(getColor());
+        }
+
+        if (metrics != null) {
+            metrics.record(METRIC_FRAME_UPDATE, System.nanoTime() - start);
+        }
+    }
+
+    private void updateSvPlane() {
+        if (colorMode == COLOR_MODE_HSV) {
+            svPlane.setHsv(hue, saturation, brightness);
+        }
+    }
+
+    /**
+     * Saturation and value picked on the plane: the same as moving both of their seek bars.
+     */
+    private void onSvChanged(int saturation, int value) {
+        this.saturation = saturation;
+        brightness = value;
+        syncingSeekBars = true;
+        greenSeekBar.setProgress(saturation);
+        blueSeekBar.setProgress(value);
+        syncingSeekBars = false;
+        final int color = hsbToColor(true, hue, saturation, brightness);
+        red = channel(color, RED_SHIFT);
+        green = channel(color, GREEN_SHIFT);
+        blue = channel(color, BLUE_SHIFT);
+        updateScheduler.invalidate(DIRTY_GREEN | DIRTY_BLUE);
+    }
+
+    private void updateColorName() {
+        if (colorNames == null) {
+            return;
+        }
+        final int index = colorNames.nearestIndex(getColor());
+        if (index != colorNameIndex) {
+            colorNameIndex = index;
+            colorNameView.setText(index >= 0 ? colorNames.getPalette().getName(index) : null);
+        }
+    }
+
+    private void updateContrastBadge() {
+        if (!contrastBadge) {
+            return;
+        }
+        contrastBadgeBackground.setColor(getColor());
+        // Rounded down, so the ratio shown never passes a level the color doesn't
+        final double ratio = AXColorPickerColorScience.contrastRatio(getColor(), contrastColor);
+        final int tenths = (int) (ratio * 10);
+        if (tenths == contrastBadgeTenths) {
+            return;
+        }
+        contrastBadgeTenths = tenths;
+        final int level;
+        if (ratio >= AXColorPickerColorScience.WCAG_AAA) {
+            level = R.string.axcolorpicker_contrastAAA;
+        } else if (ratio >= AXColorPickerColorScience.WCAG_AA) {
+            level = R.string.axcolorpicker_contrastAA;
+        } else if (ratio >= AXColorPickerColorScience.WCAG_AA_LARGE) {
+            level = R.string.axcolorpicker_contrastAALarge;
+        } else {
+            level = R.string.axcolorpicker_contrastFail;
+        }
+        contrastBadgeView.setText(context.getString(R.string.axcolorpicker_contrast,
+                tenths / 10.0, context.getString(level)));
+    }
+
+    /**
+     * Updates the gradient of each track whose colors depend on one of the channels changed. In
+     * the HSV and HSL modes the red, green and blue flags stand for the hue, saturation and
+     * value or lightness seek bars.
+     */
+    private void updateTracks(int dirtyChannels) {
+        final int color = argb(alpha, red, green, blue);
+        if ((dirtyChannels & ~DIRTY_ALPHA) != 0) {
+            alphaSeekBar.setTrackGradient(gradientStart(color, ALPHA_SHIFT),
+                    gradientEnd(color, ALPHA_SHIFT), true);
+        }
+        if (colorMode != COLOR_MODE_RGB) {
+            updateHsbTracks(dirtyChannels);
+            return;
+        }
+        if ((dirtyChannels & ~DIRTY_RED & ~DIRTY_ALPHA) != 0) {
+            redSeekBar.setTrackGradient(gradientStart(color, RED_SHIFT),
+                    gradientEnd(color, RED_SHIFT), false);
+        }
+        if ((dirtyChannels & ~DIRTY_GREEN & ~DIRTY_ALPHA) != 0) {
+            greenSeekBar.setTrackGradient(gradientStart(color, GREEN_SHIFT),
+                    gradientEnd(color, GREEN_SHIFT), false);
+        }
+        if ((dirtyChannels & ~DIRTY_BLUE & ~DIRTY_ALPHA) != 0) {
+            blueSeekBar.setTrackGradient(gradientStart(color, BLUE_SHIFT),
+                    gradientEnd(color, BLUE_SHIFT), false);
+        }
+    }
 
-        if (!ARGBFormat) {
-            alphaSeekBar.setVisibility(View.GONE);
+    private void updateHsbTracks(int dirtyChannels) {
+        final boolean hsv = colorMode == COLOR_MODE_HSV;
+        if ((dirtyChannels & ~DIRTY_RED & ~DIRTY_ALPHA) != 0) {
+            for (int i = 0; i < HUE_TRACK_STOPS; i++) {
+                trackColors[i] = hsbToColor(hsv, i * 60, saturation, brightness);
+            }
+            redSeekBar.setTrackGradient(trackColors, HUE_TRACK_STOPS, false);
+        }
+        if ((dirtyChannels & ~DIRTY_GREEN & ~DIRTY_ALPHA) != 0) {
+            greenSeekBar.setTrackGradient(hsbToColor(hsv, hue, 0, brightness),
+                    hsbToColor(hsv, hue, MAX_PERCENT, brightness), false);
+        }
+        if ((dirtyChannels & ~DIRTY_BLUE & ~DIRTY_ALPHA) != 0) {
+            if (hsv) {
+                blueSeekBar.setTrackGradient(hsbToColor(true, hue, saturation, 0),
+                        hsbToColor(true, hue, saturation, MAX_PERCENT), false);
+            } else {
+                // Lightness goes through the pure color, from black to white
+                trackColors[0] = hsbToColor(false, hue, saturation, 0);
+                trackColors[1] = hsbToColor(false, hue, saturation, MAX_PERCENT / 2);
+                trackColors[2] = hsbToColor(false, hue, saturation, MAX_PERCENT);
+                blueSeekBar.setTrackGradient(trackColors, 3, false);
+            }
         }
+    }
 
-        hexCode.setText(ARGBFormat
-                ? formatColorValues(alpha, red, green, blue)
-                : formatColorValues(red, green, blue)
-        );
+    @ColorInt
+    private static int hsbToColor(boolean hsv, int hue, int saturation, int brightness) {
+        return hsv
+                ? hsvToColor(255, hue, saturation, brightness)
+                : hslToColor(255, hue, saturation, brightness);
+    }
+
+    private void updateHexCode() {
+        // Keep what the user typed, e.g. in lower case, as long as it is the same color
+        if (hexWatcher.isShowing(getColor())) {
+            return;
+        }
+        final AXColorPickerMetrics metrics = AXColorPickerInstrumentation.metrics;
+        final long start = metrics != null ? System.nanoTime() : 0;
+        final int length = writeColor(hexBuffer, 0, getColor(), ARGBFormat);
+        final CharSequence current = hexCode.getText();
+        if (current == null || !contentEquals(current, hexBuffer, length)) {
+            hexWatcher.setText(hexBuffer, length);
+        }
+        if (metrics != null) {
+            metrics.record(METRIC_HEX_FORMAT, System.nanoTime() - start);
+        }
     }
 
     private void sendColor() {
-        if (callback != null)
+        if (recentColors != null && recentColors.add(getColor())) {
+            // One string for the whole history, written to disk in the background
+            recentColorsPreferences.edit()
+                    .putString(RECENT_COLORS_KEY, recentColors.encode())
+                    .apply();
+            updateRecentColors();
+        }
+        if (callback != null) {
+            final AXColorPickerMetrics metrics = AXColorPickerInstrumentation.metrics;
+            final long start = metrics != null ? System.nanoTime() : 0;
             callback.onColorChosen(getColor());
+            if (metrics != null) {
+                metrics.record(METRIC_CALLBACK_DISPATCH, System.nanoTime() - start);
+            }
+        }
         if (autoClose) {
             dismiss();
         }
@@ -300,10 +1070,10 @@ public class AXColorPicker extends Dialog implements AppCompatSeekBar.OnSeekBarC
      * @since v2.0
      */
     public void setColor(@ColorInt int color) {
-        alpha = Color.alpha(color);
-        red = Color.red(color);
-        green = Color.green(color);
-        blue = Color.blue(color);
+        alpha = channel(color, ALPHA_SHIFT);
+        red = channel(color, RED_SHIFT);
+        green = channel(color, GREEN_SHIFT);
+        blue = channel(color, BLUE_SHIFT);
     }
 
     /**
@@ -312,27 +1082,31 @@ public class AXColorPicker extends Dialog implements AppCompatSeekBar.OnSeekBarC
      * @param input HEX Code of the color.
      * @since v2.0
      */
-    private void updateColorView(String input) {
-        try {
-            final int color = Color.parseColor('#' + input);
-            alpha = Color.alpha(color);
-            red = Color.red(color);
-            green = Color.green(color);
-            blue = Color.blue(color);
+    private void updateColorView(CharSequence input) {
+        final long color = parseColor(input);
+        if (color == INVALID_COLOR) {
+            hexCode.setError(context.getResources().getText(R.string.axcolorpicker_errHex));
+            return;
+        }
 
-            colorView.setBackgroundColor(getColor());
+        applyHexColor((int) color);
+    }
 
-            alphaSeekBar.setProgress(alpha);
-            redSeekBar.setProgress(red);
-            greenSeekBar.setProgress(green);
-            blueSeekBar.setProgress(blue);
-        } catch (IllegalArgumentException ignored) {
-            hexCode.setError(context.getResources().getText(R.string.axcolorpicker_errHex));
+    private void applyHexColor(@ColorInt int color) {
+        setColor(color);
+
+        colorView.setBackgroundColor(getColor());
+        if (palette != null) {
+            swatchAdapter.setSelectedColor(getColor());
         }
+
+        updateSeekBars();
+        updateScheduler.invalidate(DIRTY_ALL);
     }
 
     /**
      * Method called when the user change the value of the bars. This sync the colors.
+     * <p>The preview and the HEX code are updated once per frame, however often this is called.</p>
      *
      * @param seekBar  SeekBar that has changed
      * @param progress The new progress value
@@ -341,23 +1115,56 @@ public class AXColorPicker extends Dialog implements AppCompatSeekBar.OnSeekBarC
      */
     @Override
     public void onProgressChanged(SeekBar seekBar, int progress, boolean fromUser) {
-        if (seekBar.getId() == R.id.alphaSeekBar) {
+        if (syncingSeekBars) {
+            return;
+        }
+        final AXColorPickerMetrics metrics = AXColorPickerInstrumentation.metrics;
+        final long start = metrics != null ? System.nanoTime() : 0;
+        if (colorMode != COLOR_MODE_RGB && seekBar.getId() != R.id.alphaSeekBar) {
+            onHsbProgressChanged(seekBar.getId(), progress);
+        } else {
+            onArgbProgressChanged(seekBar.getId(), progress);
+        }
+        if (metrics != null) {
+            metrics.record(METRIC_PROGRESS_CHANGED, System.nanoTime() - start);
+        }
+    }
+
+    private void onArgbProgressChanged(int seekBarId, int progress) {
+        if (seekBarId == R.id.alphaSeekBar) {
             alpha = progress;
-        } else if (seekBar.getId() == R.id.redSeekBar) {
+            updateScheduler.invalidate(DIRTY_ALPHA);
+        } else if (seekBarId == R.id.redSeekBar) {
             red = progress;
-        } else if (seekBar.getId() == R.id.greenSeekBar) {
+            updateScheduler.invalidate(DIRTY_RED);
+        } else if (seekBarId == R.id.greenSeekBar) {
             green = progress;
-        } else if (seekBar.getId() == R.id.blueSeekBar) {
+            updateScheduler.invalidate(DIRTY_GREEN);
+        } else if (seekBarId == R.id.blueSeekBar) {
             blue = progress;
+            updateScheduler.invalidate(DIRTY_BLUE);
         }
+    }
 
-        colorView.setBackgroundColor(getColor());
-
-        //Setting the inputText hex color
-        hexCode.setText(ARGBFormat
-                ? formatColorValues(alpha, red, green, blue)
-                : formatColorValues(red, green, blue)
-        );
+    private void onHsbProgressChanged(int seekBarId, int progress) {
+        final int dirtyChannel;
+        if (seekBarId == R.id.redSeekBar) {
+            hue = progress;
+            dirtyChannel = DIRTY_RED;
+        } else if (seekBarId == R.id.greenSeekBar) {
+            saturation = progress;
+            dirtyChannel = DIRTY_GREEN;
+        } else if (seekBarId == R.id.blueSeekBar) {
+            brightness = progress;
+            dirtyChannel = DIRTY_BLUE;
+        } else {
+            return;
+        }
+        final int color = hsbToColor(colorMode == COLOR_MODE_HSV, hue, saturation, brightness);
+        red = channel(color, RED_SHIFT);
+        green = channel(color, GREEN_SHIFT);
+        blue = channel(color, BLUE_SHIFT);
+        updateScheduler.invalidate(dirtyChannel);
     }
 
     @Override
@@ -509,12 +1316,204 @@ public class AXColorPicker extends Dialog implements AppCompatSeekBar.OnSeekBarC
      * @since v2.0
      */
     public int getColor() {
-        return ARGBFormat ? Color.argb(alpha, red, green, blue) : Color.rgb(red, green, blue);
+        return ARGBFormat ? argb(alpha, red, green, blue) : rgb(red, green, blue);
+    }
+
+    /**
+     * Get the stream of the colors picked while the dialog is shown, before one is chosen, e.g.
+     * to preview the color live behind the dialog. The stream gets the color at most once per
+     * frame, whatever changed it: a seek bar, the HEX code, a swatch or the saturation/value
+     * square; each subscription limits the rate further. The listener of
+     * {@link #setOnColorChosenListener(AXColorPickerCallback)} still gets the color chosen.
+     *
+     * <pre>
+     * AXColorPickerColorStream.Subscription subscription = colorPicker.getColorStream()
+     *         .subscribe(ContextCompat.getMainExecutor(context), color -> preview.setColor(color));
+     * subscription.setThrottle(100);
+     * </pre>
+     *
+     * @return Stream of the picker, the same every time; {@link #reset()} disposes of its
+     * subscriptions
+     * @since v3.2
+     */
+    @NonNull
+    public AXColorPickerColorStream getColorStream() {
+        if (colorStream == null) {
+            colorStream = AXColorPickerColorStream.onMainThread();
+        }
+        return colorStream;
+    }
+
+    /**
+     * Number of preview and HEX code updates applied since the dialog was created.
+     *
+     * @return Applied updates count
+     * @since v3.2
+     */
+    public long getAppliedUpdateCount() {
+        return updateScheduler.getAppliedCount();
+    }
+
+    /**
+     * Number of color changes that were merged into an update already waiting for the next frame.
+     *
+     * @return Coalesced updates count
+     * @since v3.2
+     */
+    public long getCoalescedUpdateCount() {
+        return updateScheduler.getCoalescedCount();
+    }
+
+    /**
+     * Time spent creating the dialog views, measured the first time the dialog is shown while
+     * {@link AXColorPickerInstrumentation#install(AXColorPickerMetrics) metrics are installed}.
+     *
+     * @return Duration in nanoseconds, -1 if not measured
+     * @since v3.2
+     */
+    public long getInflateTimeNanos() {
+        return inflateTimeNanos;
+    }
+
+    /**
+     * Time between the last call to {@link #show()} and the first frame drawn after it, measured
+     * while {@link AXColorPickerInstrumentation#install(AXColorPickerMetrics) metrics are
+     * installed}.
+     *
+     * @return Duration in nanoseconds, -1 if not measured
+     * @since v3.2
+     */
+    public long getShowToFirstDrawNanos() {
+        return showToFirstDrawNanos;
     }
 
     @Override
     public void show() {
+        final AXColorPickerMetrics metrics = AXColorPickerInstrumentation.metrics;
+        final long start = metrics != null ? System.nanoTime() : 0;
+        coalescedAtShow = updateScheduler.getCoalescedCount();
         super.show();
         initUi();
+        if (metrics != null) {
+            measureFirstDraw(start);
+        }
+    }
+
+    /**
+     * Records the time to the next frame drawn, with a listener removed once it is called.
+     *
+     * @param showTime {@link System#nanoTime()} of the call to {@link #show()}
+     */
+    private void measureFirstDraw(long showTime) {
+        final View decorView = getWindow().getDecorView();
+        decorView.getViewTreeObserver().addOnDrawListener(new ViewTreeObserver.OnDrawListener() {
+            private boolean drawn;
+
+            @Override
+            public void onDraw() {
+                if (drawn) {
+                    return;
+                }
+                drawn = true;
+                showToFirstDrawNanos = System.nanoTime() - showTime;
+                final AXColorPickerMetrics metrics = AXColorPickerInstrumentation.metrics;
+                if (metrics != null) {
+                    metrics.record(METRIC_SHOW_TO_FIRST_DRAW, showToFirstDrawNanos);
+                }
+                // Draw listeners can't be removed while they are called
+                decorView.post(() -> decorView.getViewTreeObserver().removeOnDrawListener(this));
+            }
+        });
+    }
+
+    /**
+     * Saves the color and the mode with the dialog, e.g. over a rotation when shown by a
+     * {@link AXColorPickerDialogFragment}. The seek bars and the HEX code don't save their own
+     * state, they are set back from the color.
+     *
+     * @return State of the dialog
+     * @since v3.2
+     */
+    @NonNull
+    @Override
+    public Bundle onSaveInstanceState() {
+        final Bundle state = super.onSaveInstanceState();
+        saveState(state);
+        return state;
+    }
+
+    /**
+     * Restores the color and the mode saved by {@link #onSaveInstanceState()}, then the dialog
+     * itself, showing it again if it was shown.
+     *
+     * @param savedInstanceState State of the dialog
+     * @since v3.2
+     */
+    @Override
+    public void onRestoreInstanceState(@NonNull Bundle savedInstanceState) {
+        restoreState(savedInstanceState);
+        super.onRestoreInstanceState(savedInstanceState);
+    }
+
+    void saveState(@NonNull Bundle state) {
+        writeState(state, argb(alpha, red, green, blue), ARGBFormat, colorMode);
+    }
+
+    static void writeState(@NonNull Bundle state, @ColorInt int color, boolean ARGBFormat,
+                           @ColorMode int colorMode) {
+        state.putInt(STATE_COLOR, color);
+        state.putInt(STATE_FLAGS, colorMode | (ARGBFormat ? STATE_ARGB_FORMAT : 0));
+    }
+
+    void restoreState(@NonNull Bundle state) {
+        if (!state.containsKey(STATE_COLOR)) {
+            return;
+        }
+        setColor(state.getInt(STATE_COLOR));
+        final int flags = state.getInt(STATE_FLAGS);
+        colorMode = flags & STATE_COLOR_MODE_MASK;
+        ARGBFormat = (flags & STATE_ARGB_FORMAT) != 0;
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        updateScheduler.cancel();
+        hexWatcher.cancel();
+        final AXColorPickerMetrics metrics = AXColorPickerInstrumentation.metrics;
+        if (metrics != null) {
+            metrics.record(METRIC_COALESCED_UPDATES,
+                    updateScheduler.getCoalescedCount() - coalescedAtShow);
+        }
+    }
+
+    /**
+     * Delivers the update scheduler frames through the Choreographer of the UI thread.
+     */
+    private static final class ChoreographerFrameClock
+            implements AXColorPickerUpdateScheduler.FrameClock, Choreographer.FrameCallback {
+
+        private Runnable callback;
+
+        @Override
+        public void postFrameCallback(Runnable callback) {
+            this.callback = callback;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+
+        @Override
+        public void removeFrameCallback(Runnable callback) {
+            Choreographer.getInstance().removeFrameCallback(this);
+            this.callback = null;
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            final Runnable callback = this.callback;
+            this.callback = null;
+            if (callback != null) {
+                callback.run();
+            }
+        }
     }
 }
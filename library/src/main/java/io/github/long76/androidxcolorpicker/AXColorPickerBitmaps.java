@@ -0,0 +1,104 @@
+package io.github.long76.androidxcolorpicker;
+
+import android.graphics.Bitmap;
+import android.os.Build;
+
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+
+import static io.github.long76.androidxcolorpicker.AXColorPickerPaletteExtractor.MAX_COLORS;
+
+/**
+ * Colors of bitmaps, e.g. to offer the main colors of a picture as the palette of the picker, or
+ * to pick the color under the finger of a screenshot.
+ *
+ * @since v3.2
+ */
+public final class AXColorPickerBitmaps {
+
+    private AXColorPickerBitmaps() {
+    }
+
+    /**
+     * Extract the main colors of a bitmap. Large bitmaps are scaled down first, to about
+     * {@link AXColorPickerPaletteExtractor#DEFAULT_MAX_SAMPLES} pixels, so extracting hardly
+     * depends on the size of the bitmap past scaling it. Still too slow for the UI thread, see
+     * {@link AXColorPicker#setPaletteFromBitmap(Bitmap, int)}.
+     *
+     * @param bitmap    Bitmap of any config, not recycled
+     * @param maxColors Largest number of colors returned (1 - 256)
+     * @return Opaque colors, the most frequent first, which can be passed to
+     * {@link AXColorPicker#setColor(int)} as they are. Empty if every pixel is transparent.
+     * @see AXColorPickerPaletteExtractor
+     * @since v3.2
+     */
+    @WorkerThread
+    @NonNull
+    public static int[] extractPalette(@NonNull Bitmap bitmap,
+                                       @IntRange(from = 1, to = MAX_COLORS) int maxColors) {
+        final Bitmap source = readable(bitmap);
+        final int step = AXColorPickerPaletteExtractor.sampleStep(source.getWidth(),
+                source.getHeight(), AXColorPickerPaletteExtractor.DEFAULT_MAX_SAMPLES);
+        Bitmap sampled = source;
+        if (step > 1) {
+            // Nearest pixel, the same samples as the extractor would take
+            sampled = Bitmap.createScaledBitmap(source, Math.max(1, source.getWidth() / step),
+                    Math.max(1, source.getHeight() / step), false);
+        }
+        final int width = sampled.getWidth();
+        final int height = sampled.getHeight();
+        final int[] pixels = new int[width * height];
+        sampled.getPixels(pixels, 0, width, 0, 0, width, height);
+        if (sampled != source) {
+            sampled.recycle();
+        }
+        if (source != bitmap) {
+            source.recycle();
+        }
+        return AXColorPickerPaletteExtractor.extract(pixels, width, height, maxColors,
+                pixels.length);
+    }
+
+    /**
+     * Sum the pixels of a bitmap for an eyedropper: once built, the average color around any
+     * point, of any radius, takes a few additions, e.g. to show the color under the finger of a
+     * screenshot on every frame. Building reads every pixel, and the sampler takes 16 bytes per
+     * pixel; build it once per bitmap, off the UI thread.
+     *
+     * <pre>
+     * AXColorPickerAreaSampler sampler = AXColorPickerBitmaps.newAreaSampler(screenshot);
+     * colorPicker.setColor(sampler.average(x, y, 4));
+     * </pre>
+     *
+     * @param bitmap Bitmap of any config, not recycled
+     * @return Sampler of the pixels of the bitmap, later changes to the bitmap are not seen
+     * @see AXColorPickerAreaSampler
+     * @since v3.2
+     */
+    @WorkerThread
+    @NonNull
+    public static AXColorPickerAreaSampler newAreaSampler(@NonNull Bitmap bitmap) {
+        final Bitmap source = readable(bitmap);
+        final int width = source.getWidth();
+        final int height = source.getHeight();
+        final int[] pixels = new int[width * height];
+        source.getPixels(pixels, 0, width, 0, 0, width, height);
+        if (source != bitmap) {
+            source.recycle();
+        }
+        return new AXColorPickerAreaSampler(pixels, width, height);
+    }
+
+    /**
+     * @return The bitmap, or a copy of it if its pixels can't be read, as of hardware bitmaps
+     */
+    @NonNull
+    private static Bitmap readable(@NonNull Bitmap bitmap) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O
+                && bitmap.getConfig() == Bitmap.Config.HARDWARE) {
+            return bitmap.copy(Bitmap.Config.ARGB_8888, false);
+        }
+        return bitmap;
+    }
+}
@@ -0,0 +1,139 @@
+package io.github.long76.androidxcolorpicker;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Submit button colors of {@link AXColorPickerPreference}, read from the SharedPreferences named
+ * by its AXColorPickerPrefName attribute and shared by all the preferences of the process.
+ * <p>
+ * Values are cached per SharedPreferences name and key, and dropped when the key changes, so
+ * tapping a preference again reads nothing. The first read of a SharedPreferences file blocks
+ * until it is loaded from disk; {@link #prewarm(String, String...)} does it on a background
+ * thread when the preference is created, long before it can be tapped.
+ */
+final class AXColorPickerButtonStyles {
+
+    /**
+     * Color of a key that isn't in the SharedPreferences
+     */
+    @ColorInt
+    static final int DEFAULT_COLOR = -1;
+
+    interface PreferencesProvider {
+        @NonNull
+        SharedPreferences get(@NonNull String name);
+    }
+
+    private static AXColorPickerButtonStyles instance;
+
+    private final PreferencesProvider provider;
+    private final Executor executor;
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    @VisibleForTesting
+    AXColorPickerButtonStyles(@NonNull PreferencesProvider provider, @NonNull Executor executor) {
+        this.provider = provider;
+        this.executor = executor;
+    }
+
+    /**
+     * @param context Any Context, only its application Context is kept
+     * @return Instance shared by all the preferences of the process
+     */
+    @NonNull
+    static synchronized AXColorPickerButtonStyles getInstance(@NonNull Context context) {
+        if (instance == null) {
+            final Context appContext = context.getApplicationContext();
+            instance = new AXColorPickerButtonStyles(
+                    name -> appContext.getSharedPreferences(name, Context.MODE_PRIVATE),
+                    AXColorPickerExecutors.newBackgroundExecutor("AXColorPickerButtonStyles"));
+        }
+        return instance;
+    }
+
+    /**
+     * Reads keys into the cache on the background thread.
+     *
+     * @param prefName SharedPreferences name
+     * @param keys     Keys of the colors
+     */
+    void prewarm(@NonNull String prefName, @NonNull String... keys) {
+        executor.execute(() -> {
+            for (String key : keys) {
+                getColor(prefName, key);
+            }
+        });
+    }
+
+    /**
+     * @param prefName SharedPreferences name
+     * @param key      Key of the color
+     * @return The color, {@link #DEFAULT_COLOR} if there is none
+     */
+    @ColorInt
+    int getColor(@NonNull String prefName, @NonNull String key) {
+        final Entry entry;
+        final int generation;
+        synchronized (this) {
+            entry = getEntry(prefName);
+            final Integer cached = entry.colors.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            generation = entry.generation;
+        }
+
+        final int color = entry.preferences.getInt(key, DEFAULT_COLOR);
+        synchronized (this) {
+            // Not if a key changed meanwhile, the value read may be the old one
+            if (entry.generation == generation) {
+                entry.colors.put(key, color);
+            }
+        }
+        return color;
+    }
+
+    private Entry getEntry(String prefName) {
+        Entry entry = entries.get(prefName);
+        if (entry == null) {
+            entry = new Entry(provider.get(prefName));
+            // SharedPreferences only keeps weak references to its listeners, the entry keeps it
+            entry.preferences.registerOnSharedPreferenceChangeListener(entry);
+            entries.put(prefName, entry);
+        }
+        return entry;
+    }
+
+    private final class Entry implements SharedPreferences.OnSharedPreferenceChangeListener {
+
+        final SharedPreferences preferences;
+        final Map<String, Integer> colors = new HashMap<>();
+        int generation;
+
+        Entry(SharedPreferences preferences) {
+            this.preferences = preferences;
+        }
+
+        @Override
+        public void onSharedPreferenceChanged(SharedPreferences sharedPreferences, String key) {
+            synchronized (AXColorPickerButtonStyles.this) {
+                generation++;
+                if (key == null) {
+                    // Cleared
+                    colors.clear();
+                } else {
+                    colors.remove(key);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package io.github.long76.androidxcolorpicker;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Colors of a picker as the user picks them, before the color is chosen, e.g. to preview the
+ * color live on the screen behind the dialog. The picker updates its views at most once per
+ * frame, and the stream gets the color of each of these updates; each subscription then limits
+ * the rate of the colors it delivers on its own:
+ * <ul>
+ * <li>throttle: at most one color per period, the latest one at the end of the period</li>
+ * <li>debounce: a color only once the color stopped changing for a while</li>
+ * <li>distinct: not the color delivered last again (on by default)</li>
+ * </ul>
+ * A color waiting for the rate limit is replaced by the next one, and so is a color waiting for
+ * an observer still busy with the one before: a slow observer gets the latest color once done,
+ * never a backlog. The observer is never called concurrently with itself.
+ * <p>
+ * Subscribe, dispose and change the limits on the UI thread; the colors are delivered on the
+ * executor of each subscription.
+ *
+ * <pre>
+ * AXColorPickerColorStream.Subscription subscription = colorPicker.getColorStream()
+ *         .subscribe(ContextCompat.getMainExecutor(context), color -> preview.setColor(color));
+ * subscription.setThrottle(100);
+ * </pre>
+ *
+ * @see AXColorPicker#getColorStream()
+ * @since v3.2
+ */
+public final class AXColorPickerColorStream {
+
+    /**
+     * Receiver of the colors of a subscription.
+     *
+     * @since v3.2
+     */
+    public interface Observer {
+        /**
+         * @param color Color picked, as returned by {@link AXColorPicker#getColor()}
+         */
+        void onColorChanged(@ColorInt int color);
+    }
+
+    /**
+     * Source of time and timers of the rate limits, the UI thread Handler on the device.
+     */
+    interface Scheduler {
+        /**
+         * @return Milliseconds of a monotonic clock
+         */
+        long uptimeMillis();
+
+        /**
+         * Runs the task once, after the delay.
+         */
+        void postDelayed(@NonNull Runnable task, long delayMillis);
+
+        /**
+         * Removes a task posted before if it hasn't run yet.
+         */
+        void removeCallbacks(@NonNull Runnable task);
+    }
+
+    /**
+     * Nothing waiting for delivery; a color waiting is stored as its unsigned value
+     */
+    private static final long EMPTY = -1;
+
+    private final Scheduler scheduler;
+
+    /**
+     * Copied on subscribe and dispose only, so emitting allocates nothing and an observer may
+     * dispose of its subscription while called
+     */
+    private final CopyOnWriteArrayList<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    AXColorPickerColorStream(@NonNull Scheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * @return Stream timed by the UI thread
+     */
+    @NonNull
+    static AXColorPickerColorStream onMainThread() {
+        return new AXColorPickerColorStream(new MainThreadScheduler());
+    }
+
+    /**
+     * Start receiving the colors picked, with no rate limit but distinct colors.
+     *
+     * @param executor Executor the observer is called on
+     * @param observer Receiver of the colors
+     * @return Subscription to set the rate limits of, or to dispose of
+     * @since v3.2
+     */
+    @NonNull
+    public Subscription subscribe(@NonNull Executor executor, @NonNull Observer observer) {
+        final Subscription subscription = new Subscription(executor, observer);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    /**
+     * @return Number of subscriptions not disposed of
+     * @since v3.2
+     */
+    public int getSubscriptionCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Disposes of every subscription, e.g. when the picker is reset for another use.
+     */
+    void disposeAll() {
+        for (Subscription subscription : subscriptions) {
+            subscription.dispose();
+        }
+    }
+
+    /**
+     * Passes a color picked to every subscription.
+     */
+    void emit(@ColorInt int color) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        final long now = scheduler.uptimeMillis();
+        for (Subscription subscription : subscriptions) {
+            subscription.onColor(color, now);
+        }
+    }
+
+    /**
+     * Colors of a stream delivered to one observer, at the rate set.
+     *
+     * @since v3.2
+     */
+    public final class Subscription {
+
+        private final Executor executor;
+        private final Observer observer;
+        private final Runnable timeout = this::onTimeout;
+        private final Runnable drain = this::drain;
+
+        /**
+         * Color waiting for the observer, {@link #EMPTY} if none
+         */
+        private final AtomicLong mailbox = new AtomicLong(EMPTY);
+
+        /**
+         * Deliveries not drained yet, the drain task runs while it isn't zero
+         */
+        private final AtomicInteger deliveries = new AtomicInteger();
+
+        private volatile boolean disposed;
+
+        private long throttleMillis;
+        private long debounceMillis;
+        private boolean distinct = true;
+
+        @ColorInt
+        private int pending;
+        private boolean hasPending;
+        private boolean timeoutPosted;
+        private long timeoutTime;
+
+        @ColorInt
+        private int lastDelivered;
+        private boolean hasDelivered;
+        private long lastDeliveryTime = Long.MIN_VALUE;
+        private long conflatedCount;
+
+        Subscription(@NonNull Executor executor, @NonNull Observer observer) {
+            this.executor = executor;
+            this.observer = observer;
+        }
+
+        /**
+         * @return Shortest time between two colors delivered
+         * @since v3.2
+         */
+        public long getThrottle() {
+            return throttleMillis;
+        }
+
+        /**
+         * Deliver at most one color per period: the first color at once, then the latest one
+         * at the end of the period, so the color the user stops on is always delivered.
+         *
+         * @param throttleMillis Period in milliseconds, 0 for no limit
+         * @since v3.2
+         */
+        public void setThrottle(@IntRange(from = 0) long throttleMillis) {
+            this.throttleMillis = Math.max(0, throttleMillis);
+        }
+
+        /**
+         * @return Time the color has to stay the same before being delivered
+         * @since v3.2
+         */
+        public long getDebounce() {
+            return debounceMillis;
+        }
+
+        /**
+         * Deliver a color only once no other one followed it for a while, e.g. to recompute
+         * something costly only when the user pauses. With a throttle as well, the colors
+         * delivered are also at least the throttle period apart.
+         *
+         * @param debounceMillis Delay in milliseconds, 0 for no delay
+         * @since v3.2
+         */
+        public void setDebounce(@IntRange(from = 0) long debounceMillis) {
+            this.debounceMillis = Math.max(0, debounceMillis);
+        }
+
+        /**
+         * @return Whether the color delivered last is skipped
+         * @since v3.2
+         */
+        public boolean isDistinct() {
+            return distinct;
+        }
+
+        /**
+         * Skip a color equal to the one delivered last, e.g. when the user drags a thumb away
+         * and back within the throttle period. On by default.
+         *
+         * @param distinct Whether to skip the color delivered last
+         * @since v3.2
+         */
+        public void setDistinct(boolean distinct) {
+            this.distinct = distinct;
+        }
+
+        /**
+         * Number of colors replaced by a later one before being delivered, waiting either for
+         * the rate limit or for the observer.
+         *
+         * @return Colors conflated
+         * @since v3.2
+         */
+        public long getConflatedCount() {
+            return conflatedCount;
+        }
+
+        /**
+         * @return Whether {@link #dispose()} was called
+         * @since v3.2
+         */
+        public boolean isDisposed() {
+            return disposed;
+        }
+
+        /**
+         * Stop receiving colors. A color being delivered may still reach the observer if it
+         * runs on another thread.
+         *
+         * @since v3.2
+         */
+        public void dispose() {
+            disposed = true;
+            subscriptions.remove(this);
+            hasPending = false;
+            if (timeoutPosted) {
+                timeoutPosted = false;
+                scheduler.removeCallbacks(timeout);
+            }
+        }
+
+        void onColor(@ColorInt int color, long now) {
+            if (hasPending) {
+                conflatedCount++;
+            }
+            pending = color;
+            hasPending = true;
+            final long due = Math.max(now + debounceMillis, lastDeliveryTime + throttleMillis);
+            if (due <= now) {
+                if (timeoutPosted) {
+                    timeoutPosted = false;
+                    scheduler.removeCallbacks(timeout);
+                }
+                deliverPending(now);
+            } else if (!timeoutPosted || due != timeoutTime) {
+                // The debounce moves on with every color, the throttle stays put
+                if (timeoutPosted) {
+                    scheduler.removeCallbacks(timeout);
+                }
+                timeoutPosted = true;
+                timeoutTime = due;
+                scheduler.postDelayed(timeout, due - now);
+            }
+        }
+
+        private void onTimeout() {
+            timeoutPosted = false;
+            deliverPending(scheduler.uptimeMillis());
+        }
+
+        private void deliverPending(long now) {
+            if (!hasPending || disposed) {
+                return;
+            }
+            hasPending = false;
+            if (distinct && hasDelivered && pending == lastDelivered) {
+                return;
+            }
+            hasDelivered = true;
+            lastDelivered = pending;
+            lastDeliveryTime = now;
+            if (mailbox.getAndSet(pending & 0xFFFFFFFFL) != EMPTY) {
+                // The observer is still busy with an older color
+                conflatedCount++;
+            }
+            if (deliveries.getAndIncrement() == 0) {
+                executor.execute(drain);
+            }
+        }
+
+        /**
+         * Calls the observer with the latest color until no more are delivered meanwhile.
+         */
+        private void drain() {
+            int missed = 1;
+            do {
+                final long color = mailbox.getAndSet(EMPTY);
+                if (color != EMPTY && !disposed) {
+                    observer.onColorChanged((int) color);
+                }
+                missed = deliveries.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+
+    /**
+     * Times the rate limits with a Handler of the UI thread.
+     */
+    private static final class MainThreadScheduler implements Scheduler {
+
+        private final Handler handler = new Handler(Looper.getMainLooper());
+
+        @Override
+        public long uptimeMillis() {
+            return SystemClock.uptimeMillis();
+        }
+
+        @Override
+        public void postDelayed(@NonNull Runnable task, long delayMillis) {
+            handler.postDelayed(task, delayMillis);
+        }
+
+        @Override
+        public void removeCallbacks(@NonNull Runnable task) {
+            handler.removeCallbacks(task);
+        }
+    }
+}
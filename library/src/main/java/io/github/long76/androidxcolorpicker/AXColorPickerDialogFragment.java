@@ -0,0 +1,91 @@
+package io.github.long76.androidxcolorpicker;
+
+import android.app.Dialog;
+import android.os.Bundle;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.fragment.app.DialogFragment;
+import androidx.fragment.app.Fragment;
+
+/**
+ * Shows an {@link AXColorPicker} that survives configuration changes: on a rotation the picker
+ * is created again, in the layout of the new orientation, and set back to the color and mode
+ * picked so far from its saved state, a packed color and a few flags.
+ * <p>
+ * The color chosen goes to the parent fragment if it implements {@link AXColorPickerCallback},
+ * else to the activity if it does. Settings that are not saved with the state, like a palette
+ * or the button colors, are applied by overriding {@link #onConfigureColorPicker(AXColorPicker)}.
+ *
+ * <pre>
+ * AXColorPickerDialogFragment.newInstance(Color.BLACK, false, AXColorPicker.COLOR_MODE_HSV)
+ *         .show(getSupportFragmentManager(), "colorPicker");
+ * </pre>
+ *
+ * @since v3.2
+ */
+public class AXColorPickerDialogFragment extends DialogFragment {
+
+    /**
+     * Creates a color picker dialog fragment.
+     *
+     * @param color      Color first shown
+     * @param ARGBFormat Show the alpha seek bar and an 8 digit HEX code(true) or not(false)
+     * @param colorMode  One of COLOR_MODE_RGB, COLOR_MODE_HSV or COLOR_MODE_HSL
+     * @return Fragment to show
+     * @since v3.2
+     */
+    @NonNull
+    public static AXColorPickerDialogFragment newInstance(@ColorInt int color, boolean ARGBFormat,
+                                                          @AXColorPicker.ColorMode int colorMode) {
+        final Bundle arguments = new Bundle();
+        AXColorPicker.writeState(arguments, color, ARGBFormat, colorMode);
+        final AXColorPickerDialogFragment fragment = new AXColorPickerDialogFragment();
+        fragment.setArguments(arguments);
+        return fragment;
+    }
+
+    @NonNull
+    @Override
+    public Dialog onCreateDialog(@Nullable Bundle savedInstanceState) {
+        final AXColorPicker colorPicker = new AXColorPicker(requireContext());
+        if (getArguments() != null) {
+            // The color picked so far is restored later, from the saved dialog state
+            colorPicker.restoreState(getArguments());
+        }
+        colorPicker.setOnColorChosenListener(this::onColorChosen);
+        onConfigureColorPicker(colorPicker);
+        return colorPicker;
+    }
+
+    /**
+     * Called each time the picker is created, on a configuration change too, before its state
+     * is restored. Does nothing by default.
+     *
+     * @param colorPicker Picker to set up
+     * @since v3.2
+     */
+    protected void onConfigureColorPicker(@NonNull AXColorPicker colorPicker) {
+    }
+
+    /**
+     * Get the picker shown
+     *
+     * @return The picker, null before it is created or after the fragment is destroyed
+     * @since v3.2
+     */
+    @Nullable
+    public AXColorPicker getColorPicker() {
+        return (AXColorPicker) getDialog();
+    }
+
+    private void onColorChosen(@ColorInt int color) {
+        final Fragment parent = getParentFragment();
+        if (parent instanceof AXColorPickerCallback) {
+            ((AXColorPickerCallback) parent).onColorChosen(color);
+        } else if (getActivity() instanceof AXColorPickerCallback) {
+            ((AXColorPickerCallback) getActivity()).onColorChosen(color);
+        }
+    }
+}
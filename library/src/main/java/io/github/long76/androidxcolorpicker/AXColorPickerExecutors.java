@@ -0,0 +1,50 @@
+package io.github.long76.androidxcolorpicker;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executors of the work the library moves off the UI thread.
+ */
+final class AXColorPickerExecutors {
+
+    private static Executor mainThread;
+
+    private AXColorPickerExecutors() {
+    }
+
+    /**
+     * A single daemon thread running the tasks in order, stopped when it has been idle for a
+     * second.
+     *
+     * @param name Thread name
+     */
+    @NonNull
+    static Executor newBackgroundExecutor(@NonNull String name) {
+        return new ThreadPoolExecutor(0, 1, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, name);
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * @return Executor posting the tasks to the UI thread
+     */
+    @NonNull
+    static synchronized Executor mainThread() {
+        if (mainThread == null) {
+            final Handler handler = new Handler(Looper.getMainLooper());
+            mainThread = handler::post;
+        }
+        return mainThread;
+    }
+}
@@ -0,0 +1,129 @@
+package io.github.long76.androidxcolorpicker;
+
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+
+import static io.github.long76.androidxcolorpicker.AXColorPickerHexValidator.STATE_COMPLETE;
+
+/**
+ * Validates the HEX code field on every keystroke and hands complete codes over once the user
+ * stops typing for the debounce delay. Text set by the picker itself, e.g. when a seek bar
+ * moves, goes through {@link #setText(char[], int)} and is never handed back as user input.
+ */
+final class AXColorPickerHexWatcher implements TextWatcher, Runnable {
+
+    interface Listener {
+        /**
+         * The state of the text changed.
+         *
+         * @param state One of the AXColorPickerHexValidator.STATE_* constants
+         */
+        void onHexStateChanged(int state);
+
+        /**
+         * A complete code was typed and the debounce delay went by.
+         *
+         * @param color Packed ARGB color
+         */
+        void onHexColor(int color);
+    }
+
+    private final TextView textView;
+    private final Listener listener;
+    private final AXColorPickerHexValidator validator = new AXColorPickerHexValidator();
+
+    private long debounceMillis;
+    private boolean settingText;
+
+    AXColorPickerHexWatcher(@NonNull TextView textView, @NonNull Listener listener) {
+        this.textView = textView;
+        this.listener = listener;
+    }
+
+    /**
+     * @param debounceMillis Delay between the last keystroke and applying the code, 0 to apply
+     *                       it at once
+     */
+    void setDebounceMillis(long debounceMillis) {
+        this.debounceMillis = debounceMillis;
+    }
+
+    /**
+     * @param withAlpha Whether complete codes have 8 digits (true) or 6
+     */
+    void setAlpha(boolean withAlpha) {
+        validator.setAlpha(withAlpha);
+    }
+
+    /**
+     * Sets the text of the field without treating it as user input.
+     */
+    void setText(char[] text, int length) {
+        cancel();
+        settingText = true;
+        try {
+            textView.setText(text, 0, length);
+        } finally {
+            settingText = false;
+        }
+    }
+
+    /**
+     * @param color Packed ARGB color
+     * @return True if the field holds a complete code for exactly this color
+     */
+    boolean isShowing(int color) {
+        return validator.getState() == STATE_COMPLETE && (int) validator.getColor() == color;
+    }
+
+    /**
+     * Drops a complete code waiting for the debounce delay.
+     */
+    void cancel() {
+        textView.removeCallbacks(this);
+    }
+
+    @Override
+    public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+    }
+
+    @Override
+    public void onTextChanged(CharSequence s, int start, int before, int count) {
+        final AXColorPickerMetrics metrics = AXColorPickerInstrumentation.metrics;
+        final long parseStart = metrics != null ? System.nanoTime() : 0;
+        final int previousState = validator.getState();
+        final int state = validator.onTextChanged(s, start, before, count);
+        if (metrics != null) {
+            metrics.record(AXColorPickerMetrics.METRIC_HEX_PARSE, System.nanoTime() - parseStart);
+        }
+        if (state != previousState) {
+            listener.onHexStateChanged(state);
+        }
+        if (settingText) {
+            return;
+        }
+
+        cancel();
+        if (state == STATE_COMPLETE) {
+            if (debounceMillis > 0) {
+                textView.postDelayed(this, debounceMillis);
+            } else {
+                run();
+            }
+        }
+    }
+
+    @Override
+    public void afterTextChanged(Editable s) {
+    }
+
+    @Override
+    public void run() {
+        if (validator.getState() == STATE_COMPLETE) {
+            listener.onHexColor((int) validator.getColor());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.long76.androidxcolorpicker;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Installation point of the {@link AXColorPickerMetrics} of the process.
+ * <p>
+ * With no metrics installed, the default, the library checks a field before each measure and
+ * skips it: no clock read, no call, no allocation.
+ *
+ * <pre>
+ * if (BuildConfig.DEBUG) {
+ *     AXColorPickerInstrumentation.install(new AXColorPickerMetricsRecorder());
+ * }
+ * </pre>
+ *
+ * @since v3.2
+ */
+public final class AXColorPickerInstrumentation {
+
+    /**
+     * Metrics installed, null if none
+     */
+    @Nullable
+    static volatile AXColorPickerMetrics metrics;
+
+    private AXColorPickerInstrumentation() {
+    }
+
+    /**
+     * Install the metrics every picker and preference of the process records to, replacing the
+     * ones installed before.
+     *
+     * @param metrics Receiver of the measures, null to stop measuring
+     * @since v3.2
+     */
+    public static void install(@Nullable AXColorPickerMetrics metrics) {
+        AXColorPickerInstrumentation.metrics = metrics;
+    }
+
+    /**
+     * @return The metrics installed, null if none
+     * @since v3.2
+     */
+    @Nullable
+    public static AXColorPickerMetrics getMetrics() {
+        return metrics;
+    }
+}
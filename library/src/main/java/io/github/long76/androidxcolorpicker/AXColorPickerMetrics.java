@@ -0,0 +1,92 @@
+package io.github.long76.androidxcolorpicker;
+
+import androidx.annotation.IntDef;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * Receiver of the timings of the pickers and preferences, e.g. to report UI jank from
+ * production. Install one with {@link AXColorPickerInstrumentation#install(AXColorPickerMetrics)};
+ * none is installed by default, and then nothing is measured at all.
+ * <p>
+ * Called on the UI thread, right where each measure is taken: keep {@link #record(int, long)}
+ * short and allocation free, e.g. by adding to counters or a ring buffer like
+ * {@link AXColorPickerMetricsRecorder}.
+ *
+ * @since v3.2
+ */
+public interface AXColorPickerMetrics {
+
+    /**
+     * Nanoseconds spent creating the views of a picker dialog, in onCreate
+     */
+    int METRIC_INFLATE = 0;
+
+    /**
+     * Nanoseconds between {@link AXColorPicker#show()} and the first frame drawn after it
+     */
+    int METRIC_SHOW_TO_FIRST_DRAW = 1;
+
+    /**
+     * Nanoseconds spent handling one progress change of a seek bar
+     */
+    int METRIC_PROGRESS_CHANGED = 2;
+
+    /**
+     * Nanoseconds spent updating the views to the color, once per frame at most
+     */
+    int METRIC_FRAME_UPDATE = 3;
+
+    /**
+     * Nanoseconds spent writing the HEX code of the color into its field
+     */
+    int METRIC_HEX_FORMAT = 4;
+
+    /**
+     * Nanoseconds spent checking the HEX code each time its text changes
+     */
+    int METRIC_HEX_PARSE = 5;
+
+    /**
+     * Nanoseconds spent getting the swatch of a preference, rendered or from the cache
+     */
+    int METRIC_PREVIEW_BITMAP = 6;
+
+    /**
+     * Nanoseconds spent in the listener of the color chosen
+     */
+    int METRIC_CALLBACK_DISPATCH = 7;
+
+    /**
+     * Number of color changes merged into an update already waiting for the next frame while a
+     * picker was shown, recorded when it is dismissed
+     */
+    int METRIC_COALESCED_UPDATES = 8;
+
+    /**
+     * Nanoseconds spent drawing a seek bar, its track, thumb and label
+     */
+    int METRIC_SEEK_BAR_DRAW = 9;
+
+    /**
+     * Number of metrics, one more than the highest one
+     */
+    int METRIC_COUNT = 10;
+
+    /**
+     * One of the METRIC_* constants
+     */
+    @IntDef({METRIC_INFLATE, METRIC_SHOW_TO_FIRST_DRAW, METRIC_PROGRESS_CHANGED,
+            METRIC_FRAME_UPDATE, METRIC_HEX_FORMAT, METRIC_HEX_PARSE, METRIC_PREVIEW_BITMAP,
+            METRIC_CALLBACK_DISPATCH, METRIC_COALESCED_UPDATES, METRIC_SEEK_BAR_DRAW})
+    @Retention(RetentionPolicy.SOURCE)
+    @interface Metric {
+    }
+
+    /**
+     * @param metric One of the METRIC_* constants
+     * @param value  Duration in nanoseconds, or count, as documented by the metric
+     */
+    void record(@Metric int metric, long value);
+}
@@ -0,0 +1,127 @@
+package io.github.long76.androidxcolorpicker;
+
+import androidx.annotation.IntRange;
+
+/**
+ * Metrics kept in memory, e.g. to check the timings in tests: the last records in a ring
+ * buffer of primitive arrays, the oldest ones overwritten once it is full, so recording never
+ * allocates. Safe to use from any thread.
+ *
+ * @since v3.2
+ */
+public final class AXColorPickerMetricsRecorder implements AXColorPickerMetrics {
+
+    /**
+     * Records kept by default
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final int[] metrics;
+    private final long[] values;
+
+    /**
+     * Index the next record is written at
+     */
+    private int next;
+    private int size;
+    private long recordCount;
+
+    public AXColorPickerMetricsRecorder() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity Number of records kept
+     */
+    public AXColorPickerMetricsRecorder(@IntRange(from = 1) int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity " + capacity);
+        }
+        metrics = new int[capacity];
+        values = new long[capacity];
+    }
+
+    @Override
+    public synchronized void record(@Metric int metric, long value) {
+        metrics[next] = metric;
+        values[next] = value;
+        next = next + 1 < metrics.length ? next + 1 : 0;
+        size = Math.min(size + 1, metrics.length);
+        recordCount++;
+    }
+
+    /**
+     * @return Number of records kept, up to the capacity
+     * @since v3.2
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @return Number of records since created or cleared, the overwritten ones included
+     * @since v3.2
+     */
+    public synchronized long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * @param index Index of a record kept, 0 for the oldest
+     * @return Metric of the record, one of the METRIC_* constants
+     * @since v3.2
+     */
+    @Metric
+    public synchronized int getMetric(int index) {
+        return metrics[slot(index)];
+    }
+
+    /**
+     * @param index Index of a record kept, 0 for the oldest
+     * @return Value of the record
+     * @since v3.2
+     */
+    public synchronized long getValue(int index) {
+        return values[slot(index)];
+    }
+
+    /**
+     * @param metric One of the METRIC_* constants
+     * @return Values kept of the metric, the oldest first
+     * @since v3.2
+     */
+    public synchronized long[] getValues(@Metric int metric) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (metrics[slot(i)] == metric) {
+                count++;
+            }
+        }
+        final long[] metricValues = new long[count];
+        for (int i = 0, j = 0; i < size; i++) {
+            if (metrics[slot(i)] == metric) {
+                metricValues[j++] = values[slot(i)];
+            }
+        }
+        return metricValues;
+    }
+
+    /**
+     * Forget every record.
+     *
+     * @since v3.2
+     */
+    public synchronized void clear() {
+        next = 0;
+        size = 0;
+        recordCount = 0;
+    }
+
+    private int slot(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Record " + index + " of " + size);
+        }
+        final int slot = next - size + index;
+        return slot < 0 ? slot + metrics.length : slot;
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.long76.androidxcolorpicker;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps one color picker per Context, so opening the picker again from anywhere in the same
+ * activity reuses the views inflated the first time instead of inflating them again.
+ * <p>
+ * Only Contexts backed by a {@link LifecycleOwner} (e.g. an AppCompatActivity, or a theme
+ * wrapper around one) are pooled, the picker is dropped when the owner is destroyed. Other
+ * Contexts get a new picker on every call. Must be used from the UI thread.
+ *
+ * <pre>
+ * AXColorPicker colorPicker = AXColorPickerPool.obtain(context);
+ * colorPicker.setColor(Color.BLACK);
+ * colorPicker.setOnColorChosenListener(color -&gt; { ... });
+ * colorPicker.show();
+ * </pre>
+ *
+ * @since v3.2
+ */
+public final class AXColorPickerPool {
+
+    private static final Map<Context, AXColorPicker> colorPickers = new HashMap<>();
+
+    private AXColorPickerPool() {
+    }
+
+    /**
+     * Get the color picker of a Context, {@link AXColorPicker#reset() reset} to the defaults.
+     * If the pooled picker is showing, a new one that isn't pooled is returned instead.
+     *
+     * @param context The reference to the activity where the color picker is called
+     * @return Color picker in the state of a new instance
+     * @since v3.2
+     */
+    @NonNull
+    public static AXColorPicker obtain(@NonNull Context context) {
+        AXColorPicker colorPicker = colorPickers.get(context);
+        if (colorPicker == null) {
+            colorPicker = new AXColorPicker(context);
+
+            final LifecycleOwner owner = findLifecycleOwner(context);
+            if (owner != null
+                    && owner.getLifecycle().getCurrentState() != Lifecycle.State.DESTROYED) {
+                colorPickers.put(context, colorPicker);
+                owner.getLifecycle().addObserver((LifecycleEventObserver) (source, event) -> {
+                    if (event == Lifecycle.Event.ON_DESTROY) {
+                        release(context);
+                    }
+                });
+            }
+            return colorPicker;
+        }
+
+        if (colorPicker.isShowing()) {
+            return new AXColorPicker(context);
+        }
+        colorPicker.reset();
+        return colorPicker;
+    }
+
+    /**
+     * Dismiss and drop the pooled color picker of a Context, if any. Called automatically when
+     * the lifecycle owner of the Context is destroyed.
+     *
+     * @param context Context the picker was obtained with
+     * @since v3.2
+     */
+    public static void release(@NonNull Context context) {
+        final AXColorPicker colorPicker = colorPickers.remove(context);
+        if (colorPicker != null) {
+            colorPicker.dismiss();
+        }
+    }
+
+    @Nullable
+    private static LifecycleOwner findLifecycleOwner(Context context) {
+        while (context != null) {
+            if (context instanceof LifecycleOwner) {
+                return (LifecycleOwner) context;
+            }
+            context = context instanceof ContextWrapper
+                    ? ((ContextWrapper) context).getBaseContext()
+                    : null;
+        }
+        return null;
+    }
+}
@@ -1,17 +1,15 @@
 package io.github.long76.androidxcolorpicker;
 
 import android.content.Context;
-import android.content.SharedPreferences;
 import android.content.res.TypedArray;
 import android.graphics.Bitmap;
 import android.graphics.Color;
 import android.util.AttributeSet;
-import android.view.View;
 import android.widget.ImageView;
-import android.widget.LinearLayout;
 
 import androidx.annotation.ColorInt;
 import androidx.annotation.Dimension;
+import androidx.annotation.VisibleForTesting;
 import androidx.preference.Preference;
 import androidx.preference.PreferenceViewHolder;
 
@@ -19,14 +17,17 @@ public class AXColorPickerPreference extends Preference
         implements Preference.OnPreferenceClickListener,
         AXColorPickerCallback {
 
-    private View view;
-    private AXColorPicker AXColorPicker;
+    private ImageView previewView;
+    private AXColorPicker colorPicker;
     private String text;
     private String prefName;
     private String prefNameTextColor;
     private String prefNameBackgroundColor;
     private boolean alphaEnabled;
     private boolean customButtonColor;
+    private boolean sharedDialog;
+    @AXColorPicker.ColorMode
+    private int colorMode = AXColorPicker.COLOR_MODE_RGB;
     private float density = 0;
     private Bitmap.Config bitmapConfig = Bitmap.Config.RGB_565;
 
@@ -65,6 +66,7 @@ public class AXColorPickerPreference extends Preference
 
     private void init(Context context, AttributeSet attrs) {
         density = getContext().getResources().getDisplayMetrics().density;
+        setWidgetLayoutResource(R.layout.axcolorpicker_preference_widget);
         setOnPreferenceClickListener(this);
         if (attrs != null) {
             final TypedArray typedArray = getContext().obtainStyledAttributes(
@@ -105,6 +107,16 @@ public class AXColorPickerPreference extends Preference
                 textSize = typedArray.getFloat(
                         R.styleable.AXColorPickerPreference_AXColorPickerTextSize,
                         14);
+
+                sharedDialog = typedArray.getBoolean(
+                        R.styleable.AXColorPickerPreference_AXColorPickerSharedDialog,
+                        false
+                );
+
+                colorMode = typedArray.getInt(
+                        R.styleable.AXColorPickerPreference_AXColorPickerColorMode,
+                        AXColorPicker.COLOR_MODE_RGB
+                );
             } finally {
                 typedArray.recycle();
             }
@@ -116,33 +128,105 @@ public class AXColorPickerPreference extends Preference
             customButtonColor = true;
         if (alphaEnabled) {
             bitmapConfig = Bitmap.Config.ARGB_8888;
-            AXColorPicker = new AXColorPicker(context, 0, 0, 0, 0);
-        } else
-            AXColorPicker = new AXColorPicker(context);
+        }
+        if (!customButtonColor && prefName != null
+                && prefNameBackgroundColor != null && prefNameTextColor != null) {
+            // Loaded in the background, the first tap won't wait for the disk
+            AXColorPickerButtonStyles.getInstance(context)
+                    .prewarm(prefName, prefNameBackgroundColor, prefNameTextColor);
+        }
+    }
+
+    /**
+     * Use the color picker dialog of the Context from {@link AXColorPickerPool}, shared with all
+     * the preferences of the same Context that enable this, instead of one dialog per preference.
+     * Either way the dialog is only created the first time the preference is clicked.
+     *
+     * @param sharedDialog Share the dialog(true) or not(false)
+     * @since v3.2
+     */
+    public void setSharedDialog(boolean sharedDialog) {
+        if (this.sharedDialog != sharedDialog) {
+            this.sharedDialog = sharedDialog;
+            colorPicker = null;
+        }
+    }
+
+    /**
+     * Get shared dialog flag value
+     *
+     * @return Shared dialog value boolean (true/false)
+     * @since v3.2
+     */
+    public boolean getSharedDialog() {
+        return sharedDialog;
+    }
+
+    /**
+     * Set the seek bars of the dialog, see {@link AXColorPicker#setColorMode(int)}
+     *
+     * @param colorMode One of AXColorPicker.COLOR_MODE_RGB, COLOR_MODE_HSV or COLOR_MODE_HSL
+     * @since v3.2
+     */
+    public void setColorMode(@AXColorPicker.ColorMode int colorMode) {
+        this.colorMode = colorMode;
+    }
+
+    /**
+     * Get the seek bars of the dialog
+     *
+     * @return One of AXColorPicker.COLOR_MODE_RGB, COLOR_MODE_HSV or COLOR_MODE_HSL
+     * @since v3.2
+     */
+    @AXColorPicker.ColorMode
+    public int getColorMode() {
+        return colorMode;
     }
 
     @Override
     public boolean onPreferenceClick(Preference preference) {
-        AXColorPicker.setColor(value);
-        AXColorPicker.setAutoClose(true);
-        AXColorPicker.setOnColorChosenListener(this);
-        AXColorPicker.setTextSizeButton(textSize);
-        AXColorPicker.setTextButton(text);
+        final AXColorPicker colorPicker = getColorPicker();
+        colorPicker.reset();
+        colorPicker.setARGBFormat(alphaEnabled);
+        colorPicker.setColorMode(colorMode);
+        colorPicker.setColor(value);
+        colorPicker.setAutoClose(true);
+        colorPicker.setOnColorChosenListener(this);
+        colorPicker.setTextSizeButton(textSize);
+        colorPicker.setTextButton(text);
         if (customButtonColor) {
-            AXColorPicker.setColorButton(backgroundColor, textColor);
+            colorPicker.setColorButton(backgroundColor, textColor);
         } else if (prefName != null) {
-            SharedPreferences preferences = getContext().getSharedPreferences(prefName, Context.MODE_PRIVATE);
             if (prefNameBackgroundColor != null && prefNameTextColor != null) {
-                AXColorPicker.setColorButton(
-                        preferences.getInt(prefNameBackgroundColor, -1),
-                        preferences.getInt(prefNameTextColor, -1)
+                final AXColorPickerButtonStyles buttonStyles =
+                        AXColorPickerButtonStyles.getInstance(getContext());
+                colorPicker.setColorButton(
+                        buttonStyles.getColor(prefName, prefNameBackgroundColor),
+                        buttonStyles.getColor(prefName, prefNameTextColor)
                 );
             }
         }
-        AXColorPicker.show();
+        colorPicker.show();
         return true;
     }
 
+    private AXColorPicker getColorPicker() {
+        if (colorPicker == null) {
+            colorPicker = sharedDialog
+                    ? AXColorPickerPool.obtain(getContext())
+                    : new AXColorPicker(getContext());
+        }
+        return colorPicker;
+    }
+
+    /**
+     * @return The dialog of this preference, null until it is clicked the first time
+     */
+    @VisibleForTesting
+    AXColorPicker peekColorPicker() {
+        return colorPicker;
+    }
+
     @Override
     public void onColorChosen(int color) {
         if (isPersistent()) {
@@ -157,7 +241,7 @@ public class AXColorPickerPreference extends Preference
     @Override
     public void onBindViewHolder(PreferenceViewHolder holder) {
         super.onBindViewHolder(holder);
-        view = holder.itemView;
+        previewView = (ImageView) holder.findViewById(R.id.colorPreview);
         setPreviewColor();
     }
 
@@ -172,40 +256,23 @@ public class AXColorPickerPreference extends Preference
     }
 
     private void setPreviewColor() {
-        if (view == null) return;
-        ImageView iView = new ImageView(getContext());
-        LinearLayout widgetFrameView = view.findViewById(android.R.id.widget_frame);
-        if (widgetFrameView == null) return;
-        widgetFrameView.setVisibility(View.VISIBLE);
-        widgetFrameView.setPadding(
-                widgetFrameView.getPaddingLeft(),
-                widgetFrameView.getPaddingTop(),
-                (int) (density * 8),
-                widgetFrameView.getPaddingBottom()
-        );
-        // remove already create preview image
-        widgetFrameView.removeAllViews();
-        widgetFrameView.addView(iView);
-        widgetFrameView.setMinimumWidth(0);
-        iView.setImageBitmap(getPreviewBitmap());
+        if (previewView == null) return;
+        final Bitmap bitmap = getPreviewBitmap();
+        // the swatches are cached, the same bitmap means the same color is already shown
+        if (previewView.getTag(R.id.colorPreview) != bitmap) {
+            previewView.setTag(R.id.colorPreview, bitmap);
+            previewView.setImageBitmap(bitmap);
+        }
     }
 
     private Bitmap getPreviewBitmap() {
-        int d = (int) (density * 31); //30dip
-        Bitmap bm = Bitmap.createBitmap(d, d, bitmapConfig);
-        int w = bm.getWidth();
-        int h = bm.getHeight();
-        int c;
-        for (int i = 0; i < w; i++) {
-            for (int j = i; j < h; j++) {
-                c = i <= 1 || i >= w - 2 || j >= h - 2 ? Color.GRAY : value;
-                bm.setPixel(i, j, c);
-                if (i != j) {
-                    bm.setPixel(j, i, c);
-                }
-            }
+        final AXColorPickerMetrics metrics = AXColorPickerInstrumentation.metrics;
+        final long start = metrics != null ? System.nanoTime() : 0;
+        final Bitmap bitmap = AXColorPickerPreviewCache.getInstance()
+                .get(value, (int) (density * 31), bitmapConfig); //30dip
+        if (metrics != null) {
+            metrics.record(AXColorPickerMetrics.METRIC_PREVIEW_BITMAP, System.nanoTime() - start);
         }
-
-        return bm;
+        return bitmap;
     }
 }
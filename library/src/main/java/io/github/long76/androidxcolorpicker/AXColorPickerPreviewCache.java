@@ -0,0 +1,172 @@
+package io.github.long76.androidxcolorpicker;
+
+import android.graphics.Bitmap;
+import android.graphics.Color;
+import android.util.LruCache;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * Shared cache of the color swatches shown by {@link AXColorPickerPreference}.
+ * <p>
+ * Swatches are keyed by color, size and bitmap config, rendered in a single pass and kept in an
+ * LRU cache bounded by the byte count of the bitmaps, so a screen full of color preferences
+ * binds without rendering anything once the swatches are cached. The cached bitmaps are shared,
+ * they must not be modified or recycled.
+ *
+ * @since v3.2
+ */
+public final class AXColorPickerPreviewCache {
+
+    /**
+     * Default memory budget, enough for about 34 swatches of 31dp on xxxhdpi screens (124px
+     * ARGB_8888, 60 KB each), or about 136 on xhdpi ones.
+     */
+    public static final int DEFAULT_MAX_SIZE_BYTES = 2 * 1024 * 1024;
+
+    @ColorInt
+    static final int BORDER_COLOR = Color.GRAY;
+    static final int BORDER_WIDTH = 2;
+
+    private static AXColorPickerPreviewCache instance;
+
+    private final Bitmap.Config[] configs = Bitmap.Config.values();
+    private final LruCache<Long, Bitmap> cache;
+    private int[] pixels = new int[0];
+
+    private AXColorPickerPreviewCache(int maxSizeBytes) {
+        cache = new LruCache<Long, Bitmap>(maxSizeBytes) {
+            @Override
+            protected int sizeOf(Long key, Bitmap value) {
+                return value.getByteCount();
+            }
+
+            @Override
+            protected Bitmap create(Long key) {
+                return render((int) (key >>> 32), (int) (key >>> 8) & 0xFFFFFF,
+                        configs[(int) (key & 0xFF)]);
+            }
+        };
+    }
+
+    /**
+     * Get the cache shared by all preferences of the process
+     *
+     * @return Shared instance
+     * @since v3.2
+     */
+    @NonNull
+    public static synchronized AXColorPickerPreviewCache getInstance() {
+        if (instance == null) {
+            instance = new AXColorPickerPreviewCache(DEFAULT_MAX_SIZE_BYTES);
+        }
+        return instance;
+    }
+
+    /**
+     * Get the swatch of a color, rendering it on a miss.
+     *
+     * @param color  Swatch color
+     * @param size   Width and height in pixels
+     * @param config Bitmap config
+     * @return Shared, immutable swatch bitmap
+     * @since v3.2
+     */
+    @NonNull
+    public Bitmap get(@ColorInt int color, int size, @NonNull Bitmap.Config config) {
+        return cache.get((long) color << 32 | (long) (size & 0xFFFFFF) << 8 | config.ordinal());
+    }
+
+    /**
+     * Set the memory budget, evicting the least recently used swatches if needed.
+     *
+     * @param maxSizeBytes Maximum total byte count of the cached bitmaps
+     * @since v3.2
+     */
+    public void resize(int maxSizeBytes) {
+        cache.resize(maxSizeBytes);
+    }
+
+    /**
+     * Drop every cached swatch.
+     *
+     * @since v3.2
+     */
+    public void evictAll() {
+        cache.evictAll();
+    }
+
+    /**
+     * @return Memory budget in bytes
+     * @since v3.2
+     */
+    public int maxSize() {
+        return cache.maxSize();
+    }
+
+    /**
+     * @return Total byte count of the cached swatches
+     * @since v3.2
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * @return Number of lookups served from the cache
+     * @since v3.2
+     */
+    public int hitCount() {
+        return cache.hitCount();
+    }
+
+    /**
+     * @return Number of lookups that had to render the swatch
+     * @since v3.2
+     */
+    public int missCount() {
+        return cache.missCount();
+    }
+
+    /**
+     * @return Number of swatches evicted to stay in the memory budget
+     * @since v3.2
+     */
+    public int evictionCount() {
+        return cache.evictionCount();
+    }
+
+    private synchronized Bitmap render(@ColorInt int color, int size, Bitmap.Config config) {
+        if (pixels.length < size * size) {
+            pixels = new int[size * size];
+        }
+        fillPreviewPixels(pixels, size, color);
+
+        final Bitmap bitmap = Bitmap.createBitmap(size, size, config);
+        bitmap.setPixels(pixels, 0, size, 0, 0, size, size);
+        return bitmap;
+    }
+
+    /**
+     * Fills a square swatch: the color framed by a {@link #BORDER_WIDTH} pixels wide grey border.
+     *
+     * @param pixels Destination, row by row, at least {@code size * size} long
+     * @param size   Width and height in pixels
+     * @param color  Swatch color
+     */
+    static void fillPreviewPixels(int[] pixels, int size, @ColorInt int color) {
+        final int border = Math.min(BORDER_WIDTH, (size + 1) / 2);
+
+        Arrays.fill(pixels, 0, border * size, BORDER_COLOR);
+        for (int row = border; row < size - border; row++) {
+            final int start = row * size;
+            Arrays.fill(pixels, start, start + border, BORDER_COLOR);
+            Arrays.fill(pixels, start + border, start + size - border, color);
+            Arrays.fill(pixels, start + size - border, start + size, BORDER_COLOR);
+        }
+        Arrays.fill(pixels, Math.max(border, size - border) * size, size * size, BORDER_COLOR);
+    }
+}
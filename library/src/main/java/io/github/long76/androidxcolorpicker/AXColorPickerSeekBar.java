@@ -11,9 +11,13 @@ import android.util.TypedValue;
 
 import androidx.annotation.ColorInt;
 import androidx.annotation.Dimension;
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.appcompat.widget.AppCompatSeekBar;
 
+import static io.github.long76.androidxcolorpicker.AXColorPickerFormatHelper.progressLabel;
+import static io.github.long76.androidxcolorpicker.AXColorPickerMetrics.METRIC_SEEK_BAR_DRAW;
+
 class AXColorPickerSeekBar extends AppCompatSeekBar {
 
     private Paint textPaint;
@@ -27,6 +31,8 @@ class AXColorPickerSeekBar extends AppCompatSeekBar {
 
     private String text;
 
+    private AXColorPickerTrackDrawable trackDrawable;
+
     public AXColorPickerSeekBar(Context context) {
         super(context);
         init(null);
@@ -91,13 +97,58 @@ class AXColorPickerSeekBar extends AppCompatSeekBar {
 
     @Override
     protected void onDraw(Canvas canvas) {
+        final AXColorPickerMetrics metrics = AXColorPickerInstrumentation.metrics;
+        final long start = metrics != null ? System.nanoTime() : 0;
         super.onDraw(canvas);
 
         canvas.drawText(
-                (text == null) ? String.valueOf(getProgress()) : text,
+                (text == null) ? progressLabel(getProgress()) : text,
                 getThumb().getBounds().left + getPaddingLeft(),
                 textRect.height() + (getPaddingTop() >> 2),
                 textPaint
         );
+
+        if (metrics != null) {
+            metrics.record(METRIC_SEEK_BAR_DRAW, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Replaces the track with a gradient between two colors, e.g. the colors at both ends of
+     * a channel with the other channels fixed. Cheap to call on every change: the gradient is only
+     * rebuilt when the colors differ from the current ones.
+     *
+     * @param startColor   Color at progress 0
+     * @param endColor     Color at the max progress
+     * @param checkerboard Draw a checkerboard under the gradient, for translucent colors. Only
+     *                     read the first time.
+     */
+    void setTrackGradient(@ColorInt int startColor, @ColorInt int endColor, boolean checkerboard) {
+        if (trackDrawable == null) {
+            trackDrawable = new AXColorPickerTrackDrawable(checkerboard);
+            trackDrawable.setColors(startColor, endColor);
+            setProgressDrawable(trackDrawable);
+        } else {
+            trackDrawable.setColors(startColor, endColor);
+        }
+    }
+
+    /**
+     * Replaces the track with a gradient through evenly spaced colors, e.g. around the hue
+     * circle. Cheap to call on every change, like {@link #setTrackGradient(int, int, boolean)}.
+     *
+     * @param colors       Stop colors from progress 0 to the max progress, copied
+     * @param count        Number of stops to read from colors, at least 2
+     * @param checkerboard Draw a checkerboard under the gradient, for translucent colors. Only
+     *                     read the first time.
+     */
+    void setTrackGradient(@NonNull int[] colors, int count, boolean checkerboard) {
+        if (trackDrawable == null) {
+            trackDrawable = new AXColorPickerTrackDrawable(checkerboard);
+            trackDrawable.setColors(colors, count);
+            setProgressDrawable(trackDrawable);
+        } else {
+            trackDrawable.setColors(colors, count);
+        }
     }
 }
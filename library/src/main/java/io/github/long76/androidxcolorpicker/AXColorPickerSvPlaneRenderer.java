@@ -0,0 +1,195 @@
+package io.github.long76.androidxcolorpicker;
+
+import android.graphics.Bitmap;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Renders the saturation/value planes of {@link AXColorPickerSvPlaneView} on a background
+ * thread, into an int array copied to a Bitmap with setPixels. The last planes rendered are
+ * kept by hue, so going back to a hue shows it at once, and the bitmap of the least recently
+ * used one is rendered into again rather than a new one allocated.
+ * <p>
+ * One plane is rendered at a time: the hues requested while it runs are coalesced, only the
+ * latest one is rendered next. Everything but the rendering itself runs on the UI thread.
+ */
+final class AXColorPickerSvPlaneRenderer {
+
+    /**
+     * Planes kept, a few hues around the one shown
+     */
+    static final int CACHE_SIZE = 4;
+
+    private static final int NO_HUE = -1;
+
+    interface Listener {
+        /**
+         * @param hue   Hue of the plane
+         * @param plane Plane to show, drawn into again once evicted from the cache while not
+         *              shown any more
+         */
+        void onPlaneRendered(int hue, @NonNull Bitmap plane);
+    }
+
+    private final Listener listener;
+    private final Executor backgroundExecutor;
+    private final Executor mainExecutor;
+
+    /**
+     * Hues of the planes cached, when each was last used, and the planes. Arrays rather than a
+     * map, so looking a hue up allocates no Integer.
+     */
+    private final int[] hues = new int[CACHE_SIZE];
+    private final long[] lastUsed = new long[CACHE_SIZE];
+    private final Bitmap[] planes = new Bitmap[CACHE_SIZE];
+    private long useCount;
+
+    /**
+     * Bitmap evicted from the cache, the target of the next render
+     */
+    @Nullable
+    private Bitmap spare;
+
+    @Nullable
+    private Bitmap shown;
+
+    private int width;
+    private int height;
+    private int requestedHue = NO_HUE;
+    private boolean rendering;
+
+    /**
+     * Incremented on every size change, a render is only kept if the size is still the same
+     */
+    private int generation;
+
+    /**
+     * Pixels of the plane being rendered, only touched from the background thread
+     */
+    private int[] pixels;
+
+    AXColorPickerSvPlaneRenderer(@NonNull Listener listener,
+                                 @NonNull Executor backgroundExecutor,
+                                 @NonNull Executor mainExecutor) {
+        this.listener = listener;
+        this.backgroundExecutor = backgroundExecutor;
+        this.mainExecutor = mainExecutor;
+        clearCache();
+    }
+
+    /**
+     * Drops the planes of another size and renders the hue requested again.
+     *
+     * @param width  Width of the planes in pixels
+     * @param height Height of the planes in pixels
+     */
+    void setSize(int width, int height) {
+        if (width == this.width && height == this.height) {
+            return;
+        }
+        this.width = width;
+        this.height = height;
+        generation++;
+        clearCache();
+        spare = null;
+        shown = null;
+        if (requestedHue != NO_HUE) {
+            requestHue(requestedHue);
+        }
+    }
+
+    /**
+     * Shows the plane of a hue: at once if cached, else once rendered.
+     *
+     * @param hue Hue (0 - 359)
+     */
+    void requestHue(int hue) {
+        requestedHue = hue;
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        final int slot = indexOf(hue);
+        if (slot >= 0) {
+            lastUsed[slot] = ++useCount;
+            if (planes[slot] != shown) {
+                shown = planes[slot];
+                listener.onPlaneRendered(hue, planes[slot]);
+            }
+        } else if (!rendering) {
+            render(hue);
+        }
+    }
+
+    /**
+     * @return Whether a plane is being rendered
+     */
+    boolean isRendering() {
+        return rendering;
+    }
+
+    private void render(int hue) {
+        rendering = true;
+        final int width = this.width;
+        final int height = this.height;
+        final int requested = generation;
+        final Bitmap target = spare;
+        spare = null;
+        backgroundExecutor.execute(() -> {
+            if (pixels == null || pixels.length < width * height) {
+                pixels = new int[width * height];
+            }
+            AXColorPickerSvPlane.render(hue, pixels, width, height);
+            final Bitmap plane = target != null
+                    ? target
+                    : Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            plane.setPixels(pixels, 0, width, 0, 0, width, height);
+            mainExecutor.execute(() -> onRendered(requested, hue, plane));
+        });
+    }
+
+    private void onRendered(int requested, int hue, @NonNull Bitmap plane) {
+        rendering = false;
+        if (requested == generation) {
+            store(hue, plane);
+        }
+        // The hue rendered, now cached, or the latest one requested meanwhile
+        if (requestedHue != NO_HUE) {
+            requestHue(requestedHue);
+        }
+    }
+
+    private void store(int hue, @NonNull Bitmap plane) {
+        int slot = 0;
+        for (int i = 1; i < CACHE_SIZE; i++) {
+            if (lastUsed[i] < lastUsed[slot]) {
+                slot = i;
+            }
+        }
+        if (planes[slot] != null && planes[slot] != shown) {
+            spare = planes[slot];
+        }
+        hues[slot] = hue;
+        planes[slot] = plane;
+        lastUsed[slot] = ++useCount;
+    }
+
+    private int indexOf(int hue) {
+        for (int i = 0; i < CACHE_SIZE; i++) {
+            if (hues[i] == hue && planes[i] != null) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void clearCache() {
+        for (int i = 0; i < CACHE_SIZE; i++) {
+            hues[i] = NO_HUE;
+            lastUsed[i] = 0;
+            planes[i] = null;
+        }
+    }
+}
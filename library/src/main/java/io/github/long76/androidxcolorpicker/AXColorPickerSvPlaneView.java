@@ -0,0 +1,180 @@
+package io.github.long76.androidxcolorpicker;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.util.AttributeSet;
+import android.view.MotionEvent;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import static io.github.long76.androidxcolorpicker.AXColorPickerColorSpace.MAX_PERCENT;
+
+/**
+ * Saturation/value square of the HSV mode: the plane of the current hue, rendered off the UI
+ * thread by {@link AXColorPickerSvPlaneRenderer}, and a ring on the saturation and value
+ * picked. Touching the square picks both at once; tracking a touch allocates nothing.
+ */
+class AXColorPickerSvPlaneView extends View implements AXColorPickerSvPlaneRenderer.Listener {
+
+    interface OnSvChangeListener {
+        /**
+         * @param saturation Saturation picked (0 - 100)
+         * @param value      Value picked (0 - 100)
+         */
+        void onSvChanged(int saturation, int value);
+    }
+
+    private final Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private AXColorPickerSvPlaneRenderer renderer;
+    private float ringRadius;
+    private float ringWidth;
+
+    @Nullable
+    private OnSvChangeListener listener;
+
+    @Nullable
+    private Bitmap plane;
+
+    private int hue = -1;
+    private int saturation;
+    private int value = MAX_PERCENT;
+
+    public AXColorPickerSvPlaneView(Context context) {
+        super(context);
+        init();
+    }
+
+    public AXColorPickerSvPlaneView(Context context, AttributeSet attrs) {
+        super(context, attrs);
+        init();
+    }
+
+    public AXColorPickerSvPlaneView(Context context, AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+        init();
+    }
+
+    private void init() {
+        final float density = getResources().getDisplayMetrics().density;
+        ringRadius = 8 * density;
+        ringWidth = 2 * density;
+        paint.setStyle(Paint.Style.STROKE);
+        renderer = new AXColorPickerSvPlaneRenderer(this,
+                AXColorPickerExecutors.newBackgroundExecutor("AXColorPickerSvPlane"),
+                AXColorPickerExecutors.mainThread());
+    }
+
+    void setOnSvChangeListener(@Nullable OnSvChangeListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Moves the ring, and shows the plane of the hue if it changed.
+     *
+     * @param hue        Hue (0 - 359)
+     * @param saturation Saturation (0 - 100)
+     * @param value      Value (0 - 100)
+     */
+    void setHsv(int hue, int saturation, int value) {
+        if (saturation != this.saturation || value != this.value) {
+            this.saturation = saturation;
+            this.value = value;
+            invalidate();
+        }
+        if (hue != this.hue) {
+            this.hue = hue;
+            renderer.requestHue(hue);
+        }
+    }
+
+    int getSaturation() {
+        return saturation;
+    }
+
+    int getValue() {
+        return value;
+    }
+
+    @VisibleForTesting
+    @NonNull
+    AXColorPickerSvPlaneRenderer getRenderer() {
+        return renderer;
+    }
+
+    @VisibleForTesting
+    @Nullable
+    Bitmap getPlane() {
+        return plane;
+    }
+
+    @Override
+    public void onPlaneRendered(int hue, @NonNull Bitmap plane) {
+        this.plane = plane;
+        invalidate();
+    }
+
+    @Override
+    protected void onSizeChanged(int width, int height, int oldWidth, int oldHeight) {
+        super.onSizeChanged(width, height, oldWidth, oldHeight);
+        renderer.setSize(width, height);
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        if (plane != null) {
+            canvas.drawBitmap(plane, 0, 0, null);
+        }
+        final float x = AXColorPickerSvPlane.saturationX(saturation, getWidth());
+        final float y = AXColorPickerSvPlane.valueY(value, getHeight());
+        paint.setStrokeWidth(ringWidth * 2);
+        paint.setColor(0xFF000000);
+        canvas.drawCircle(x, y, ringRadius, paint);
+        paint.setStrokeWidth(ringWidth);
+        paint.setColor(0xFFFFFFFF);
+        canvas.drawCircle(x, y, ringRadius, paint);
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                getParent().requestDisallowInterceptTouchEvent(true);
+                // fall through
+            case MotionEvent.ACTION_MOVE:
+                pick(event.getX(), event.getY());
+                return true;
+            case MotionEvent.ACTION_UP:
+                pick(event.getX(), event.getY());
+                performClick();
+                return true;
+            case MotionEvent.ACTION_CANCEL:
+                return true;
+            default:
+                return super.onTouchEvent(event);
+        }
+    }
+
+    @Override
+    public boolean performClick() {
+        return super.performClick();
+    }
+
+    private void pick(float x, float y) {
+        final int saturation = AXColorPickerSvPlane.saturationAt(x, getWidth());
+        final int value = AXColorPickerSvPlane.valueAt(y, getHeight());
+        if (saturation == this.saturation && value == this.value) {
+            return;
+        }
+        this.saturation = saturation;
+        this.value = value;
+        invalidate();
+        if (listener != null) {
+            listener.onSvChanged(saturation, value);
+        }
+    }
+}
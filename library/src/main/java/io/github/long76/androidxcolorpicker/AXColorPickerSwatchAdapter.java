@@ -0,0 +1,213 @@
+package io.github.long76.androidxcolorpicker;
+
+import android.view.ViewGroup;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * Swatches of a palette in a RecyclerView. The item ids are the packed colors, so a palette holds
+ * every color once. A new palette is deduplicated and diffed against the shown one on a
+ * background thread; only the latest one is applied if several are set while diffing.
+ */
+final class AXColorPickerSwatchAdapter
+        extends RecyclerView.Adapter<AXColorPickerSwatchAdapter.SwatchHolder> {
+
+    /**
+     * Swatch views kept for reuse when they scroll out: a few rows of the widest grid
+     */
+    static final int POOL_SIZE = 40;
+
+    private static final int[] EMPTY = new int[0];
+    private static final Object PAYLOAD_SELECTION = new Object();
+
+    interface OnSwatchClickListener {
+        /**
+         * @param color Packed ARGB color of the swatch
+         */
+        void onSwatchClick(@ColorInt int color);
+    }
+
+    private final OnSwatchClickListener listener;
+    private final Executor backgroundExecutor;
+    private final Executor mainExecutor;
+
+    private int[] colors = EMPTY;
+    private long selectedId = RecyclerView.NO_ID;
+
+    /**
+     * Incremented on every new palette, a diff is only applied if no newer palette was set
+     */
+    private int generation;
+
+    AXColorPickerSwatchAdapter(@NonNull OnSwatchClickListener listener,
+                               @NonNull Executor backgroundExecutor,
+                               @NonNull Executor mainExecutor) {
+        this.listener = listener;
+        this.backgroundExecutor = backgroundExecutor;
+        this.mainExecutor = mainExecutor;
+        setHasStableIds(true);
+    }
+
+    /**
+     * Shows a new palette once it is diffed against the current one.
+     *
+     * @param palette Packed ARGB colors, not modified afterwards
+     */
+    void setColors(@NonNull int[] palette) {
+        final int[] oldColors = colors;
+        final int requested = ++generation;
+        backgroundExecutor.execute(() -> {
+            final int[] newColors = distinct(palette);
+            final DiffUtil.DiffResult diff =
+                    DiffUtil.calculateDiff(new ColorsDiff(oldColors, newColors), false);
+            mainExecutor.execute(() -> {
+                if (requested == generation) {
+                    colors = newColors;
+                    diff.dispatchUpdatesTo(this);
+                }
+            });
+        });
+    }
+
+    /**
+     * @return Colors shown, the last palette diffed
+     */
+    @NonNull
+    int[] getColors() {
+        return colors;
+    }
+
+    /**
+     * Draws the selection ring around the swatch of a color, if the palette has it.
+     *
+     * @param color Packed ARGB color
+     */
+    void setSelectedColor(@ColorInt int color) {
+        final long id = toId(color);
+        if (id == selectedId) {
+            return;
+        }
+        final int previous = indexOf(selectedId);
+        selectedId = id;
+        if (previous >= 0) {
+            notifyItemChanged(previous, PAYLOAD_SELECTION);
+        }
+        final int current = indexOf(id);
+        if (current >= 0) {
+            notifyItemChanged(current, PAYLOAD_SELECTION);
+        }
+    }
+
+    @NonNull
+    @Override
+    public SwatchHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        final AXColorPickerSwatchView swatchView =
+                new AXColorPickerSwatchView(parent.getContext());
+        swatchView.setLayoutParams(new RecyclerView.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+        final SwatchHolder holder = new SwatchHolder(swatchView);
+        holder.itemView.setOnClickListener(view -> {
+            final int position = holder.getBindingAdapterPosition();
+            if (position != RecyclerView.NO_POSITION) {
+                listener.onSwatchClick(colors[position]);
+            }
+        });
+        return holder;
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull SwatchHolder holder, int position) {
+        final int color = colors[position];
+        holder.swatchView.setColor(color, toId(color) == selectedId);
+    }
+
+    @Override
+    public int getItemCount() {
+        return colors.length;
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return toId(colors[position]);
+    }
+
+    private int indexOf(long id) {
+        if (id != RecyclerView.NO_ID) {
+            for (int i = 0; i < colors.length; i++) {
+                if (toId(colors[i]) == id) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static long toId(@ColorInt int color) {
+        return color & 0xFFFFFFFFL;
+    }
+
+    /**
+     * @return The colors in the same order, without the repeated ones
+     */
+    static int[] distinct(int[] palette) {
+        final Set<Integer> seen = new HashSet<>(palette.length * 2);
+        final int[] distinct = new int[palette.length];
+        int count = 0;
+        for (int color : palette) {
+            if (seen.add(color)) {
+                distinct[count++] = color;
+            }
+        }
+        return count == palette.length ? distinct : Arrays.copyOf(distinct, count);
+    }
+
+    static final class SwatchHolder extends RecyclerView.ViewHolder {
+
+        final AXColorPickerSwatchView swatchView;
+
+        SwatchHolder(@NonNull AXColorPickerSwatchView swatchView) {
+            super(swatchView);
+            this.swatchView = swatchView;
+        }
+    }
+
+    private static final class ColorsDiff extends DiffUtil.Callback {
+
+        private final int[] oldColors;
+        private final int[] newColors;
+
+        ColorsDiff(int[] oldColors, int[] newColors) {
+            this.oldColors = oldColors;
+            this.newColors = newColors;
+        }
+
+        @Override
+        public int getOldListSize() {
+            return oldColors.length;
+        }
+
+        @Override
+        public int getNewListSize() {
+            return newColors.length;
+        }
+
+        @Override
+        public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+            return oldColors[oldItemPosition] == newColors[newItemPosition];
+        }
+
+        @Override
+        public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+            // A swatch is nothing but its color
+            return true;
+        }
+    }
+}
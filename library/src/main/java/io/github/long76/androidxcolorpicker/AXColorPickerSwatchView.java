@@ -0,0 +1,71 @@
+package io.github.long76.androidxcolorpicker;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.view.View;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+
+/**
+ * Square swatch of the palette grid. Every swatch draws with the same Paint, only touched from
+ * the UI thread, so binding and drawing one allocate nothing.
+ */
+final class AXColorPickerSwatchView extends View {
+
+    private static final Paint PAINT = new Paint();
+
+    /**
+     * Space around the color, so the grid needs no item decoration
+     */
+    private final float gap;
+
+    /**
+     * Width of the ring around the selected swatch
+     */
+    private final float ringWidth;
+
+    @ColorInt
+    private int color;
+    private boolean swatchSelected;
+
+    AXColorPickerSwatchView(@NonNull Context context) {
+        super(context);
+        final float density = context.getResources().getDisplayMetrics().density;
+        gap = 2 * density;
+        ringWidth = 3 * density;
+    }
+
+    /**
+     * @param color    Packed ARGB color
+     * @param selected Whether to draw the selection ring
+     */
+    void setColor(@ColorInt int color, boolean selected) {
+        if (this.color != color || swatchSelected != selected) {
+            this.color = color;
+            swatchSelected = selected;
+            invalidate();
+        }
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        final int width = getDefaultSize(getSuggestedMinimumWidth(), widthMeasureSpec);
+        setMeasuredDimension(width, width);
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        final float right = getWidth() - gap;
+        final float bottom = getHeight() - gap;
+        float inset = gap;
+        if (swatchSelected) {
+            PAINT.setColor(AXColorPickerPreviewCache.BORDER_COLOR);
+            canvas.drawRect(inset, inset, right, bottom, PAINT);
+            inset += ringWidth;
+        }
+        PAINT.setColor(color);
+        canvas.drawRect(inset, inset, right - inset + gap, bottom - inset + gap, PAINT);
+    }
+}
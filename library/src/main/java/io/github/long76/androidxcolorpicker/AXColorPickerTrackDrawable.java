@@ -0,0 +1,188 @@
+package io.github.long76.androidxcolorpicker;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapShader;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.ColorFilter;
+import android.graphics.LinearGradient;
+import android.graphics.Paint;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.Shader;
+import android.graphics.drawable.Drawable;
+import android.util.SparseArray;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Seek bar track showing the gradient a channel runs through with the other channels fixed,
+ * optionally over a checkerboard for the alpha channel. The gradient can have more than two
+ * stops, e.g. around the hue circle.
+ * <p>
+ * The gradient shader is only rebuilt when its colors or the bounds change, drawing allocates
+ * nothing.
+ */
+final class AXColorPickerTrackDrawable extends Drawable {
+
+    @ColorInt
+    private static final int CHECKERBOARD_LIGHT = Color.WHITE;
+    @ColorInt
+    private static final int CHECKERBOARD_DARK = 0xFFCCCCCC;
+
+    /**
+     * Checkerboard tiles (2 x 2 cells) by cell size in pixels, shared by all tracks
+     */
+    private static final SparseArray<Bitmap> checkerboardTiles = new SparseArray<>();
+
+    private final Paint gradientPaint = new Paint(Paint.ANTI_ALIAS_FLAG | Paint.DITHER_FLAG);
+    private final Paint checkerboardPaint = new Paint();
+    private final boolean checkerboard;
+
+    /**
+     * Gradient stops, evenly spaced; only the first colorCount are used
+     */
+    private int[] colors = new int[2];
+    private int colorCount;
+
+    private int checkerboardCellSize;
+
+    AXColorPickerTrackDrawable(boolean checkerboard) {
+        this.checkerboard = checkerboard;
+    }
+
+    /**
+     * Set the colors at both ends of the track. Nothing is rebuilt if they didn't change.
+     *
+     * @param startColor Color at the start of the track
+     * @param endColor   Color at the end of the track
+     */
+    void setColors(@ColorInt int startColor, @ColorInt int endColor) {
+        if (colorCount == 2 && colors[0] == startColor && colors[1] == endColor
+                && gradientPaint.getShader() != null) {
+            return;
+        }
+        colors[0] = startColor;
+        colors[1] = endColor;
+        colorCount = 2;
+        updateGradient();
+        invalidateSelf();
+    }
+
+    /**
+     * Set the colors of evenly spaced stops along the track. The array is copied, so it can be
+     * reused by the caller. Nothing is rebuilt if the colors didn't change.
+     *
+     * @param colors Stop colors, from the start to the end of the track
+     * @param count  Number of stops to read from colors, at least 2
+     */
+    void setColors(@NonNull int[] colors, int count) {
+        if (count == colorCount && gradientPaint.getShader() != null
+                && rangeEquals(this.colors, colors, count)) {
+            return;
+        }
+        if (this.colors.length < count) {
+            this.colors = new int[count];
+        }
+        System.arraycopy(colors, 0, this.colors, 0, count);
+        colorCount = count;
+        updateGradient();
+        invalidateSelf();
+    }
+
+    @Override
+    protected void onBoundsChange(Rect bounds) {
+        super.onBoundsChange(bounds);
+        updateGradient();
+        if (checkerboard) {
+            updateCheckerboard();
+        }
+    }
+
+    @Override
+    public void draw(@NonNull Canvas canvas) {
+        final Rect bounds = getBounds();
+        if (checkerboard && checkerboardPaint.getShader() != null) {
+            canvas.drawRect(bounds, checkerboardPaint);
+        }
+        canvas.drawRect(bounds, gradientPaint);
+    }
+
+    @Override
+    public void setAlpha(int alpha) {
+        gradientPaint.setAlpha(alpha);
+        checkerboardPaint.setAlpha(alpha);
+        invalidateSelf();
+    }
+
+    @Override
+    public void setColorFilter(@Nullable ColorFilter colorFilter) {
+        gradientPaint.setColorFilter(colorFilter);
+        checkerboardPaint.setColorFilter(colorFilter);
+        invalidateSelf();
+    }
+
+    @Override
+    public int getOpacity() {
+        return PixelFormat.TRANSLUCENT;
+    }
+
+    private void updateGradient() {
+        final Rect bounds = getBounds();
+        if (bounds.isEmpty() || colorCount < 2) {
+            gradientPaint.setShader(null);
+            return;
+        }
+        if (colorCount == 2) {
+            gradientPaint.setShader(new LinearGradient(bounds.left, 0, bounds.right, 0,
+                    colors[0], colors[1], Shader.TileMode.CLAMP));
+        } else {
+            // Older platforms keep a reference to the array, it must not be the reused one
+            gradientPaint.setShader(new LinearGradient(bounds.left, 0, bounds.right, 0,
+                    Arrays.copyOf(colors, colorCount), null, Shader.TileMode.CLAMP));
+        }
+    }
+
+    private static boolean rangeEquals(int[] a, int[] b, int count) {
+        for (int i = 0; i < count; i++) {
+            if (a[i] != b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void updateCheckerboard() {
+        // Two rows of cells across the track
+        final int cellSize = Math.max(1, getBounds().height() / 2);
+        if (cellSize == checkerboardCellSize && checkerboardPaint.getShader() != null) {
+            return;
+        }
+        checkerboardCellSize = cellSize;
+
+        final BitmapShader shader = new BitmapShader(getCheckerboardTile(cellSize),
+                Shader.TileMode.REPEAT, Shader.TileMode.REPEAT);
+        checkerboardPaint.setShader(shader);
+    }
+
+    private static Bitmap getCheckerboardTile(int cellSize) {
+        synchronized (checkerboardTiles) {
+            Bitmap tile = checkerboardTiles.get(cellSize);
+            if (tile == null) {
+                tile = Bitmap.createBitmap(cellSize * 2, cellSize * 2, Bitmap.Config.ARGB_8888);
+                tile.eraseColor(CHECKERBOARD_LIGHT);
+                final Canvas canvas = new Canvas(tile);
+                final Paint paint = new Paint();
+                paint.setColor(CHECKERBOARD_DARK);
+                canvas.drawRect(0, 0, cellSize, cellSize, paint);
+                canvas.drawRect(cellSize, cellSize, cellSize * 2, cellSize * 2, paint);
+                checkerboardTiles.put(cellSize, tile);
+            }
+            return tile;
+        }
+    }
+}
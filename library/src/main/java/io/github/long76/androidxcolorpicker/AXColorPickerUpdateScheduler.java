@@ -0,0 +1,121 @@
+package io.github.long76.androidxcolorpicker;
+
+/**
+ * Collects the channels changed by the seek bars and applies them to the views at most once per
+ * frame. Seek bars report progress far more often than the screen refreshes while the user
+ * drags a thumb, and every write to the HEX code field costs a text layout.
+ * <p>
+ * Not thread safe, all calls are expected on the UI thread.
+ */
+final class AXColorPickerUpdateScheduler {
+
+    static final int DIRTY_ALPHA = 1;
+    static final int DIRTY_RED = 1 << 1;
+    static final int DIRTY_GREEN = 1 << 2;
+    static final int DIRTY_BLUE = 1 << 3;
+    static final int DIRTY_ALL = DIRTY_ALPHA | DIRTY_RED | DIRTY_GREEN | DIRTY_BLUE;
+
+    /**
+     * Source of frame callbacks, Choreographer on the device.
+     */
+    interface FrameClock {
+        /**
+         * Runs the callback once, at the next frame.
+         */
+        void postFrameCallback(Runnable callback);
+
+        /**
+         * Removes a callback posted before if it hasn't run yet.
+         */
+        void removeFrameCallback(Runnable callback);
+    }
+
+    /**
+     * Receiver of the coalesced updates.
+     */
+    interface Target {
+        /**
+         * @param dirtyChannels DIRTY_* flags of the channels changed since the last update
+         */
+        void applyUpdate(int dirtyChannels);
+    }
+
+    private final FrameClock clock;
+    private final Target target;
+    private final Runnable frameCallback = this::onFrame;
+
+    private int dirtyChannels;
+    private boolean scheduled;
+    private long coalescedCount;
+    private long appliedCount;
+
+    AXColorPickerUpdateScheduler(FrameClock clock, Target target) {
+        this.clock = clock;
+        this.target = target;
+    }
+
+    /**
+     * Marks channels as changed. The target is updated at the next frame, together with
+     * everything else marked until then.
+     *
+     * @param channels DIRTY_* flags
+     */
+    void invalidate(int channels) {
+        if (dirtyChannels != 0) {
+            coalescedCount++;
+        }
+        dirtyChannels |= channels;
+        if (!scheduled) {
+            scheduled = true;
+            clock.postFrameCallback(frameCallback);
+        }
+    }
+
+    /**
+     * Applies the pending update right away instead of waiting for the next frame.
+     */
+    void flush() {
+        if (scheduled) {
+            clock.removeFrameCallback(frameCallback);
+            scheduled = false;
+        }
+        if (dirtyChannels == 0) {
+            return;
+        }
+
+        final int channels = dirtyChannels;
+        dirtyChannels = 0;
+        appliedCount++;
+        target.applyUpdate(channels);
+    }
+
+    private void onFrame() {
+        scheduled = false;
+        flush();
+    }
+
+    /**
+     * Drops the pending update, if any.
+     */
+    void cancel() {
+        if (scheduled) {
+            clock.removeFrameCallback(frameCallback);
+            scheduled = false;
+        }
+        dirtyChannels = 0;
+    }
+
+    /**
+     * @return Number of updates that reached the target
+     */
+    long getAppliedCount() {
+        return appliedCount;
+    }
+
+    /**
+     * @return Number of invalidations merged into an update that was already pending
+     */
+    long getCoalescedCount() {
+        return coalescedCount;
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.long76.androidxcolorpicker;
+
+import android.graphics.Bitmap;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(RobolectricTestRunner.class)
+public class AXColorPickerBitmapsTest {
+
+    @Test
+    public void testAreaSampler() throws Exception {
+        // Left half red, right half blue
+        final Bitmap bitmap = Bitmap.createBitmap(40, 30, Bitmap.Config.ARGB_8888);
+        final int[] row = new int[40];
+        for (int x = 0; x < 40; x++) {
+            row[x] = x < 20 ? 0xFFFF0000 : 0xFF0000FF;
+        }
+        for (int y = 0; y < 30; y++) {
+            bitmap.setPixels(row, 0, 40, 0, y, 40, 1);
+        }
+
+        final AXColorPickerAreaSampler sampler = AXColorPickerBitmaps.newAreaSampler(bitmap);
+        assertEquals(40, sampler.getWidth());
+        assertEquals(30, sampler.getHeight());
+        assertEquals(0xFFFF0000, sampler.average(5, 15, 4));
+        assertEquals(0xFF0000FF, sampler.average(35, 15, 4));
+        // As much red as blue around the middle
+        assertEquals(0xFF800080, sampler.average(19, 0, 21, 30));
+    }
+}
@@ -0,0 +1,304 @@
+package io.github.long76.androidxcolorpicker;
+
+import android.content.SharedPreferences;
+
+import androidx.annotation.Nullable;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+public class AXColorPickerButtonStylesTest {
+
+    private final Map<String, CountingSharedPreferences> files = new HashMap<>();
+    private final Queue<Runnable> background = new ArrayDeque<>();
+    private AXColorPickerButtonStyles buttonStyles;
+
+    @Before
+    public void setUp() {
+        buttonStyles = new AXColorPickerButtonStyles(name -> {
+            CountingSharedPreferences preferences = files.get(name);
+            if (preferences == null) {
+                preferences = new CountingSharedPreferences();
+                files.put(name, preferences);
+            }
+            return preferences;
+        }, background::add);
+    }
+
+    @Test
+    public void testValuesAreReadOnce() throws Exception {
+        final CountingSharedPreferences theme = file("theme");
+        theme.edit().putInt("background", 0xFF123456).putInt("text", 0xFFFFFFFF).apply();
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0xFF123456, buttonStyles.getColor("theme", "background"));
+            assertEquals(0xFFFFFFFF, buttonStyles.getColor("theme", "text"));
+        }
+        assertEquals(2, theme.reads);
+        assertEquals(1, theme.listeners.size());
+    }
+
+    @Test
+    public void testMissingKeyIsCachedToo() throws Exception {
+        final CountingSharedPreferences theme = file("theme");
+        assertEquals(AXColorPickerButtonStyles.DEFAULT_COLOR,
+                buttonStyles.getColor("theme", "background"));
+        assertEquals(AXColorPickerButtonStyles.DEFAULT_COLOR,
+                buttonStyles.getColor("theme", "background"));
+        assertEquals(1, theme.reads);
+    }
+
+    @Test
+    public void testChangeInvalidatesOnlyThatKey() throws Exception {
+        final CountingSharedPreferences theme = file("theme");
+        theme.edit().putInt("background", 1).putInt("text", 2).apply();
+        buttonStyles.getColor("theme", "background");
+        buttonStyles.getColor("theme", "text");
+
+        theme.edit().putInt("background", 3).apply();
+        assertEquals(3, buttonStyles.getColor("theme", "background"));
+        assertEquals(2, buttonStyles.getColor("theme", "text"));
+        assertEquals(3, theme.reads);
+
+        theme.edit().clear().apply();
+        assertEquals(AXColorPickerButtonStyles.DEFAULT_COLOR,
+                buttonStyles.getColor("theme", "background"));
+        assertEquals(AXColorPickerButtonStyles.DEFAULT_COLOR,
+                buttonStyles.getColor("theme", "text"));
+        assertEquals(5, theme.reads);
+    }
+
+    @Test
+    public void testCachedPerName() throws Exception {
+        final CountingSharedPreferences light = file("light");
+        final CountingSharedPreferences dark = file("dark");
+        light.edit().putInt("background", 0xFFFFFFFF).apply();
+        dark.edit().putInt("background", 0xFF000000).apply();
+
+        assertEquals(0xFFFFFFFF, buttonStyles.getColor("light", "background"));
+        assertEquals(0xFF000000, buttonStyles.getColor("dark", "background"));
+
+        dark.edit().putInt("background", 0xFF202020).apply();
+        assertEquals(0xFFFFFFFF, buttonStyles.getColor("light", "background"));
+        assertEquals(0xFF202020, buttonStyles.getColor("dark", "background"));
+        assertEquals(1, light.reads);
+        assertEquals(2, dark.reads);
+    }
+
+    @Test
+    public void testPrewarmReadsInTheBackground() throws Exception {
+        final CountingSharedPreferences theme = file("theme");
+        theme.edit().putInt("background", 1).putInt("text", 2).apply();
+
+        buttonStyles.prewarm("theme", "background", "text");
+        assertEquals(0, theme.reads);
+        assertEquals(1, background.size());
+
+        background.poll().run();
+        assertEquals(2, theme.reads);
+
+        // The tap
+        assertEquals(1, buttonStyles.getColor("theme", "background"));
+        assertEquals(2, buttonStyles.getColor("theme", "text"));
+        assertEquals(2, theme.reads);
+    }
+
+    @Test
+    public void testValueChangedDuringTheReadIsNotCached() throws Exception {
+        final CountingSharedPreferences theme = file("theme");
+        theme.edit().putInt("background", 1).apply();
+
+        // The key changes between the read and storing what was read
+        theme.onRead = () -> {
+            theme.onRead = null;
+            theme.notifyListeners("background");
+        };
+        assertEquals(1, buttonStyles.getColor("theme", "background"));
+
+        theme.edit().putInt("background", 2).apply();
+        assertEquals(2, buttonStyles.getColor("theme", "background"));
+        assertEquals(2, buttonStyles.getColor("theme", "background"));
+        assertEquals(2, theme.reads);
+    }
+
+    private CountingSharedPreferences file(String name) {
+        final CountingSharedPreferences preferences = new CountingSharedPreferences();
+        files.put(name, preferences);
+        return preferences;
+    }
+
+    /**
+     * In-memory SharedPreferences counting the reads, listeners are notified on apply.
+     */
+    private static final class CountingSharedPreferences implements SharedPreferences {
+
+        final Map<String, Object> values = new HashMap<>();
+        final List<OnSharedPreferenceChangeListener> listeners = new ArrayList<>();
+        int reads;
+        Runnable onRead;
+
+        void notifyListeners(String key) {
+            for (OnSharedPreferenceChangeListener listener : new ArrayList<>(listeners)) {
+                listener.onSharedPreferenceChanged(this, key);
+            }
+        }
+
+        private Object read(String key) {
+            reads++;
+            final Object value = values.get(key);
+            if (onRead != null) {
+                onRead.run();
+            }
+            return value;
+        }
+
+        @Override
+        public Map<String, ?> getAll() {
+            return new HashMap<>(values);
+        }
+
+        @Nullable
+        @Override
+        public String getString(String key, @Nullable String defValue) {
+            final Object value = read(key);
+            return value != null ? (String) value : defValue;
+        }
+
+        @Nullable
+        @Override
+        public Set<String> getStringSet(String key, @Nullable Set<String> defValues) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int getInt(String key, int defValue) {
+            final Object value = read(key);
+            return value != null ? (Integer) value : defValue;
+        }
+
+        @Override
+        public long getLong(String key, long defValue) {
+            final Object value = read(key);
+            return value != null ? (Long) value : defValue;
+        }
+
+        @Override
+        public float getFloat(String key, float defValue) {
+            final Object value = read(key);
+            return value != null ? (Float) value : defValue;
+        }
+
+        @Override
+        public boolean getBoolean(String key, boolean defValue) {
+            final Object value = read(key);
+            return value != null ? (Boolean) value : defValue;
+        }
+
+        @Override
+        public boolean contains(String key) {
+            return values.containsKey(key);
+        }
+
+        @Override
+        public Editor edit() {
+            return new FakeEditor();
+        }
+
+        @Override
+        public void registerOnSharedPreferenceChangeListener(
+                OnSharedPreferenceChangeListener listener) {
+            listeners.add(listener);
+        }
+
+        @Override
+        public void unregisterOnSharedPreferenceChangeListener(
+                OnSharedPreferenceChangeListener listener) {
+            listeners.remove(listener);
+        }
+
+        private final class FakeEditor implements Editor {
+
+            private final Map<String, Object> changes = new HashMap<>();
+            private boolean clear;
+
+            @Override
+            public Editor putString(String key, @Nullable String value) {
+                changes.put(key, value);
+                return this;
+            }
+
+            @Override
+            public Editor putStringSet(String key, @Nullable Set<String> values) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Editor putInt(String key, int value) {
+                changes.put(key, value);
+                return this;
+            }
+
+            @Override
+            public Editor putLong(String key, long value) {
+                changes.put(key, value);
+                return this;
+            }
+
+            @Override
+            public Editor putFloat(String key, float value) {
+                changes.put(key, value);
+                return this;
+            }
+
+            @Override
+            public Editor putBoolean(String key, boolean value) {
+                changes.put(key, value);
+                return this;
+            }
+
+            @Override
+            public Editor remove(String key) {
+                changes.put(key, null);
+                return this;
+            }
+
+            @Override
+            public Editor clear() {
+                clear = true;
+                return this;
+            }
+
+            @Override
+            public boolean commit() {
+                apply();
+                return true;
+            }
+
+            @Override
+            public void apply() {
+                if (clear) {
+                    values.clear();
+                    notifyListeners(null);
+                }
+                for (Map.Entry<String, Object> change : changes.entrySet()) {
+                    if (change.getValue() == null) {
+                        values.remove(change.getKey());
+                    } else {
+                        values.put(change.getKey(), change.getValue());
+                    }
+                    notifyListeners(change.getKey());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.long76.androidxcolorpicker;
+
+import android.graphics.Color;
+import android.widget.EditText;
+import android.widget.SeekBar;
+
+import androidx.appcompat.app.AppCompatActivity;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.android.controller.ActivityController;
+import org.robolectric.shadows.ShadowLooper;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(RobolectricTestRunner.class)
+public class AXColorPickerColorModeTest {
+
+    private AppCompatActivity activity;
+
+    @Before
+    public void setUp() {
+        final ActivityController<AppCompatActivity> controller =
+                Robolectric.buildActivity(AppCompatActivity.class);
+        controller.get().setTheme(R.style.axcolorpicker_AppTheme);
+        activity = controller.setup().get();
+    }
+
+    @Test
+    public void testHsvModeShowsHueSaturationValue() throws Exception {
+        final AXColorPicker colorPicker = new AXColorPicker(activity);
+        colorPicker.setColorMode(AXColorPicker.COLOR_MODE_HSV);
+        colorPicker.setColor(0xFF00FF00);
+        colorPicker.show();
+
+        final SeekBar hueSeekBar = colorPicker.findViewById(R.id.redSeekBar);
+        final SeekBar saturationSeekBar = colorPicker.findViewById(R.id.greenSeekBar);
+        final SeekBar valueSeekBar = colorPicker.findViewById(R.id.blueSeekBar);
+        assertEquals(359, hueSeekBar.getMax());
+        assertEquals(100, saturationSeekBar.getMax());
+        assertEquals(120, hueSeekBar.getProgress());
+        assertEquals(100, saturationSeekBar.getProgress());
+        assertEquals(100, valueSeekBar.getProgress());
+        assertEquals(0xFF00FF00, colorPicker.getColor());
+    }
+
+    @Test
+    public void testHsvSeekBarsChangeTheColorAndHexCode() throws Exception {
+        final AXColorPicker colorPicker = new AXColorPicker(activity);
+        colorPicker.setColorMode(AXColorPicker.COLOR_MODE_HSV);
+        colorPicker.setColor(0xFFFF0000);
+        colorPicker.show();
+
+        final SeekBar hueSeekBar = colorPicker.findViewById(R.id.redSeekBar);
+        hueSeekBar.setProgress(240);
+        assertEquals(0xFF0000FF, colorPicker.getColor());
+
+        final SeekBar valueSeekBar = colorPicker.findViewById(R.id.blueSeekBar);
+        valueSeekBar.setProgress(0);
+        valueSeekBar.setProgress(100);
+        // The hue survives black, it isn't read back from the RGB values
+        assertEquals(0xFF0000FF, colorPicker.getColor());
+
+        ShadowLooper.idleMainLooper();
+        final EditText hexCode = colorPicker.findViewById(R.id.hexCode);
+        assertEquals("0000FF", hexCode.getText().toString());
+    }
+
+    @Test
+    public void testHslMode() throws Exception {
+        final AXColorPicker colorPicker = new AXColorPicker(activity);
+        colorPicker.setColorMode(AXColorPicker.COLOR_MODE_HSL);
+        colorPicker.setColor(0xFFFF0000);
+        colorPicker.show();
+
+        final SeekBar lightnessSeekBar = colorPicker.findViewById(R.id.blueSeekBar);
+        assertEquals(50, lightnessSeekBar.getProgress());
+        lightnessSeekBar.setProgress(100);
+        assertEquals(Color.WHITE, colorPicker.getColor());
+    }
+
+    @Test
+    public void testBackToRgbModeRestoresTheChannelRanges() throws Exception {
+        final AXColorPicker colorPicker = new AXColorPicker(activity);
+        colorPicker.setColorMode(AXColorPicker.COLOR_MODE_HSV);
+        colorPicker.setColor(0xFF123456);
+        colorPicker.show();
+        colorPicker.dismiss();
+
+        colorPicker.setColorMode(AXColorPicker.COLOR_MODE_RGB);
+        colorPicker.show();
+
+        final SeekBar redSeekBar = colorPicker.findViewById(R.id.redSeekBar);
+        final SeekBar blueSeekBar = colorPicker.findViewById(R.id.blueSeekBar);
+        assertEquals(255, redSeekBar.getMax());
+        assertEquals(0x12, redSeekBar.getProgress());
+        assertEquals(0x56, blueSeekBar.getProgress());
+        assertEquals(0xFF123456, colorPicker.getColor());
+    }
+}
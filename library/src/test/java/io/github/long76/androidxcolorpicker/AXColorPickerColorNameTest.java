@@ -0,0 +1,73 @@
+package io.github.long76.androidxcolorpicker;
+
+import android.view.View;
+import android.widget.SeekBar;
+import android.widget.TextView;
+
+import androidx.appcompat.app.AppCompatActivity;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.android.controller.ActivityController;
+import org.robolectric.shadows.ShadowLooper;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(RobolectricTestRunner.class)
+public class AXColorPickerColorNameTest {
+
+    private AppCompatActivity activity;
+
+    @Before
+    public void setUp() {
+        final ActivityController<AppCompatActivity> controller =
+                Robolectric.buildActivity(AppCompatActivity.class);
+        controller.get().setTheme(R.style.axcolorpicker_AppTheme);
+        activity = controller.setup().get();
+    }
+
+    @Test
+    public void testNoNameByDefault() throws Exception {
+        final AXColorPicker colorPicker = new AXColorPicker(activity);
+        colorPicker.show();
+        assertEquals(View.GONE, colorPicker.findViewById(R.id.colorName).getVisibility());
+    }
+
+    @Test
+    public void testNameFollowsTheColor() throws Exception {
+        final AXColorPicker colorPicker = new AXColorPicker(activity);
+        colorPicker.setColorNames(AXColorPickerColorIndex.css());
+        colorPicker.setColor(0xFF9ACD30);
+        colorPicker.show();
+
+        final TextView colorName = colorPicker.findViewById(R.id.colorName);
+        assertEquals(View.VISIBLE, colorName.getVisibility());
+        assertEquals("yellowgreen", colorName.getText().toString());
+
+        final SeekBar redSeekBar = colorPicker.findViewById(R.id.redSeekBar);
+        final SeekBar greenSeekBar = colorPicker.findViewById(R.id.greenSeekBar);
+        final SeekBar blueSeekBar = colorPicker.findViewById(R.id.blueSeekBar);
+        redSeekBar.setProgress(0xFE);
+        greenSeekBar.setProgress(0x01);
+        blueSeekBar.setProgress(0x02);
+        ShadowLooper.idleMainLooper();
+        assertEquals("red", colorName.getText().toString());
+    }
+
+    @Test
+    public void testBrandPalette() throws Exception {
+        final AXColorPickerColorIndex brand = new AXColorPickerColorIndex(
+                new AXColorPickerColorNames(new int[]{0xFF1A73E8, 0xFFEA4335},
+                        new String[]{"Brand blue", "Brand red"}));
+        final AXColorPicker colorPicker = new AXColorPicker(activity);
+        colorPicker.setColorNames(brand);
+        colorPicker.setColor(0xFF2070F0);
+        colorPicker.show();
+
+        final TextView colorName = colorPicker.findViewById(R.id.colorName);
+        assertEquals("Brand blue", colorName.getText().toString());
+    }
+}
@@ -0,0 +1,270 @@
+package io.github.long76.androidxcolorpicker;
+
+import androidx.annotation.NonNull;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AXColorPickerColorStreamTest {
+
+    private FakeScheduler scheduler;
+    private AXColorPickerColorStream stream;
+    private List<Integer> colors;
+
+    @Before
+    public void setUp() {
+        scheduler = new FakeScheduler();
+        stream = new AXColorPickerColorStream(scheduler);
+        colors = new ArrayList<>();
+    }
+
+    @Test
+    public void testEveryDistinctColorByDefault() throws Exception {
+        stream.subscribe(Runnable::run, colors::add);
+        stream.emit(1);
+        stream.emit(2);
+        stream.emit(2);
+        stream.emit(1);
+        assertEquals(Arrays.asList(1, 2, 1), colors);
+        assertTrue(scheduler.tasks.isEmpty());
+    }
+
+    @Test
+    public void testRepeatsWhenNotDistinct() throws Exception {
+        stream.subscribe(Runnable::run, colors::add).setDistinct(false);
+        stream.emit(0xFFFFFFFF);
+        stream.emit(0xFFFFFFFF);
+        assertEquals(Arrays.asList(0xFFFFFFFF, 0xFFFFFFFF), colors);
+    }
+
+    @Test
+    public void testThrottleDeliversFirstAndLatest() throws Exception {
+        final AXColorPickerColorStream.Subscription subscription =
+                stream.subscribe(Runnable::run, colors::add);
+        subscription.setThrottle(100);
+
+        stream.emit(1);
+        assertEquals(Arrays.asList(1), colors);
+        scheduler.advance(20);
+        stream.emit(2);
+        scheduler.advance(20);
+        stream.emit(3);
+        scheduler.advance(20);
+        stream.emit(4);
+        assertEquals(Arrays.asList(1), colors);
+        assertEquals(1, scheduler.tasks.size());
+
+        // The end of the period delivers the latest color only
+        scheduler.advance(40);
+        assertEquals(Arrays.asList(1, 4), colors);
+        assertEquals(2, subscription.getConflatedCount());
+
+        // A period after the last one starts with its first color at once
+        scheduler.advance(150);
+        stream.emit(5);
+        assertEquals(Arrays.asList(1, 4, 5), colors);
+    }
+
+    @Test
+    public void testDebounceWaitsForQuiet() throws Exception {
+        stream.subscribe(Runnable::run, colors::add).setDebounce(50);
+
+        for (int color = 1; color <= 5; color++) {
+            stream.emit(color);
+            scheduler.advance(30);
+        }
+        assertTrue(colors.isEmpty());
+
+        scheduler.advance(20);
+        assertEquals(Arrays.asList(5), colors);
+        scheduler.advance(1000);
+        assertEquals(Arrays.asList(5), colors);
+    }
+
+    @Test
+    public void testDebounceAndThrottle() throws Exception {
+        final AXColorPickerColorStream.Subscription subscription =
+                stream.subscribe(Runnable::run, colors::add);
+        subscription.setDebounce(10);
+        subscription.setThrottle(100);
+
+        stream.emit(1);
+        scheduler.advance(10);
+        assertEquals(Arrays.asList(1), colors);
+
+        // Quiet for the debounce, but within the throttle period
+        stream.emit(2);
+        scheduler.advance(10);
+        assertEquals(Arrays.asList(1), colors);
+        scheduler.advance(80);
+        assertEquals(Arrays.asList(1), colors);
+        scheduler.advance(10);
+        assertEquals(Arrays.asList(1, 2), colors);
+    }
+
+    @Test
+    public void testDistinctAgainstTheColorDelivered() throws Exception {
+        stream.subscribe(Runnable::run, colors::add).setThrottle(100);
+
+        // Dragged away and back within the period
+        stream.emit(1);
+        scheduler.advance(10);
+        stream.emit(2);
+        scheduler.advance(10);
+        stream.emit(1);
+        scheduler.advance(100);
+        assertEquals(Arrays.asList(1), colors);
+    }
+
+    @Test
+    public void testSlowObserverGetsTheLatest() throws Exception {
+        final Queue<Runnable> executor = new ArrayDeque<>();
+        final AXColorPickerColorStream.Subscription subscription =
+                stream.subscribe(executor::add, colors::add);
+
+        for (int color = 1; color <= 10; color++) {
+            stream.emit(color);
+        }
+        // One task however many colors, delivering the latest one
+        assertEquals(1, executor.size());
+        executor.poll().run();
+        assertEquals(Arrays.asList(10), colors);
+        assertEquals(9, subscription.getConflatedCount());
+
+        stream.emit(11);
+        assertEquals(1, executor.size());
+        executor.poll().run();
+        assertEquals(Arrays.asList(10, 11), colors);
+    }
+
+    @Test
+    public void testColorsDeliveredWhileObserverBusy() throws Exception {
+        final Queue<Runnable> executor = new ArrayDeque<>();
+        final List<Integer> seen = new ArrayList<>();
+        stream.subscribe(executor::add, color -> {
+            seen.add(color);
+            if (color == 1) {
+                // Emitted while the observer is called: drained by the same task
+                stream.emit(2);
+                stream.emit(3);
+            }
+        });
+        stream.emit(1);
+        executor.poll().run();
+        assertEquals(Arrays.asList(1, 3), seen);
+        assertTrue(executor.isEmpty());
+    }
+
+    @Test
+    public void testDispose() throws Exception {
+        final AXColorPickerColorStream.Subscription subscription =
+                stream.subscribe(Runnable::run, colors::add);
+        subscription.setThrottle(100);
+        assertEquals(1, stream.getSubscriptionCount());
+
+        stream.emit(1);
+        stream.emit(2);
+        subscription.dispose();
+        assertTrue(subscription.isDisposed());
+        assertEquals(0, stream.getSubscriptionCount());
+        assertTrue(scheduler.tasks.isEmpty());
+
+        scheduler.advance(1000);
+        stream.emit(3);
+        assertEquals(Arrays.asList(1), colors);
+    }
+
+    @Test
+    public void testDisposeWhileCalled() throws Exception {
+        final List<AXColorPickerColorStream.Subscription> subscriptions = new ArrayList<>();
+        subscriptions.add(stream.subscribe(Runnable::run, color -> {
+            colors.add(color);
+            subscriptions.get(0).dispose();
+        }));
+        final List<Integer> others = new ArrayList<>();
+        stream.subscribe(Runnable::run, others::add);
+
+        stream.emit(1);
+        stream.emit(2);
+        assertEquals(Arrays.asList(1), colors);
+        assertEquals(Arrays.asList(1, 2), others);
+    }
+
+    @Test
+    public void testDisposeAll() throws Exception {
+        final AXColorPickerColorStream.Subscription throttled =
+                stream.subscribe(Runnable::run, colors::add);
+        throttled.setThrottle(100);
+        final AXColorPickerColorStream.Subscription other =
+                stream.subscribe(Runnable::run, colors::add);
+
+        stream.emit(1);
+        stream.emit(2);
+        stream.disposeAll();
+        assertTrue(throttled.isDisposed());
+        assertTrue(other.isDisposed());
+        assertEquals(0, stream.getSubscriptionCount());
+        assertTrue(scheduler.tasks.isEmpty());
+
+        stream.emit(3);
+        assertEquals(Arrays.asList(1, 1, 2), colors);
+    }
+
+    /**
+     * Clock moved by hand, running the tasks due on the way
+     */
+    private static final class FakeScheduler implements AXColorPickerColorStream.Scheduler {
+
+        final List<Runnable> tasks = new ArrayList<>();
+        final List<Long> times = new ArrayList<>();
+        long now = 1000;
+
+        @Override
+        public long uptimeMillis() {
+            return now;
+        }
+
+        @Override
+        public void postDelayed(@NonNull Runnable task, long delayMillis) {
+            tasks.add(task);
+            times.add(now + delayMillis);
+        }
+
+        @Override
+        public void removeCallbacks(@NonNull Runnable task) {
+            for (int i = tasks.size() - 1; i >= 0; i--) {
+                if (tasks.get(i) == task) {
+                    tasks.remove(i);
+                    times.remove(i);
+                }
+            }
+        }
+
+        void advance(long millis) {
+            final long end = now + millis;
+            while (true) {
+                int next = -1;
+                for (int i = 0; i < tasks.size(); i++) {
+                    if (times.get(i) <= end && (next < 0 || times.get(i) < times.get(next))) {
+                        next = i;
+                    }
+                }
+                if (next < 0) {
+                    break;
+                }
+                now = times.remove(next);
+                tasks.remove(next).run();
+            }
+            now = end;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.long76.androidxcolorpicker;
+
+import android.view.View;
+import android.widget.SeekBar;
+import android.widget.TextView;
+
+import androidx.appcompat.app.AppCompatActivity;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.android.controller.ActivityController;
+import org.robolectric.shadows.ShadowLooper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(RobolectricTestRunner.class)
+public class AXColorPickerContrastBadgeTest {
+
+    private AppCompatActivity activity;
+
+    @Before
+    public void setUp() {
+        final ActivityController<AppCompatActivity> controller =
+                Robolectric.buildActivity(AppCompatActivity.class);
+        controller.get().setTheme(R.style.axcolorpicker_AppTheme);
+        activity = controller.setup().get();
+    }
+
+    @Test
+    public void testNoBadgeByDefault() throws Exception {
+        final AXColorPicker colorPicker = new AXColorPicker(activity);
+        colorPicker.show();
+        assertNull(colorPicker.getContrastColor());
+        assertEquals(View.GONE, colorPicker.findViewById(R.id.contrastBadge).getVisibility());
+    }
+
+    @Test
+    public void testBadgeFollowsTheColor() throws Exception {
+        final AXColorPicker colorPicker = new AXColorPicker(activity);
+        colorPicker.setContrastColor(0xFFFFFFFF);
+        colorPicker.setColor(0xFF000000);
+        colorPicker.show();
+
+        final TextView badge = colorPicker.findViewById(R.id.contrastBadge);
+        assertEquals(View.VISIBLE, badge.getVisibility());
+        assertEquals(0xFFFFFFFF, badge.getCurrentTextColor());
+        assertEquals("21.0:1 AAA", badge.getText().toString());
+
+        // 767676: 4.54 on white
+        final SeekBar redSeekBar = colorPicker.findViewById(R.id.redSeekBar);
+        final SeekBar greenSeekBar = colorPicker.findViewById(R.id.greenSeekBar);
+        final SeekBar blueSeekBar = colorPicker.findViewById(R.id.blueSeekBar);
+        redSeekBar.setProgress(0x76);
+        greenSeekBar.setProgress(0x76);
+        blueSeekBar.setProgress(0x76);
+        ShadowLooper.idleMainLooper();
+        assertEquals("4.5:1 AA", badge.getText().toString());
+
+        // 777777: 4.48, rounded down rather than shown as passing
+        blueSeekBar.setProgress(0x77);
+        greenSeekBar.setProgress(0x77);
+        redSeekBar.setProgress(0x77);
+        ShadowLooper.idleMainLooper();
+        assertEquals("4.4:1 AA Large", badge.getText().toString());
+
+        redSeekBar.setProgress(0xFF);
+        greenSeekBar.setProgress(0xFF);
+        blueSeekBar.setProgress(0xFF);
+        ShadowLooper.idleMainLooper();
+        assertEquals("1.0:1 Fail", badge.getText().toString());
+    }
+
+    @Test
+    public void testClearedOnNextShow() throws Exception {
+        final AXColorPicker colorPicker = new AXColorPicker(activity);
+        colorPicker.setContrastColor(0xFF000000);
+        colorPicker.show();
+        assertEquals(Integer.valueOf(0xFF000000), colorPicker.getContrastColor());
+
+        colorPicker.dismiss();
+        colorPicker.clearContrastColor();
+        colorPicker.show();
+        assertEquals(View.GONE, colorPicker.findViewById(R.id.contrastBadge).getVisibility());
+    }
+}
@@ -0,0 +1,114 @@
+package io.github.long76.androidxcolorpicker;
+
+import android.widget.EditText;
+import android.widget.SeekBar;
+
+import androidx.appcompat.app.AppCompatActivity;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.android.controller.ActivityController;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+@RunWith(RobolectricTestRunner.class)
+public class AXColorPickerHexWatcherTest {
+
+    private AXColorPicker colorPicker;
+    private EditText hexCode;
+
+    @Before
+    public void setUp() {
+        final ActivityController<AppCompatActivity> controller =
+                Robolectric.buildActivity(AppCompatActivity.class);
+        controller.get().setTheme(R.style.axcolorpicker_AppTheme);
+        colorPicker = new AXColorPicker(controller.setup().get());
+        colorPicker.setHexInputDebounce(200);
+        colorPicker.show();
+        hexCode = colorPicker.findViewById(R.id.hexCode);
+    }
+
+    @Test
+    public void testCompleteCodeIsAppliedAfterTheDebounce() throws Exception {
+        type("9acd32");
+        assertEquals(0xFF000000, colorPicker.getColor());
+
+        ShadowLooper.idleMainLooper(100, TimeUnit.MILLISECONDS);
+        assertEquals(0xFF000000, colorPicker.getColor());
+
+        ShadowLooper.idleMainLooper(150, TimeUnit.MILLISECONDS);
+        assertEquals(0xFF9ACD32, colorPicker.getColor());
+        final SeekBar greenSeekBar = colorPicker.findViewById(R.id.greenSeekBar);
+        assertEquals(0xCD, greenSeekBar.getProgress());
+        // What the user typed stays as typed
+        assertEquals("9acd32", hexCode.getText().toString());
+    }
+
+    @Test
+    public void testEveryKeystrokeRestartsTheDebounce() throws Exception {
+        type("9acd3");
+        ShadowLooper.idleMainLooper(150, TimeUnit.MILLISECONDS);
+        type("2");
+        ShadowLooper.idleMainLooper(150, TimeUnit.MILLISECONDS);
+        assertEquals(0xFF000000, colorPicker.getColor());
+
+        ShadowLooper.idleMainLooper(100, TimeUnit.MILLISECONDS);
+        assertEquals(0xFF9ACD32, colorPicker.getColor());
+    }
+
+    @Test
+    public void testInvalidCharShowsTheErrorAtOnce() throws Exception {
+        type("9x");
+        assertNotNull(hexCode.getError());
+
+        hexCode.getText().delete(1, 2);
+        assertNull(hexCode.getError());
+    }
+
+    @Test
+    public void testPartialCodeIsNotApplied() throws Exception {
+        type("9ac");
+        ShadowLooper.idleMainLooper(1, TimeUnit.SECONDS);
+        assertEquals(0xFF000000, colorPicker.getColor());
+        assertNull(hexCode.getError());
+    }
+
+    @Test
+    public void testSeekBarWritesAreNotTreatedAsInput() throws Exception {
+        type("9acd32");
+
+        // The seek bar moves before the debounce ends: its color wins
+        final SeekBar redSeekBar = colorPicker.findViewById(R.id.redSeekBar);
+        redSeekBar.setProgress(0x12);
+        ShadowLooper.idleMainLooper(1, TimeUnit.SECONDS);
+
+        assertEquals(0xFF120000, colorPicker.getColor());
+        assertEquals("120000", hexCode.getText().toString());
+    }
+
+    @Test
+    public void testZeroDebounceAppliesAtOnce() throws Exception {
+        colorPicker.dismiss();
+        colorPicker.setHexInputDebounce(0);
+        colorPicker.setARGBFormat(true);
+        colorPicker.show();
+
+        type("809acd32");
+        assertEquals(0x809ACD32, colorPicker.getColor());
+    }
+
+    private void type(String text) {
+        hexCode.setSelection(hexCode.length());
+        for (int i = 0; i < text.length(); i++) {
+            hexCode.getText().append(text.charAt(i));
+        }
+    }
+}
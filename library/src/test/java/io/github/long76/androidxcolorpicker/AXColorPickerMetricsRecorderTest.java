@@ -0,0 +1,64 @@
+package io.github.long76.androidxcolorpicker;
+
+import org.junit.Test;
+
+import static io.github.long76.androidxcolorpicker.AXColorPickerMetrics.METRIC_HEX_FORMAT;
+import static io.github.long76.androidxcolorpicker.AXColorPickerMetrics.METRIC_INFLATE;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class AXColorPickerMetricsRecorderTest {
+
+    @Test
+    public void testRecordsInOrder() throws Exception {
+        final AXColorPickerMetricsRecorder recorder = new AXColorPickerMetricsRecorder(4);
+        recorder.record(METRIC_INFLATE, 10);
+        recorder.record(METRIC_HEX_FORMAT, 20);
+        recorder.record(METRIC_HEX_FORMAT, 30);
+
+        assertEquals(3, recorder.size());
+        assertEquals(3, recorder.getRecordCount());
+        assertEquals(METRIC_INFLATE, recorder.getMetric(0));
+        assertEquals(10, recorder.getValue(0));
+        assertEquals(METRIC_HEX_FORMAT, recorder.getMetric(2));
+        assertEquals(30, recorder.getValue(2));
+        assertArrayEquals(new long[]{20, 30}, recorder.getValues(METRIC_HEX_FORMAT));
+        assertArrayEquals(new long[0],
+                recorder.getValues(AXColorPickerMetrics.METRIC_PREVIEW_BITMAP));
+    }
+
+    @Test
+    public void testOldestOverwritten() throws Exception {
+        final AXColorPickerMetricsRecorder recorder = new AXColorPickerMetricsRecorder(3);
+        for (int value = 1; value <= 7; value++) {
+            recorder.record(value % 2 == 0 ? METRIC_INFLATE : METRIC_HEX_FORMAT, value);
+        }
+        assertEquals(3, recorder.size());
+        assertEquals(7, recorder.getRecordCount());
+        assertEquals(5, recorder.getValue(0));
+        assertEquals(6, recorder.getValue(1));
+        assertEquals(7, recorder.getValue(2));
+        assertArrayEquals(new long[]{5, 7}, recorder.getValues(METRIC_HEX_FORMAT));
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        final AXColorPickerMetricsRecorder recorder = new AXColorPickerMetricsRecorder(2);
+        recorder.record(METRIC_INFLATE, 1);
+        recorder.record(METRIC_INFLATE, 2);
+        recorder.record(METRIC_INFLATE, 3);
+        recorder.clear();
+        assertEquals(0, recorder.size());
+        assertEquals(0, recorder.getRecordCount());
+
+        recorder.record(METRIC_INFLATE, 4);
+        assertArrayEquals(new long[]{4}, recorder.getValues(METRIC_INFLATE));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testIndexPastTheRecords() throws Exception {
+        final AXColorPickerMetricsRecorder recorder = new AXColorPickerMetricsRecorder(4);
+        recorder.record(METRIC_INFLATE, 1);
+        recorder.getValue(1);
+    }
+}
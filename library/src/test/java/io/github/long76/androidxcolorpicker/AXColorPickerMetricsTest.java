@@ -0,0 +1,107 @@
+package io.github.long76.androidxcolorpicker;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.view.LayoutInflater;
+import android.widget.EditText;
+import android.widget.FrameLayout;
+import android.widget.SeekBar;
+
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.preference.PreferenceViewHolder;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.android.controller.ActivityController;
+import org.robolectric.shadows.ShadowLooper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class AXColorPickerMetricsTest {
+
+    private AppCompatActivity activity;
+    private AXColorPickerMetricsRecorder recorder;
+
+    @Before
+    public void setUp() {
+        final ActivityController<AppCompatActivity> controller =
+                Robolectric.buildActivity(AppCompatActivity.class);
+        controller.get().setTheme(R.style.axcolorpicker_AppTheme);
+        activity = controller.setup().get();
+        recorder = new AXColorPickerMetricsRecorder();
+        AXColorPickerInstrumentation.install(recorder);
+    }
+
+    @After
+    public void tearDown() {
+        AXColorPickerInstrumentation.install(null);
+    }
+
+    @Test
+    public void testPickerMetrics() throws Exception {
+        final AXColorPicker colorPicker = new AXColorPicker(activity);
+        colorPicker.setOnColorChosenListener(color -> {
+        });
+        colorPicker.show();
+        ShadowLooper.idleMainLooper();
+        assertEquals(1, recorder.getValues(AXColorPickerMetrics.METRIC_INFLATE).length);
+
+        final SeekBar redSeekBar = colorPicker.findViewById(R.id.redSeekBar);
+        for (int progress = 1; progress <= 5; progress++) {
+            redSeekBar.setProgress(progress);
+        }
+        ShadowLooper.idleMainLooper();
+        assertEquals(5, recorder.getValues(AXColorPickerMetrics.METRIC_PROGRESS_CHANGED).length);
+        assertTrue(recorder.getValues(AXColorPickerMetrics.METRIC_FRAME_UPDATE).length > 0);
+        assertTrue(recorder.getValues(AXColorPickerMetrics.METRIC_HEX_FORMAT).length > 0);
+
+        final EditText hexCode = colorPicker.findViewById(R.id.hexCode);
+        hexCode.setText("12345");
+        assertTrue(recorder.getValues(AXColorPickerMetrics.METRIC_HEX_PARSE).length > 0);
+
+        colorPicker.findViewById(R.id.okColorButton).performClick();
+        assertEquals(1, recorder.getValues(AXColorPickerMetrics.METRIC_CALLBACK_DISPATCH).length);
+
+        colorPicker.dismiss();
+        ShadowLooper.idleMainLooper();
+        final long[] coalesced = recorder.getValues(AXColorPickerMetrics.METRIC_COALESCED_UPDATES);
+        assertEquals(1, coalesced.length);
+        // The last 4 progress changes waited for the frame of the first one
+        assertTrue(coalesced[0] >= 4);
+    }
+
+    @Test
+    public void testPreviewBitmapMetric() throws Exception {
+        final Context context = ApplicationProvider.getApplicationContext();
+        final AXColorPickerPreference preference = new AXColorPickerPreference(context);
+        preference.onColorChosen(Color.RED);
+        // Not bound yet, no preview shown
+        assertEquals(0, recorder.getValues(AXColorPickerMetrics.METRIC_PREVIEW_BITMAP).length);
+
+        final FrameLayout widgetFrame = new FrameLayout(context);
+        widgetFrame.setId(android.R.id.widget_frame);
+        LayoutInflater.from(context).inflate(preference.getWidgetLayoutResource(), widgetFrame);
+        preference.onBindViewHolder(PreferenceViewHolder.createInstanceForTests(widgetFrame));
+        assertEquals(1, recorder.getValues(AXColorPickerMetrics.METRIC_PREVIEW_BITMAP).length);
+    }
+
+    @Test
+    public void testNothingRecordedWhenNotInstalled() throws Exception {
+        AXColorPickerInstrumentation.install(null);
+        final AXColorPicker colorPicker = new AXColorPicker(activity);
+        colorPicker.show();
+        ((SeekBar) colorPicker.findViewById(R.id.redSeekBar)).setProgress(10);
+        ShadowLooper.idleMainLooper();
+        colorPicker.dismiss();
+        assertEquals(0, recorder.getRecordCount());
+        assertEquals(-1, colorPicker.getInflateTimeNanos());
+        assertEquals(-1, colorPicker.getShowToFirstDrawNanos());
+    }
+}
@@ -0,0 +1,168 @@
+package io.github.long76.androidxcolorpicker;
+
+import android.graphics.Bitmap;
+import android.view.View;
+import android.widget.EditText;
+
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.RecyclerView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.android.controller.ActivityController;
+import org.robolectric.shadows.ShadowLooper;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+@RunWith(RobolectricTestRunner.class)
+public class AXColorPickerPaletteTest {
+
+    private AppCompatActivity activity;
+
+    @Before
+    public void setUp() {
+        final ActivityController<AppCompatActivity> controller =
+                Robolectric.buildActivity(AppCompatActivity.class);
+        controller.get().setTheme(R.style.axcolorpicker_AppTheme);
+        activity = controller.setup().get();
+    }
+
+    @Test
+    public void testSeekBarsByDefault() throws Exception {
+        final AXColorPicker colorPicker = new AXColorPicker(activity);
+        colorPicker.show();
+
+        assertNull(colorPicker.getPalette());
+        assertEquals(View.GONE, colorPicker.findViewById(R.id.paletteGrid).getVisibility());
+        assertEquals(View.VISIBLE, colorPicker.findViewById(R.id.redSeekBar).getVisibility());
+    }
+
+    @Test
+    public void testPaletteReplacesTheSeekBars() throws Exception {
+        final AXColorPicker colorPicker = new AXColorPicker(activity);
+        colorPicker.setARGBFormat(true);
+        colorPicker.setPalette(palette(1000));
+        colorPicker.show();
+
+        assertEquals(View.VISIBLE, colorPicker.findViewById(R.id.paletteGrid).getVisibility());
+        assertEquals(View.GONE, colorPicker.findViewById(R.id.alphaSeekBar).getVisibility());
+        assertEquals(View.GONE, colorPicker.findViewById(R.id.redSeekBar).getVisibility());
+        assertEquals(View.GONE, colorPicker.findViewById(R.id.greenSeekBar).getVisibility());
+        assertEquals(View.GONE, colorPicker.findViewById(R.id.blueSeekBar).getVisibility());
+
+        final RecyclerView grid = colorPicker.findViewById(R.id.paletteGrid);
+        awaitItemCount(grid, 1000);
+
+        // Turned off again on the next show
+        colorPicker.dismiss();
+        colorPicker.setPalette(null);
+        colorPicker.show();
+        assertEquals(View.GONE, colorPicker.findViewById(R.id.paletteGrid).getVisibility());
+        assertEquals(View.VISIBLE, colorPicker.findViewById(R.id.alphaSeekBar).getVisibility());
+    }
+
+    @Test
+    public void testSwatchClickPicksTheColor() throws Exception {
+        final AXColorPicker colorPicker = new AXColorPicker(activity);
+        colorPicker.setPalette(new int[]{0xFF9ACD32, 0xFF123456, 0xFFFF0000});
+        colorPicker.show();
+        final RecyclerView grid = colorPicker.findViewById(R.id.paletteGrid);
+        awaitItemCount(grid, 3);
+        grid.measure(View.MeasureSpec.makeMeasureSpec(800, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(800, View.MeasureSpec.EXACTLY));
+        grid.layout(0, 0, 800, 800);
+
+        final RecyclerView.ViewHolder holder = grid.findViewHolderForAdapterPosition(1);
+        assertNotNull(holder);
+        holder.itemView.performClick();
+        ShadowLooper.idleMainLooper();
+
+        assertEquals(0xFF123456, colorPicker.getColor());
+        final EditText hexCode = colorPicker.findViewById(R.id.hexCode);
+        assertEquals("123456", hexCode.getText().toString());
+    }
+
+    @Test
+    public void testNewPaletteWhileShown() throws Exception {
+        final AXColorPicker colorPicker = new AXColorPicker(activity);
+        colorPicker.setPalette(palette(10));
+        colorPicker.show();
+        final RecyclerView grid = colorPicker.findViewById(R.id.paletteGrid);
+        awaitItemCount(grid, 10);
+
+        colorPicker.setPalette(palette(5000));
+        awaitItemCount(grid, 5000);
+    }
+
+    @Test
+    public void testExtractPalette() throws Exception {
+        assertArrayEquals(new int[]{0xFF0000FF, 0xFFFF0000, 0xFF00FF00},
+                AXColorPickerBitmaps.extractPalette(stripes(), 8));
+    }
+
+    @Test
+    public void testPaletteFromBitmap() throws Exception {
+        final AXColorPicker colorPicker = new AXColorPicker(activity);
+        colorPicker.setPaletteFromBitmap(stripes(), 8);
+        colorPicker.show();
+        final RecyclerView grid = colorPicker.findViewById(R.id.paletteGrid);
+        awaitItemCount(grid, 3);
+        assertArrayEquals(new int[]{0xFF0000FF, 0xFFFF0000, 0xFF00FF00},
+                colorPicker.getPalette());
+    }
+
+    @Test
+    public void testPaletteSetMeanwhileWins() throws Exception {
+        final AXColorPicker colorPicker = new AXColorPicker(activity);
+        colorPicker.setPaletteFromBitmap(stripes(), 8);
+        colorPicker.setPalette(palette(10));
+        colorPicker.show();
+        final RecyclerView grid = colorPicker.findViewById(R.id.paletteGrid);
+        awaitItemCount(grid, 10);
+
+        // Give the extraction time to end, its palette is dropped
+        Thread.sleep(200);
+        ShadowLooper.idleMainLooper();
+        assertArrayEquals(palette(10), colorPicker.getPalette());
+    }
+
+    /**
+     * Half blue, then 3/10 red and 1/5 green
+     */
+    private static Bitmap stripes() {
+        final Bitmap bitmap = Bitmap.createBitmap(100, 60, Bitmap.Config.ARGB_8888);
+        final int[] row = new int[100];
+        for (int x = 0; x < 100; x++) {
+            row[x] = x < 50 ? 0xFF0000FF : x < 80 ? 0xFFFF0000 : 0xFF00FF00;
+        }
+        for (int y = 0; y < 60; y++) {
+            bitmap.setPixels(row, 0, 100, 0, y, 100, 1);
+        }
+        return bitmap;
+    }
+
+    private static int[] palette(int size) {
+        final int[] palette = new int[size];
+        for (int i = 0; i < size; i++) {
+            palette[i] = 0xFF000000 | i * 0x010203;
+        }
+        return palette;
+    }
+
+    /**
+     * The diff is computed on a background thread and applied on the main one.
+     */
+    private static void awaitItemCount(RecyclerView grid, int count) throws Exception {
+        for (int i = 0; i < 500 && grid.getAdapter().getItemCount() != count; i++) {
+            Thread.sleep(10);
+            ShadowLooper.idleMainLooper();
+        }
+        assertEquals(count, grid.getAdapter().getItemCount());
+    }
+}
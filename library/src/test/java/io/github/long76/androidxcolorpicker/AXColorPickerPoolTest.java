@@ -0,0 +1,128 @@
+package io.github.long76.androidxcolorpicker;
+
+import android.content.ContextWrapper;
+import android.graphics.Color;
+import android.view.View;
+import android.widget.SeekBar;
+
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.android.controller.ActivityController;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class AXColorPickerPoolTest {
+
+    private ActivityController<AppCompatActivity> controller;
+    private AppCompatActivity activity;
+
+    @Before
+    public void setUp() {
+        controller = Robolectric.buildActivity(AppCompatActivity.class);
+        controller.get().setTheme(R.style.axcolorpicker_AppTheme);
+        activity = controller.setup().get();
+    }
+
+    @After
+    public void tearDown() {
+        AXColorPickerInstrumentation.install(null);
+    }
+
+    @Test
+    public void testReuseKeepsTheViewsAndResetsTheState() throws Exception {
+        // Measures the inflate time
+        AXColorPickerInstrumentation.install(new AXColorPickerMetricsRecorder());
+        final AXColorPicker colorPicker = AXColorPickerPool.obtain(activity);
+        colorPicker.setColor(Color.RED);
+        colorPicker.setARGB(0x80, 1, 2, 3);
+        colorPicker.setColorButton(Color.BLUE, Color.WHITE);
+        colorPicker.setAutoClose(true);
+        colorPicker.show();
+        final View colorView = colorPicker.findViewById(R.id.colorView);
+        final long inflateTime = colorPicker.getInflateTimeNanos();
+        assertTrue(inflateTime >= 0);
+        colorPicker.dismiss();
+
+        final AXColorPicker reused = AXColorPickerPool.obtain(activity);
+        assertSame(colorPicker, reused);
+        assertEquals(Color.BLACK, reused.getColor());
+        assertFalse(reused.getARGBFormat());
+        assertFalse(reused.getAutoClose());
+
+        reused.show();
+        assertSame(colorView, reused.findViewById(R.id.colorView));
+        assertEquals(inflateTime, reused.getInflateTimeNanos());
+        assertEquals(View.GONE, reused.findViewById(R.id.alphaSeekBar).getVisibility());
+    }
+
+    @Test
+    public void testReuseDropsTheColorStreamSubscriptions() throws Exception {
+        final AXColorPicker colorPicker = AXColorPickerPool.obtain(activity);
+        final List<Integer> stale = new ArrayList<>();
+        final AXColorPickerColorStream.Subscription subscription =
+                colorPicker.getColorStream().subscribe(Runnable::run, stale::add);
+        colorPicker.show();
+        ((SeekBar) colorPicker.findViewById(R.id.redSeekBar)).setProgress(10);
+        ShadowLooper.idleMainLooper();
+        assertFalse(stale.isEmpty());
+        colorPicker.dismiss();
+
+        final AXColorPicker reused = AXColorPickerPool.obtain(activity);
+        assertSame(colorPicker, reused);
+        assertTrue(subscription.isDisposed());
+        assertEquals(0, reused.getColorStream().getSubscriptionCount());
+
+        final List<Integer> colors = new ArrayList<>();
+        reused.getColorStream().subscribe(Runnable::run, colors::add);
+        stale.clear();
+        reused.show();
+        ((SeekBar) reused.findViewById(R.id.redSeekBar)).setProgress(20);
+        ShadowLooper.idleMainLooper();
+        assertTrue(stale.isEmpty());
+        assertFalse(colors.isEmpty());
+    }
+
+    @Test
+    public void testShowingPickerIsNotShared() throws Exception {
+        final AXColorPicker colorPicker = AXColorPickerPool.obtain(activity);
+        colorPicker.show();
+
+        assertNotSame(colorPicker, AXColorPickerPool.obtain(activity));
+    }
+
+    @Test
+    public void testDestroyReleasesThePicker() throws Exception {
+        final AXColorPicker colorPicker = AXColorPickerPool.obtain(activity);
+        controller.pause().stop().destroy();
+
+        assertNotSame(colorPicker, AXColorPickerPool.obtain(activity));
+    }
+
+    @Test
+    public void testContextWithoutLifecycleIsNotPooled() throws Exception {
+        final ApplicationWrapper context = new ApplicationWrapper();
+        assertNotSame(AXColorPickerPool.obtain(context), AXColorPickerPool.obtain(context));
+    }
+
+    private static final class ApplicationWrapper extends ContextWrapper {
+        ApplicationWrapper() {
+            super(ApplicationProvider.getApplicationContext());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package io.github.long76.androidxcolorpicker;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Color;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.widget.ImageView;
+import android.widget.LinearLayout;
+
+import androidx.preference.PreferenceViewHolder;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Counts the views added to the widget frame and the layout requests it receives while a
+ * preference is bound again, as happens when the preference list scrolls.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class AXColorPickerPreferenceBindTest {
+
+    private Context context;
+    private AXColorPickerPreference preference;
+    private CountingFrame widgetFrame;
+    private PreferenceViewHolder holder;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        preference = new AXColorPickerPreference(context);
+
+        // What PreferenceGroupAdapter does when it creates the view holder
+        widgetFrame = new CountingFrame(context);
+        widgetFrame.setId(android.R.id.widget_frame);
+        LayoutInflater.from(context).inflate(preference.getWidgetLayoutResource(), widgetFrame);
+        holder = PreferenceViewHolder.createInstanceForTests(widgetFrame);
+    }
+
+    @Test
+    public void testRebindDoesNotTouchTheViewTree() throws Exception {
+        preference.onBindViewHolder(holder);
+        final ImageView preview = widgetFrame.findViewById(R.id.colorPreview);
+        assertNotNull(preview.getDrawable());
+        widgetFrame.resetCounts();
+
+        for (int i = 0; i < 10; i++) {
+            preference.onBindViewHolder(holder);
+        }
+
+        assertEquals(0, widgetFrame.viewsAdded);
+        assertEquals(0, widgetFrame.layoutRequests);
+        assertEquals(1, widgetFrame.getChildCount());
+        assertSame(preview, widgetFrame.getChildAt(0));
+    }
+
+    @Test
+    public void testColorChangeOnlyUpdatesTheImage() throws Exception {
+        preference.onBindViewHolder(holder);
+        final ImageView preview = widgetFrame.findViewById(R.id.colorPreview);
+        widgetFrame.resetCounts();
+
+        preference.onColorChosen(Color.RED);
+        preference.onBindViewHolder(holder);
+
+        assertEquals(0, widgetFrame.viewsAdded);
+        assertEquals(0, widgetFrame.layoutRequests);
+        assertSame(preview, widgetFrame.getChildAt(0));
+        assertSame(AXColorPickerPreviewCache.getInstance().get(Color.RED,
+                (int) (context.getResources().getDisplayMetrics().density * 31),
+                Bitmap.Config.RGB_565),
+                preview.getTag(R.id.colorPreview));
+    }
+
+    private static final class CountingFrame extends LinearLayout {
+
+        int viewsAdded;
+        int layoutRequests;
+
+        CountingFrame(Context context) {
+            super(context);
+        }
+
+        void resetCounts() {
+            viewsAdded = 0;
+            layoutRequests = 0;
+        }
+
+        @Override
+        public void onViewAdded(View child) {
+            super.onViewAdded(child);
+            viewsAdded++;
+        }
+
+        @Override
+        public void requestLayout() {
+            super.requestLayout();
+            layoutRequests++;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package io.github.long76.androidxcolorpicker;
+
+import androidx.appcompat.app.AppCompatActivity;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.android.controller.ActivityController;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+@RunWith(RobolectricTestRunner.class)
+public class AXColorPickerPreferenceDialogTest {
+
+    private AppCompatActivity activity;
+
+    @Before
+    public void setUp() {
+        final ActivityController<AppCompatActivity> controller =
+                Robolectric.buildActivity(AppCompatActivity.class);
+        controller.get().setTheme(R.style.axcolorpicker_AppTheme);
+        activity = controller.setup().get();
+    }
+
+    @Test
+    public void testNoDialogUntilClicked() throws Exception {
+        final AXColorPickerPreference[] preferences = new AXColorPickerPreference[30];
+        for (int i = 0; i < preferences.length; i++) {
+            preferences[i] = new AXColorPickerPreference(activity);
+            preferences[i].setSharedDialog(i % 2 == 0);
+            preferences[i].onColorChosen(0xFF000000 | i);
+        }
+
+        for (AXColorPickerPreference preference : preferences) {
+            assertNull(preference.peekColorPicker());
+        }
+
+        preferences[3].onPreferenceClick(preferences[3]);
+
+        assertNotNull(preferences[3].peekColorPicker());
+        for (int i = 0; i < preferences.length; i++) {
+            if (i != 3) {
+                assertNull(preferences[i].peekColorPicker());
+            }
+        }
+    }
+
+    @Test
+    public void testSharedDialog() throws Exception {
+        final AXColorPickerPreference first = new AXColorPickerPreference(activity);
+        final AXColorPickerPreference second = new AXColorPickerPreference(activity);
+        final AXColorPickerPreference own = new AXColorPickerPreference(activity);
+        first.setSharedDialog(true);
+        second.setSharedDialog(true);
+
+        first.onPreferenceClick(first);
+        first.peekColorPicker().dismiss();
+        second.onPreferenceClick(second);
+        second.peekColorPicker().dismiss();
+        own.onPreferenceClick(own);
+
+        assertSame(first.peekColorPicker(), second.peekColorPicker());
+        assertNotSame(first.peekColorPicker(), own.peekColorPicker());
+    }
+}
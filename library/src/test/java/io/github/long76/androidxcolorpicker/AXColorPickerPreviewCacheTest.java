@@ -0,0 +1,45 @@
+package io.github.long76.androidxcolorpicker;
+
+import org.junit.Test;
+
+import static io.github.long76.androidxcolorpicker.AXColorPickerPreviewCache.BORDER_COLOR;
+import static io.github.long76.androidxcolorpicker.AXColorPickerPreviewCache.fillPreviewPixels;
+import static org.junit.Assert.assertArrayEquals;
+
+public class AXColorPickerPreviewCacheTest {
+
+    @Test
+    public void testFillPreviewPixels_matchesPixelByPixelRendering() throws Exception {
+        final int color = 0x809ACD32;
+        for (int size = 1; size <= 130; size++) {
+            final int[] pixels = new int[size * size];
+            fillPreviewPixels(pixels, size, color);
+            assertArrayEquals("size " + size, renderPixelByPixel(size, color), pixels);
+        }
+    }
+
+    @Test
+    public void testFillPreviewPixels_largerBuffer() throws Exception {
+        final int[] pixels = new int[100];
+        fillPreviewPixels(pixels, 5, 0xFF000000);
+
+        final int[] expected = new int[100];
+        System.arraycopy(renderPixelByPixel(5, 0xFF000000), 0, expected, 0, 25);
+        assertArrayEquals(expected, pixels);
+    }
+
+    /**
+     * The setPixel loop the swatches used to be drawn with.
+     */
+    private static int[] renderPixelByPixel(int size, int color) {
+        final int[] pixels = new int[size * size];
+        for (int i = 0; i < size; i++) {
+            for (int j = i; j < size; j++) {
+                final int c = i <= 1 || i >= size - 2 || j >= size - 2 ? BORDER_COLOR : color;
+                pixels[j * size + i] = c;
+                pixels[i * size + j] = c;
+            }
+        }
+        return pixels;
+    }
+}
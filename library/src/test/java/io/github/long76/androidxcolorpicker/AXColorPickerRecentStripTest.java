@@ -0,0 +1,120 @@
+package io.github.long76.androidxcolorpicker;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.EditText;
+
+import androidx.appcompat.app.AppCompatActivity;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.android.controller.ActivityController;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+@RunWith(RobolectricTestRunner.class)
+public class AXColorPickerRecentStripTest {
+
+    private AppCompatActivity activity;
+    private SharedPreferences preferences;
+
+    @Before
+    public void setUp() {
+        final ActivityController<AppCompatActivity> controller =
+                Robolectric.buildActivity(AppCompatActivity.class);
+        controller.get().setTheme(R.style.axcolorpicker_AppTheme);
+        activity = controller.setup().get();
+        preferences = activity.getSharedPreferences(AXColorPicker.RECENT_COLORS_PREFERENCES,
+                Context.MODE_PRIVATE);
+    }
+
+    @Test
+    public void testOffByDefault() throws Exception {
+        final AXColorPicker colorPicker = new AXColorPicker(activity);
+        colorPicker.show();
+        colorPicker.findViewById(R.id.okColorButton).performClick();
+
+        assertEquals(0, colorPicker.getRecentColorsCount());
+        assertEquals(View.GONE, colorPicker.findViewById(R.id.recentColorsScroll).getVisibility());
+        assertFalse(preferences.contains("recentColors"));
+    }
+
+    @Test
+    public void testChosenColorsArePersistedInOneString() throws Exception {
+        final AXColorPicker colorPicker = new AXColorPicker(activity);
+        colorPicker.setRecentColorsCount(3);
+        colorPicker.show();
+
+        choose(colorPicker, 0xFF000001);
+        choose(colorPicker, 0xFF000002);
+        choose(colorPicker, 0xFF000001);
+        choose(colorPicker, 0xFF000003);
+        choose(colorPicker, 0xFF000004);
+
+        assertArrayEquals(new int[]{0xFF000004, 0xFF000003, 0xFF000001},
+                colorPicker.getRecentColors());
+        assertEquals(1, preferences.getAll().size());
+        assertEquals("FF000004FF000003FF000001", preferences.getString("recentColors", null));
+
+        final ViewGroup strip = colorPicker.findViewById(R.id.recentColors);
+        assertEquals(View.VISIBLE,
+                colorPicker.findViewById(R.id.recentColorsScroll).getVisibility());
+        assertEquals(3, strip.getChildCount());
+    }
+
+    @Test
+    public void testAnotherPickerShowsTheColorsAndPicksThem() throws Exception {
+        final AXColorPicker first = new AXColorPicker(activity);
+        first.setRecentColorsCount(4);
+        first.show();
+        choose(first, 0xFF9ACD32);
+        choose(first, 0xFF123456);
+        first.dismiss();
+
+        final AXColorPicker second = new AXColorPicker(activity);
+        second.setRecentColorsCount(4);
+        second.show();
+        final ViewGroup strip = second.findViewById(R.id.recentColors);
+        assertEquals(2, strip.getChildCount());
+
+        strip.getChildAt(1).performClick();
+        assertEquals(0xFF9ACD32, second.getColor());
+        final EditText hexCode = second.findViewById(R.id.hexCode);
+        assertEquals("9ACD32", hexCode.getText().toString());
+    }
+
+    @Test
+    public void testSwatchViewsAreReused() throws Exception {
+        final AXColorPicker colorPicker = new AXColorPicker(activity);
+        colorPicker.setRecentColorsCount(2);
+        colorPicker.show();
+        choose(colorPicker, 0xFF000001);
+        choose(colorPicker, 0xFF000002);
+        final ViewGroup strip = colorPicker.findViewById(R.id.recentColors);
+        final View swatch = strip.getChildAt(0);
+        colorPicker.dismiss();
+
+        // Turned off: the strip is hidden, the views stay
+        colorPicker.setRecentColorsCount(0);
+        colorPicker.show();
+        assertEquals(View.GONE, colorPicker.findViewById(R.id.recentColorsScroll).getVisibility());
+        colorPicker.dismiss();
+
+        colorPicker.setRecentColorsCount(2);
+        colorPicker.show();
+        assertEquals(2, strip.getChildCount());
+        assertEquals(swatch, strip.getChildAt(0));
+    }
+
+    private static void choose(AXColorPicker colorPicker, int color) {
+        colorPicker.setColor(color);
+        colorPicker.findViewById(R.id.okColorButton).performClick();
+    }
+}
@@ -0,0 +1,153 @@
+package io.github.long76.androidxcolorpicker;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.drawable.ColorDrawable;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.appcompat.app.AppCompatActivity;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.android.controller.ActivityController;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class AXColorPickerSeekBarTest {
+
+    private AXColorPickerSeekBar seekBar;
+    private AXColorPickerMetricsRecorder recorder;
+
+    @Before
+    public void setUp() {
+        final ActivityController<AppCompatActivity> controller =
+                Robolectric.buildActivity(AppCompatActivity.class);
+        controller.get().setTheme(R.style.axcolorpicker_AppTheme);
+        final AppCompatActivity activity = controller.setup().get();
+
+        seekBar = new AXColorPickerSeekBar(activity);
+        seekBar.setMax(255);
+        seekBar.setThumb(new ColorDrawable(Color.WHITE));
+        seekBar.setTrackGradient(Color.BLACK, Color.RED, false);
+        seekBar.measure(View.MeasureSpec.makeMeasureSpec(600, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(100, View.MeasureSpec.EXACTLY));
+        seekBar.layout(0, 0, 600, 100);
+
+        recorder = new AXColorPickerMetricsRecorder(4096);
+        AXColorPickerInstrumentation.install(recorder);
+    }
+
+    @After
+    public void tearDown() {
+        AXColorPickerInstrumentation.install(null);
+    }
+
+    @Test
+    public void testDrawRecordsTheMetric() throws Exception {
+        final Canvas canvas = new Canvas(Bitmap.createBitmap(600, 100, Bitmap.Config.ARGB_8888));
+        seekBar.onDraw(canvas);
+        seekBar.onDraw(canvas);
+        assertEquals(2, recorder.getValues(AXColorPickerMetrics.METRIC_SEEK_BAR_DRAW).length);
+
+        AXColorPickerInstrumentation.install(null);
+        seekBar.onDraw(canvas);
+        assertEquals(2, recorder.getRecordCount());
+    }
+
+    /**
+     * Drags the thumb across the bar and draws every frame. The canvas draws nothing, so only
+     * the work of the seek bar and its drawables is counted, not the rendering.
+     */
+    @Test
+    public void testDragDrawsWithoutAllocating() throws Exception {
+        final com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        final NoOpCanvas canvas = new NoOpCanvas();
+        for (int warmup = 0; warmup < 3; warmup++) {
+            drag(canvas);
+        }
+        recorder.clear();
+
+        final long threadId = Thread.currentThread().getId();
+        // What reading the counter costs by itself
+        final long overhead = -threads.getThreadAllocatedBytes(threadId)
+                + threads.getThreadAllocatedBytes(threadId);
+
+        final long before = threads.getThreadAllocatedBytes(threadId);
+        drag(canvas);
+        final long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertEquals(256, recorder.getValues(AXColorPickerMetrics.METRIC_SEEK_BAR_DRAW).length);
+        assertTrue(canvas.textCount > 0);
+        assertTrue("allocated " + allocated + " bytes", allocated <= overhead);
+    }
+
+    private void drag(Canvas canvas) {
+        for (int progress = 0; progress <= 255; progress++) {
+            seekBar.setProgress(progress);
+            seekBar.onDraw(canvas);
+        }
+    }
+
+    /**
+     * Canvas ignoring what the seek bar draws, so drawing costs nothing by itself
+     */
+    private static final class NoOpCanvas extends Canvas {
+
+        int textCount;
+
+        @Override
+        public int save() {
+            return 1;
+        }
+
+        @Override
+        public void restoreToCount(int saveCount) {
+        }
+
+        @Override
+        public void translate(float dx, float dy) {
+        }
+
+        @Override
+        public void drawRect(@NonNull Rect rect, @NonNull Paint paint) {
+        }
+
+        @Override
+        public void drawRect(@NonNull RectF rect, @NonNull Paint paint) {
+        }
+
+        @Override
+        public void drawRect(float left, float top, float right, float bottom,
+                             @NonNull Paint paint) {
+        }
+
+        @Override
+        public void drawBitmap(@NonNull Bitmap bitmap, float left, float top,
+                               @Nullable Paint paint) {
+        }
+
+        @Override
+        public void drawText(@NonNull String text, float x, float y, @NonNull Paint paint) {
+            textCount++;
+        }
+    }
+}
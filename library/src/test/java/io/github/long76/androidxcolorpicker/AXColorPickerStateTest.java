@@ -0,0 +1,123 @@
+package io.github.long76.androidxcolorpicker;
+
+import android.os.Bundle;
+import android.widget.EditText;
+import android.widget.SeekBar;
+
+import androidx.appcompat.app.AppCompatActivity;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.android.controller.ActivityController;
+import org.robolectric.shadows.ShadowLooper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class AXColorPickerStateTest {
+
+    private ActivityController<AppCompatActivity> controller;
+
+    @Before
+    public void setUp() {
+        controller = Robolectric.buildActivity(AppCompatActivity.class);
+        controller.get().setTheme(R.style.axcolorpicker_AppTheme);
+        controller.setup();
+    }
+
+    @Test
+    public void testSaveAndRestore() throws Exception {
+        final AXColorPicker colorPicker = new AXColorPicker(controller.get());
+        colorPicker.setARGBFormat(true);
+        colorPicker.setColorMode(AXColorPicker.COLOR_MODE_HSL);
+        colorPicker.setColor(0x80123456);
+        colorPicker.show();
+        final Bundle state = colorPicker.onSaveInstanceState();
+        colorPicker.dismiss();
+
+        final AXColorPicker restored = new AXColorPicker(controller.get());
+        restored.onRestoreInstanceState(state);
+        assertTrue(restored.isShowing());
+        assertEquals(0x80123456, restored.getColor());
+        assertTrue(restored.getARGBFormat());
+        assertEquals(AXColorPicker.COLOR_MODE_HSL, restored.getColorMode());
+        final EditText hexCode = restored.findViewById(R.id.hexCode);
+        assertEquals("80123456", hexCode.getText().toString());
+    }
+
+    @Test
+    public void testNotShownIsNotShownAgain() throws Exception {
+        final AXColorPicker colorPicker = new AXColorPicker(controller.get());
+        colorPicker.setColor(0xFF00FF00);
+        final Bundle state = colorPicker.onSaveInstanceState();
+
+        final AXColorPicker restored = new AXColorPicker(controller.get());
+        restored.onRestoreInstanceState(state);
+        assertFalse(restored.isShowing());
+        assertEquals(0xFF00FF00, restored.getColor());
+    }
+
+    @Test
+    public void testRotation() throws Exception {
+        AXColorPickerDialogFragment.newInstance(0xFF000000, true, AXColorPicker.COLOR_MODE_RGB)
+                .show(controller.get().getSupportFragmentManager(), "colorPicker");
+        ShadowLooper.idleMainLooper();
+        final AXColorPicker colorPicker = fragment().getColorPicker();
+        assertNotNull(colorPicker);
+        assertTrue(colorPicker.isShowing());
+
+        final SeekBar alphaSeekBar = colorPicker.findViewById(R.id.alphaSeekBar);
+        final SeekBar greenSeekBar = colorPicker.findViewById(R.id.greenSeekBar);
+        alphaSeekBar.setProgress(0x40);
+        greenSeekBar.setProgress(0xAB);
+        ShadowLooper.idleMainLooper();
+
+        RuntimeEnvironment.setQualifiers("+land");
+        controller.recreate();
+        ShadowLooper.idleMainLooper();
+
+        final AXColorPicker rotated = fragment().getColorPicker();
+        assertNotNull(rotated);
+        assertNotSame(colorPicker, rotated);
+        assertTrue(rotated.isShowing());
+        assertEquals(0x4000AB00, rotated.getColor());
+        assertTrue(rotated.getARGBFormat());
+        final SeekBar rotatedGreenSeekBar = rotated.findViewById(R.id.greenSeekBar);
+        assertEquals(0xAB, rotatedGreenSeekBar.getProgress());
+        final EditText hexCode = rotated.findViewById(R.id.hexCode);
+        assertEquals("4000AB00", hexCode.getText().toString());
+    }
+
+    @Test
+    public void testRotationKeepsTheMode() throws Exception {
+        AXColorPickerDialogFragment.newInstance(0xFFFF0000, false, AXColorPicker.COLOR_MODE_HSV)
+                .show(controller.get().getSupportFragmentManager(), "colorPicker");
+        ShadowLooper.idleMainLooper();
+        final SeekBar hueSeekBar = fragment().getColorPicker().findViewById(R.id.redSeekBar);
+        hueSeekBar.setProgress(240);
+        ShadowLooper.idleMainLooper();
+
+        controller.recreate();
+        ShadowLooper.idleMainLooper();
+
+        final AXColorPicker rotated = fragment().getColorPicker();
+        assertEquals(AXColorPicker.COLOR_MODE_HSV, rotated.getColorMode());
+        assertEquals(0xFF0000FF, rotated.getColor());
+        final SeekBar rotatedHueSeekBar = rotated.findViewById(R.id.redSeekBar);
+        assertEquals(359, rotatedHueSeekBar.getMax());
+        assertEquals(240, rotatedHueSeekBar.getProgress());
+    }
+
+    private AXColorPickerDialogFragment fragment() {
+        return (AXColorPickerDialogFragment) controller.get().getSupportFragmentManager()
+                .findFragmentByTag("colorPicker");
+    }
+}
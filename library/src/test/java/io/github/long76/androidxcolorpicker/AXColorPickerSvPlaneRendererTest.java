@@ -0,0 +1,161 @@
+package io.github.long76.androidxcolorpicker;
+
+import android.graphics.Bitmap;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class AXColorPickerSvPlaneRendererTest {
+
+    private final Queue<Runnable> background = new ArrayDeque<>();
+    private final Queue<Runnable> main = new ArrayDeque<>();
+    private final List<Integer> hues = new ArrayList<>();
+    private final List<Bitmap> planes = new ArrayList<>();
+    private AXColorPickerSvPlaneRenderer renderer;
+
+    @Before
+    public void setUp() {
+        renderer = new AXColorPickerSvPlaneRenderer((hue, plane) -> {
+            hues.add(hue);
+            planes.add(plane);
+        }, background::add, main::add);
+    }
+
+    @Test
+    public void testRendersOnceSized() throws Exception {
+        renderer.requestHue(120);
+        assertTrue(background.isEmpty());
+
+        renderer.setSize(40, 30);
+        assertEquals(1, runAll());
+        assertEquals(1, hues.size());
+        assertEquals(120, (int) hues.get(0));
+
+        final Bitmap plane = planes.get(0);
+        assertEquals(40, plane.getWidth());
+        assertEquals(30, plane.getHeight());
+        final int[] expected = new int[40 * 30];
+        AXColorPickerSvPlane.render(120, expected, 40, 30);
+        for (int y = 0; y < 30; y += 7) {
+            for (int x = 0; x < 40; x += 3) {
+                assertEquals(expected[y * 40 + x], plane.getPixel(x, y));
+            }
+        }
+    }
+
+    @Test
+    public void testRequestsCoalesced() throws Exception {
+        renderer.setSize(20, 20);
+        renderer.requestHue(10);
+        renderer.requestHue(20);
+        renderer.requestHue(30);
+        renderer.requestHue(40);
+        assertTrue(renderer.isRendering());
+        assertEquals(1, background.size());
+
+        // 10, then only the latest one
+        assertEquals(2, runAll());
+        assertEquals(1, hues.size());
+        assertEquals(40, (int) hues.get(0));
+        assertFalse(renderer.isRendering());
+    }
+
+    @Test
+    public void testCachedHueShownAtOnce() throws Exception {
+        renderer.setSize(20, 20);
+        renderer.requestHue(10);
+        runAll();
+        renderer.requestHue(20);
+        runAll();
+
+        renderer.requestHue(10);
+        assertTrue(background.isEmpty());
+        assertEquals(3, hues.size());
+        assertEquals(10, (int) hues.get(2));
+        assertSame(planes.get(0), planes.get(2));
+
+        // Already shown
+        renderer.requestHue(10);
+        assertEquals(3, hues.size());
+    }
+
+    @Test
+    public void testEvictedBitmapReused() throws Exception {
+        renderer.setSize(20, 20);
+        for (int hue = 0; hue <= AXColorPickerSvPlaneRenderer.CACHE_SIZE + 1; hue++) {
+            renderer.requestHue(hue);
+            runAll();
+        }
+        // The plane of hue 0 was evicted by the one after the cache filled up, then drawn into
+        final int last = AXColorPickerSvPlaneRenderer.CACHE_SIZE + 1;
+        assertEquals(last, (int) hues.get(last));
+        assertSame(planes.get(0), planes.get(last));
+        assertNotSame(planes.get(1), planes.get(last));
+        assertEquals(AXColorPickerSvPlane.colorAt(last, 100, 100),
+                planes.get(last).getPixel(19, 0));
+    }
+
+    @Test
+    public void testShownPlaneNotDrawnInto() throws Exception {
+        renderer.setSize(20, 20);
+        renderer.requestHue(0);
+        runAll();
+        final Bitmap shown = planes.get(0);
+
+        // Every render superseded before it ends: hue 0 stays shown while evicted from the cache
+        renderer.requestHue(1);
+        for (int hue = 2; hue <= AXColorPickerSvPlaneRenderer.CACHE_SIZE + 3; hue++) {
+            renderer.requestHue(hue);
+            background.poll().run();
+            main.poll().run();
+        }
+        assertEquals(1, planes.size());
+        assertEquals(AXColorPickerSvPlane.colorAt(0, 100, 100), shown.getPixel(19, 0));
+
+        runAll();
+        assertEquals(2, planes.size());
+        assertNotSame(shown, planes.get(1));
+    }
+
+    @Test
+    public void testSizeChangeDropsStaleRender() throws Exception {
+        renderer.requestHue(200);
+        renderer.setSize(100, 100);
+        renderer.setSize(50, 40);
+        assertEquals(2, runAll());
+        assertEquals(1, planes.size());
+        assertEquals(50, planes.get(0).getWidth());
+        assertEquals(40, planes.get(0).getHeight());
+    }
+
+    /**
+     * @return Number of renders run
+     */
+    private int runAll() {
+        int renders = 0;
+        while (!background.isEmpty() || !main.isEmpty()) {
+            if (!background.isEmpty()) {
+                background.poll().run();
+                renders++;
+            }
+            while (!main.isEmpty()) {
+                main.poll().run();
+            }
+        }
+        return renders;
+    }
+}
@@ -0,0 +1,129 @@
+package io.github.long76.androidxcolorpicker;
+
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.View;
+import android.widget.SeekBar;
+
+import androidx.appcompat.app.AppCompatActivity;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.android.controller.ActivityController;
+import org.robolectric.shadows.ShadowLooper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+@RunWith(RobolectricTestRunner.class)
+public class AXColorPickerSvPlaneViewTest {
+
+    private AppCompatActivity activity;
+
+    @Before
+    public void setUp() {
+        final ActivityController<AppCompatActivity> controller =
+                Robolectric.buildActivity(AppCompatActivity.class);
+        controller.get().setTheme(R.style.axcolorpicker_AppTheme);
+        activity = controller.setup().get();
+    }
+
+    @Test
+    public void testShownInHsvModeOnly() throws Exception {
+        final AXColorPicker colorPicker = new AXColorPicker(activity);
+        colorPicker.show();
+        assertEquals(View.GONE, colorPicker.findViewById(R.id.svPlane).getVisibility());
+
+        colorPicker.dismiss();
+        colorPicker.setColorMode(AXColorPicker.COLOR_MODE_HSV);
+        colorPicker.show();
+        assertEquals(View.VISIBLE, colorPicker.findViewById(R.id.svPlane).getVisibility());
+
+        colorPicker.dismiss();
+        colorPicker.setPalette(new int[]{0xFF000000});
+        colorPicker.show();
+        assertEquals(View.GONE, colorPicker.findViewById(R.id.svPlane).getVisibility());
+    }
+
+    @Test
+    public void testPlaneOfTheHue() throws Exception {
+        final AXColorPicker colorPicker = new AXColorPicker(activity);
+        colorPicker.setColorMode(AXColorPicker.COLOR_MODE_HSV);
+        colorPicker.setColor(0xFF00FF00);
+        colorPicker.show();
+        final AXColorPickerSvPlaneView svPlane = layOut(colorPicker);
+        assertEquals(100, svPlane.getSaturation());
+        assertEquals(100, svPlane.getValue());
+
+        awaitPlane(svPlane);
+        assertEquals(0xFF00FF00, svPlane.getPlane().getPixel(100, 0));
+    }
+
+    @Test
+    public void testTouchPicksSaturationAndValue() throws Exception {
+        final AXColorPicker colorPicker = new AXColorPicker(activity);
+        colorPicker.setColorMode(AXColorPicker.COLOR_MODE_HSV);
+        colorPicker.setColor(0xFFFF0000);
+        colorPicker.show();
+        final AXColorPickerSvPlaneView svPlane = layOut(colorPicker);
+
+        touch(svPlane, MotionEvent.ACTION_DOWN, 0, 0);
+        touch(svPlane, MotionEvent.ACTION_MOVE, 50, 50);
+        touch(svPlane, MotionEvent.ACTION_UP, 50, 50);
+        ShadowLooper.idleMainLooper();
+
+        assertEquals(50, svPlane.getSaturation());
+        assertEquals(50, svPlane.getValue());
+        final SeekBar saturationSeekBar = colorPicker.findViewById(R.id.greenSeekBar);
+        final SeekBar valueSeekBar = colorPicker.findViewById(R.id.blueSeekBar);
+        assertEquals(50, saturationSeekBar.getProgress());
+        assertEquals(50, valueSeekBar.getProgress());
+        assertEquals(AXColorPickerColorSpace.hsvToColor(255, 0, 50, 50), colorPicker.getColor());
+    }
+
+    @Test
+    public void testSeekBarsMoveTheRing() throws Exception {
+        final AXColorPicker colorPicker = new AXColorPicker(activity);
+        colorPicker.setColorMode(AXColorPicker.COLOR_MODE_HSV);
+        colorPicker.setColor(0xFFFF0000);
+        colorPicker.show();
+        final AXColorPickerSvPlaneView svPlane = layOut(colorPicker);
+
+        final SeekBar valueSeekBar = colorPicker.findViewById(R.id.blueSeekBar);
+        valueSeekBar.setProgress(25);
+        ShadowLooper.idleMainLooper();
+        assertEquals(25, svPlane.getValue());
+    }
+
+    /**
+     * A plane of 101 x 101 pixels, one per percent
+     */
+    private static AXColorPickerSvPlaneView layOut(AXColorPicker colorPicker) {
+        final AXColorPickerSvPlaneView svPlane = colorPicker.findViewById(R.id.svPlane);
+        svPlane.measure(View.MeasureSpec.makeMeasureSpec(101, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(101, View.MeasureSpec.EXACTLY));
+        svPlane.layout(0, 0, 101, 101);
+        return svPlane;
+    }
+
+    private static void touch(View view, int action, float x, float y) {
+        final long now = SystemClock.uptimeMillis();
+        final MotionEvent event = MotionEvent.obtain(now, now, action, x, y, 0);
+        view.dispatchTouchEvent(event);
+        event.recycle();
+    }
+
+    /**
+     * The plane is rendered on a background thread and shown on the main one.
+     */
+    private static void awaitPlane(AXColorPickerSvPlaneView svPlane) throws Exception {
+        for (int i = 0; i < 500 && svPlane.getPlane() == null; i++) {
+            Thread.sleep(10);
+            ShadowLooper.idleMainLooper();
+        }
+        assertNotNull(svPlane.getPlane());
+    }
+}
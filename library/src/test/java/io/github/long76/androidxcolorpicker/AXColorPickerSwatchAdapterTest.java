@@ -0,0 +1,128 @@
+package io.github.long76.androidxcolorpicker;
+
+import androidx.recyclerview.widget.RecyclerView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class AXColorPickerSwatchAdapterTest {
+
+    private final Queue<Runnable> background = new ArrayDeque<>();
+    private final Queue<Runnable> main = new ArrayDeque<>();
+    private final List<String> events = new ArrayList<>();
+    private AXColorPickerSwatchAdapter adapter;
+
+    @Before
+    public void setUp() {
+        adapter = new AXColorPickerSwatchAdapter(color -> {
+        }, background::add, main::add);
+        adapter.registerAdapterDataObserver(new RecyclerView.AdapterDataObserver() {
+            @Override
+            public void onChanged() {
+                events.add("changed");
+            }
+
+            @Override
+            public void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
+                events.add("changed " + positionStart + "+" + itemCount);
+            }
+
+            @Override
+            public void onItemRangeInserted(int positionStart, int itemCount) {
+                events.add("inserted " + positionStart + "+" + itemCount);
+            }
+
+            @Override
+            public void onItemRangeRemoved(int positionStart, int itemCount) {
+                events.add("removed " + positionStart + "+" + itemCount);
+            }
+        });
+    }
+
+    @Test
+    public void testStableIdsFromTheColors() throws Exception {
+        assertTrue(adapter.hasStableIds());
+        setColors(0xFF000000, 0x80FFFFFF);
+
+        assertEquals(2, adapter.getItemCount());
+        assertEquals(0xFF000000L, adapter.getItemId(0));
+        assertEquals(0x80FFFFFFL, adapter.getItemId(1));
+    }
+
+    @Test
+    public void testRepeatedColorsAreDropped() throws Exception {
+        setColors(1, 2, 1, 3, 2);
+        assertArrayEquals(new int[]{1, 2, 3}, adapter.getColors());
+    }
+
+    @Test
+    public void testDiffIsComputedInTheBackground() throws Exception {
+        adapter.setColors(new int[]{1, 2, 3});
+        assertEquals(0, adapter.getItemCount());
+        assertEquals(1, background.size());
+        assertEquals(0, main.size());
+
+        background.poll().run();
+        assertEquals(0, adapter.getItemCount());
+        main.poll().run();
+        assertEquals(3, adapter.getItemCount());
+        assertEquals("[inserted 0+3]", events.toString());
+    }
+
+    @Test
+    public void testOnlyTheChangesAreDispatched() throws Exception {
+        setColors(1, 2, 3, 4, 5);
+        events.clear();
+
+        setColors(1, 2, 4, 5, 6);
+        assertEquals("[inserted 5+1, removed 2+1]", events.toString());
+    }
+
+    @Test
+    public void testOnlyTheLatestPaletteIsApplied() throws Exception {
+        adapter.setColors(new int[]{1, 2});
+        adapter.setColors(new int[]{3});
+        background.poll().run();
+        background.poll().run();
+
+        main.poll().run();
+        assertEquals(0, adapter.getItemCount());
+        main.poll().run();
+        assertArrayEquals(new int[]{3}, adapter.getColors());
+    }
+
+    @Test
+    public void testSelectionChangesOnlyTwoItems() throws Exception {
+        setColors(1, 2, 3);
+        events.clear();
+
+        adapter.setSelectedColor(2);
+        assertEquals("[changed 1+1]", events.toString());
+        adapter.setSelectedColor(2);
+        adapter.setSelectedColor(3);
+        assertEquals("[changed 1+1, changed 1+1, changed 2+1]", events.toString());
+
+        // Not in the palette: only the previous one is redrawn
+        events.clear();
+        adapter.setSelectedColor(4);
+        assertEquals("[changed 2+1]", events.toString());
+    }
+
+    private void setColors(int... colors) {
+        adapter.setColors(colors);
+        background.poll().run();
+        main.poll().run();
+    }
+}
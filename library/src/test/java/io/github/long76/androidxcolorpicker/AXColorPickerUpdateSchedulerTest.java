@@ -0,0 +1,108 @@
+package io.github.long76.androidxcolorpicker;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.github.long76.androidxcolorpicker.AXColorPickerUpdateScheduler.DIRTY_ALPHA;
+import static io.github.long76.androidxcolorpicker.AXColorPickerUpdateScheduler.DIRTY_BLUE;
+import static io.github.long76.androidxcolorpicker.AXColorPickerUpdateScheduler.DIRTY_GREEN;
+import static io.github.long76.androidxcolorpicker.AXColorPickerUpdateScheduler.DIRTY_RED;
+import static org.junit.Assert.assertEquals;
+
+public class AXColorPickerUpdateSchedulerTest {
+
+    private FakeFrameClock clock;
+    private List<Integer> updates;
+    private AXColorPickerUpdateScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        clock = new FakeFrameClock();
+        updates = new ArrayList<>();
+        scheduler = new AXColorPickerUpdateScheduler(clock, updates::add);
+    }
+
+    @Test
+    public void testChangesWithinAFrameAreCoalesced() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            scheduler.invalidate(DIRTY_RED);
+        }
+        scheduler.invalidate(DIRTY_GREEN);
+
+        assertEquals(1, clock.callbacks.size());
+        assertEquals(0, updates.size());
+
+        clock.doFrame();
+        assertEquals(1, updates.size());
+        assertEquals(DIRTY_RED | DIRTY_GREEN, (int) updates.get(0));
+        assertEquals(1, scheduler.getAppliedCount());
+        assertEquals(10, scheduler.getCoalescedCount());
+    }
+
+    @Test
+    public void testOneUpdatePerFrame() throws Exception {
+        scheduler.invalidate(DIRTY_ALPHA);
+        clock.doFrame();
+        scheduler.invalidate(DIRTY_BLUE);
+        clock.doFrame();
+        clock.doFrame();
+
+        assertEquals(2, updates.size());
+        assertEquals(DIRTY_ALPHA, (int) updates.get(0));
+        assertEquals(DIRTY_BLUE, (int) updates.get(1));
+        assertEquals(2, scheduler.getAppliedCount());
+        assertEquals(0, scheduler.getCoalescedCount());
+    }
+
+    @Test
+    public void testFlush() throws Exception {
+        scheduler.invalidate(DIRTY_RED);
+        scheduler.flush();
+
+        assertEquals(1, updates.size());
+        assertEquals(0, clock.callbacks.size());
+
+        scheduler.flush();
+        assertEquals(1, updates.size());
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        scheduler.invalidate(DIRTY_RED);
+        scheduler.cancel();
+        clock.doFrame();
+
+        assertEquals(0, updates.size());
+        assertEquals(0, scheduler.getAppliedCount());
+
+        scheduler.invalidate(DIRTY_GREEN);
+        clock.doFrame();
+        assertEquals(DIRTY_GREEN, (int) updates.get(0));
+    }
+
+    private static final class FakeFrameClock implements AXColorPickerUpdateScheduler.FrameClock {
+
+        final List<Runnable> callbacks = new ArrayList<>();
+
+        @Override
+        public void postFrameCallback(Runnable callback) {
+            callbacks.add(callback);
+        }
+
+        @Override
+        public void removeFrameCallback(Runnable callback) {
+            callbacks.remove(callback);
+        }
+
+        void doFrame() {
+            final List<Runnable> frame = new ArrayList<>(callbacks);
+            callbacks.clear();
+            for (Runnable callback : frame) {
+                callback.run();
+            }
+        }
+    }
+}